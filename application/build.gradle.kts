@@ -1,3 +1,10 @@
 dependencies {
     implementation(project(":domain"))
+    testImplementation(libs.junit.core)
+}
+
+tasks {
+    test {
+        useJUnitPlatform()
+    }
 }
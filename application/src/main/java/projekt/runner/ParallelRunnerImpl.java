@@ -0,0 +1,236 @@
+package projekt.runner;
+
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.archetype.ProblemGroup;
+import projekt.delivery.event.EventBus;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.service.DeliveryService;
+import projekt.delivery.simulation.BasicDeliverySimulation;
+import projekt.delivery.simulation.Simulation;
+import projekt.delivery.simulation.SimulationConfig;
+import projekt.runner.handler.ResultHandler;
+import projekt.runner.handler.SimulationFinishedHandler;
+import projekt.runner.handler.SimulationSetupHandler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link Runner} that executes the simulations of every problem and every run in parallel on an {@link Executor}.<p>
+ *
+ * Every simulation simulates its own {@link ProblemArchetype#copy() copy} of its problem, so the simulations do not
+ * share any mutable state. The handlers are called on the thread calling {@link #run}, ordered by run and then by the
+ * order of the problems in the {@link ProblemGroup}. Unlike {@link RunnerImpl}, which iterates its problems in the
+ * order of a {@link Map} and sets up every simulation only after the previous one has finished, all simulations are set
+ * up before the first one is finished:
+ *
+ * <ul>
+ *     <li>The {@link SimulationSetupHandler} is called for every simulation right before it is submitted.</li>
+ *     <li>The {@link SimulationFinishedHandler} is called for every simulation once it and all simulations before it
+ *     have finished. If it returns {@code true}, the remaining simulations are ended and no result is reported.</li>
+ * </ul>
+ *
+ * The ratings are summed in the same order, so the result does not depend on the order in which the simulations
+ * finish. {@link #run} does not return before all submitted simulations have finished or have been ended. It then
+ * {@link EventBus#close() closes} the event buses of the copied problems, so their logs must not be used after
+ * {@link #run} has returned.
+ */
+public class ParallelRunnerImpl implements Runner {
+
+    /**
+     * The time in milliseconds after which the end of a simulation that is still running is requested again.
+     */
+    private static final long END_RETRY_MILLIS = 10;
+
+    /**
+     * The {@link Executor} used to execute the simulations or {@code null} if every call of {@link #run} executes them
+     * on its own thread pool.
+     */
+    private final Executor executor;
+
+    /**
+     * Creates a new {@link ParallelRunnerImpl} that executes the simulations on a thread pool with one thread per
+     * available processor, which is created by every call of {@link #run} and shut down before it returns.<p>
+     *
+     * The simulations block while they wait for their next tick, so they are not executed on the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()}, whose other users would be starved.
+     */
+    public ParallelRunnerImpl() {
+        this.executor = null;
+    }
+
+    /**
+     * Creates a new {@link ParallelRunnerImpl} that executes the simulations on the given {@link Executor}.
+     * @param executor The {@link Executor} used to execute the simulations.
+     */
+    public ParallelRunnerImpl(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public void run(ProblemGroup problemGroup,
+                    SimulationConfig simulationConfig,
+                    int simulationRuns,
+                    DeliveryService.Factory deliveryServiceFactory,
+                    SimulationSetupHandler simulationSetupHandler,
+                    SimulationFinishedHandler simulationFinishedHandler,
+                    ResultHandler resultHandler) {
+
+        ExecutorService pool = executor == null ? createPool() : null;
+        Executor simulationExecutor = pool == null ? executor : pool;
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<Execution> executions = new ArrayList<>(simulationRuns * problemGroup.problems().size());
+
+        try {
+            for (int i = 0; i < simulationRuns; i++) {
+                for (ProblemArchetype original : problemGroup.problems()) {
+                    ProblemArchetype problem = original.copy();
+                    Simulation simulation = createSimulation(problem, simulationConfig, deliveryServiceFactory);
+
+                    simulationSetupHandler.accept(simulation, problem, i);
+
+                    //run the simulation unless the remaining simulations have been ended before it started
+                    CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+                        if (!cancelled.get()) {
+                            simulation.runSimulation(problem.simulationLength());
+                        }
+                    }, simulationExecutor);
+                    executions.add(new Execution(problem, simulation, future));
+                }
+            }
+
+            Map<RatingCriteria, Double> result = new HashMap<>();
+
+            for (RatingCriteria criteria : problemGroup.ratingCriteria()) {
+                result.put(criteria, 0.0);
+            }
+
+            for (Execution execution : executions) {
+                try {
+                    execution.future().join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException cause) {
+                        throw cause;
+                    }
+                    throw e;
+                }
+
+                if (simulationFinishedHandler.accept(execution.simulation(), execution.problem())) {
+                    return;
+                }
+
+                result.replaceAll((criteria, rating) -> rating + execution.simulation().getRatingForCriterion(criteria));
+            }
+
+            result.replaceAll((criteria, rating) -> rating / (simulationRuns * problemGroup.problems().size()));
+
+            resultHandler.accept(result);
+        } finally {
+            //end the simulations that are still running if a handler stopped the runner or a simulation failed
+            cancelled.set(true);
+            for (Execution execution : executions) {
+                awaitEnd(execution);
+            }
+            //the copied problems are not used anymore, delete the events their logs have written to disk
+            for (Execution execution : executions) {
+                execution.problem().vehicleManager().getEventBus().close();
+            }
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Creates a thread pool with one daemon thread per available processor.
+     * @return The created thread pool.
+     */
+    private static ExecutorService createPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+            Thread thread = new Thread(task, "parallel-runner-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Ends the simulation of the given {@link Execution} and waits until its task has completed.<p>
+     *
+     * A simulation that is just being started resets a previous request to end it, so the request is repeated until
+     * the task has completed. Exceptions thrown by the task are ignored, since the simulation has been ended anyway.
+     *
+     * @param execution The {@link Execution} to end.
+     */
+    private static void awaitEnd(Execution execution) {
+        while (!execution.future().isDone()) {
+            execution.simulation().endSimulation();
+            try {
+                execution.future().get(END_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException | CancellationException ignored) {
+                //checked again by the loop
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * Every simulation simulates its own {@link ProblemArchetype#copy() copy} of the {@link ProblemArchetype} it is
+     * mapped to. Unlike {@link #run}, this method does not close the {@link EventBus} of the copy, so the caller has to
+     * close it via {@code simulation.getDeliveryService().getVehicleManager().getEventBus()} once the simulation is not
+     * used anymore.
+     */
+    @Override
+    public Map<ProblemArchetype, Simulation> createSimulations(ProblemGroup problemGroup,
+                                                               SimulationConfig simulationConfig,
+                                                               DeliveryService.Factory deliveryServiceFactory) {
+
+        return problemGroup.problems().stream().collect(Collectors.toMap(
+            problem -> problem,
+            problem -> createSimulation(problem.copy(), simulationConfig, deliveryServiceFactory)
+        ));
+    }
+
+    /**
+     * Creates a {@link BasicDeliverySimulation} that simulates the given {@link ProblemArchetype}.
+     *
+     * @param problem                The {@link ProblemArchetype} to simulate.
+     * @param simulationConfig       The {@link SimulationConfig} used to create the {@link BasicDeliverySimulation}.
+     * @param deliveryServiceFactory The {@link DeliveryService.Factory} used to create the {@link DeliveryService}.
+     * @return The created {@link BasicDeliverySimulation}.
+     */
+    protected Simulation createSimulation(ProblemArchetype problem,
+                                        SimulationConfig simulationConfig,
+                                        DeliveryService.Factory deliveryServiceFactory) {
+        return new BasicDeliverySimulation(
+            simulationConfig,
+            problem.raterFactoryMap(),
+            deliveryServiceFactory.create(problem.vehicleManager()),
+            problem.orderGeneratorFactory());
+    }
+
+    /**
+     * A submitted simulation of a copied {@link ProblemArchetype}.
+     */
+    private record Execution(ProblemArchetype problem, Simulation simulation, CompletableFuture<Void> future) {
+    }
+}
@@ -0,0 +1,349 @@
+package projekt.runner;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.archetype.ProblemGroup;
+import projekt.delivery.event.EventBus;
+import projekt.delivery.event.EventRetention;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.rating.Rater;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.DijkstraPathCalculator;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.DeliveryService;
+import projekt.delivery.simulation.Simulation;
+import projekt.delivery.simulation.SimulationConfig;
+import projekt.delivery.simulation.SimulationListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+public class ParallelRunnerImplUnitTests {
+
+    private static final RatingCriteria CRITERION = RatingCriteria.AMOUNT_DELIVERED;
+
+    /**
+     * Ratings whose sum depends on the order in which they are added.
+     */
+    private static final double[] RATINGS = {1e16, 1.0, 1.0, -1e16, 0.5, 0.25};
+
+    private static final ProblemGroup PROBLEM_GROUP = createProblemGroup(EventRetention.unbounded());
+
+    @Test
+    public void testHandlersAndResultInSubmissionOrder() {
+        ReverseExecutor executor = new ReverseExecutor(RATINGS.length);
+        TestRunner runner = new TestRunner(executor, false);
+        List<String> setups = new ArrayList<>();
+        List<String> finished = new ArrayList<>();
+        AtomicReference<Map<RatingCriteria, Double>> result = new AtomicReference<>();
+
+        runner.run(PROBLEM_GROUP, new SimulationConfig(0), 2, deliveryServiceFactory(),
+            (simulation, problem, run) -> setups.add(problem.name() + run),
+            (simulation, problem) -> {
+                TestSimulation testSimulation = (TestSimulation) simulation;
+                Assertions.assertFalse(testSimulation.isRunning());
+                finished.add(problem.name() + runner.simulations.indexOf(testSimulation) / 3);
+                return false;
+            },
+            result::set);
+
+        Assertions.assertEquals(List.of("A0", "B0", "C0", "A1", "B1", "C1"), setups);
+        Assertions.assertEquals(setups, finished);
+
+        // the simulations have finished in reverse order, but the ratings are summed in the order of submission
+        List<Integer> completed = new ArrayList<>();
+        for (TestSimulation simulation : runner.completed) {
+            completed.add(runner.simulations.indexOf(simulation));
+        }
+        Assertions.assertEquals(List.of(5, 4, 3, 2, 1, 0), completed);
+
+        double expected = 0;
+        for (double rating : RATINGS) {
+            expected += rating;
+        }
+        Assertions.assertNotEquals(expected, RATINGS[5] + RATINGS[4] + RATINGS[3] + RATINGS[2] + RATINGS[1] + RATINGS[0]);
+        Assertions.assertEquals(Map.of(CRITERION, expected / RATINGS.length), result.get());
+    }
+
+    @Test
+    public void testStopEndsRemainingSimulations() {
+        TestRunner runner = new TestRunner(task -> new Thread(task).start(), true);
+        List<String> finished = new ArrayList<>();
+        AtomicReference<Map<RatingCriteria, Double>> result = new AtomicReference<>();
+
+        runner.run(PROBLEM_GROUP, new SimulationConfig(0), 2, deliveryServiceFactory(),
+            (simulation, problem, run) -> {},
+            (simulation, problem) -> finished.add(problem.name()),
+            result::set);
+
+        Assertions.assertEquals(List.of("A"), finished);
+        Assertions.assertNull(result.get());
+        for (TestSimulation simulation : runner.simulations.subList(1, RATINGS.length)) {
+            // run does not return before the remaining simulations have ended, even if they were started late
+            Assertions.assertFalse(simulation.isRunning());
+            Assertions.assertTrue(simulation.getCurrentTick() < TestSimulation.BLOCKING_LENGTH,
+                "simulation has not been ended");
+        }
+    }
+
+    @Test
+    public void testDefaultExecutorIsDedicatedPool() {
+        TestRunner runner = new TestRunner(false);
+
+        runner.run(PROBLEM_GROUP, new SimulationConfig(0), 2, deliveryServiceFactory(),
+            (simulation, problem, run) -> {},
+            (simulation, problem) -> false,
+            result -> {});
+
+        for (TestSimulation simulation : runner.simulations) {
+            Assertions.assertFalse(simulation.thread instanceof ForkJoinWorkerThread);
+            Assertions.assertTrue(simulation.thread.isDaemon());
+        }
+    }
+
+    @Test
+    public void testEventBusesAreClosed() throws IOException {
+        Path directory = Files.createTempDirectory("parallelRunnerImplUnitTests");
+        try {
+            ProblemGroup problemGroup = createProblemGroup(EventRetention.spillToDisk(directory, 1, 1));
+            List<Long> spilled = new ArrayList<>();
+
+            new TestRunner(Runnable::run, false).run(problemGroup, new SimulationConfig(0), 2, deliveryServiceFactory(),
+                (simulation, problem, run) -> {},
+                (simulation, problem) -> {
+                    spilled.add(countFiles(directory));
+                    return false;
+                },
+                result -> {});
+
+            // every simulation has written its events to disk, which are deleted once the runner has finished
+            Assertions.assertTrue(spilled.stream().allMatch(count -> count > 0));
+            Assertions.assertEquals(0, countFiles(directory));
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    private static long countFiles(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ProblemGroup createProblemGroup(EventRetention retention) {
+        List<ProblemArchetype> problems = new ArrayList<>();
+        for (String name : List.of("A", "B", "C")) {
+            problems.add(new TestProblem(name, 10, VehicleManager.builder()
+                .region(Region.builder()
+                    .distanceCalculator(new ManhattanDistanceCalculator())
+                    .addRestaurant("R", new Location(0, 0), List.of("Pizza"))
+                    .build())
+                .pathCalculator(new DijkstraPathCalculator())
+                .eventRetention(retention)
+                .build()));
+        }
+        return new TestProblemGroup(problems, List.of(CRITERION));
+    }
+
+    private static DeliveryService.Factory deliveryServiceFactory() {
+        return vehicleManager -> null;
+    }
+
+    /**
+     * A {@link ParallelRunnerImpl} that simulates {@link TestSimulation}s.
+     */
+    private static class TestRunner extends ParallelRunnerImpl {
+
+        private final List<TestSimulation> simulations = Collections.synchronizedList(new ArrayList<>());
+        private final List<TestSimulation> completed = Collections.synchronizedList(new ArrayList<>());
+        private final boolean blocking;
+
+        private TestRunner(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        private TestRunner(Executor executor, boolean blocking) {
+            super(executor);
+            this.blocking = blocking;
+        }
+
+        @Override
+        protected Simulation createSimulation(ProblemArchetype problem,
+                                              SimulationConfig simulationConfig,
+                                              DeliveryService.Factory deliveryServiceFactory) {
+            // the first simulation finishes immediately, the others run until they are ended
+            TestSimulation simulation = new TestSimulation(RATINGS[simulations.size()], blocking && !simulations.isEmpty(),
+                problem.vehicleManager().getEventBus(), completed);
+            simulations.add(simulation);
+            return simulation;
+        }
+    }
+
+    /**
+     * An {@link Executor} that executes the submitted tasks in reverse order on a new thread, once the expected amount
+     * of tasks has been submitted.
+     */
+    private static class ReverseExecutor implements Executor {
+
+        private final int count;
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        private ReverseExecutor(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+            if (tasks.size() == count) {
+                List<Runnable> reversed = new ArrayList<>(tasks);
+                Collections.reverse(reversed);
+                new Thread(() -> reversed.forEach(Runnable::run)).start();
+            }
+        }
+    }
+
+    /**
+     * A {@link Simulation} that only pops the {@link EventBus} of its problem every tick and reports a fixed rating.<p>
+     *
+     * Like a {@code BasicDeliverySimulation}, it resets a previous request to end it when it is set up. A blocking
+     * simulation takes a while to be set up and then runs until it is ended.
+     */
+    private static class TestSimulation implements Simulation {
+
+        private static final long BLOCKING_LENGTH = 100_000;
+        private static final long SETUP_MILLIS = 50;
+
+        private final double rating;
+        private final boolean blocking;
+        private volatile boolean running;
+        private volatile boolean terminationRequested;
+        private volatile long currentTick;
+        private volatile Thread thread;
+        private final EventBus eventBus;
+        private final List<TestSimulation> completed;
+
+        private TestSimulation(double rating, boolean blocking, EventBus eventBus, List<TestSimulation> completed) {
+            this.rating = rating;
+            this.blocking = blocking;
+            this.eventBus = eventBus;
+            this.completed = completed;
+        }
+
+        @Override
+        public void runSimulation() {
+            runSimulation(-1);
+        }
+
+        @Override
+        public void runSimulation(long maxTicks) {
+            running = true;
+            thread = Thread.currentThread();
+            long length = blocking ? BLOCKING_LENGTH : maxTicks;
+            try {
+                if (blocking) {
+                    Thread.sleep(SETUP_MILLIS);
+                }
+                terminationRequested = false;
+                while (!terminationRequested && currentTick < length) {
+                    eventBus.popEvents(currentTick++);
+                    if (blocking) {
+                        Thread.sleep(1);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running = false;
+            completed.add(this);
+        }
+
+        @Override
+        public void endSimulation() {
+            terminationRequested = true;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public double getRatingForCriterion(RatingCriteria criterion) {
+            return rating;
+        }
+
+        @Override
+        public SimulationConfig getSimulationConfig() {
+            return null;
+        }
+
+        @Override
+        public DeliveryService getDeliveryService() {
+            return null;
+        }
+
+        @Override
+        public long getCurrentTick() {
+            return currentTick;
+        }
+
+        @Override
+        public void runCurrentTick() {
+            currentTick++;
+        }
+
+        @Override
+        public void addListener(SimulationListener listener) {
+        }
+
+        @Override
+        public boolean removeListener(SimulationListener listener) {
+            return false;
+        }
+
+        @Override
+        public boolean toggleRunning() {
+            return false;
+        }
+    }
+
+    private record TestProblem(String name, long simulationLength, VehicleManager vehicleManager)
+        implements ProblemArchetype {
+
+        @Override
+        public OrderGenerator.Factory orderGeneratorFactory() {
+            return null;
+        }
+
+        @Override
+        public Map<RatingCriteria, Rater.Factory> raterFactoryMap() {
+            return Map.of();
+        }
+
+        @Override
+        public ProblemArchetype copy() {
+            return new TestProblem(name, simulationLength, vehicleManager.copy());
+        }
+    }
+
+    private record TestProblemGroup(List<ProblemArchetype> problems, List<RatingCriteria> ratingCriteria)
+        implements ProblemGroup {
+    }
+}
@@ -5,6 +5,7 @@ import projekt.delivery.rating.Rater;
 import projekt.delivery.rating.RatingCriteria;
 import projekt.delivery.routing.VehicleManager;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -51,4 +52,24 @@ public interface ProblemArchetype {
      * @return The name of this problem.
      */
     String name();
+
+    /**
+     * Creates a copy of this problem that simulates a {@link VehicleManager#copy() copy} of its {@link VehicleManager}.
+     * The {@link OrderGenerator.Factory} and the {@link Rater.Factory}s of the copy are bound to the copied
+     * {@link VehicleManager}, so the copy can be simulated at the same time as this problem.
+     * @return The created copy of this problem.
+     */
+    default ProblemArchetype copy() {
+        final VehicleManager vehicleManager = vehicleManager().copy();
+        final Map<RatingCriteria, Rater.Factory> raterFactoryMap = new HashMap<>();
+        for (Map.Entry<RatingCriteria, Rater.Factory> entry : raterFactoryMap().entrySet()) {
+            raterFactoryMap.put(entry.getKey(), entry.getValue().withVehicleManager(vehicleManager));
+        }
+        return new ProblemArchetypeImpl(
+            orderGeneratorFactory().withVehicleManager(vehicleManager),
+            vehicleManager,
+            raterFactoryMap,
+            simulationLength(),
+            name());
+    }
 }
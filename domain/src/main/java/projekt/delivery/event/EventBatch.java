@@ -0,0 +1,103 @@
+package projekt.delivery.event;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * An unmodifiable list of the {@link Event}s of a tick that also groups its {@link Event}s by their types.<p>
+ *
+ * The {@link Event}s are grouped once when the batch is created, under every class and interface extending
+ * {@link Event} they are an instance of. {@link #getEvents(Class)} therefore returns all {@link Event}s of a type,
+ * e.g. all {@link ArrivedAtNodeEvent}s including {@link ArrivedAtRestaurantEvent}s, without inspecting the other
+ * {@link Event}s. The {@link Event}s of a type keep the order they have in the batch.
+ */
+public final class EventBatch extends AbstractList<Event> implements RandomAccess {
+
+    private static final EventBatch EMPTY = new EventBatch(List.of());
+
+    /**
+     * The types extending {@link Event} that an instance of a class is an instance of, including the class itself.
+     */
+    private static final ClassValue<List<Class<?>>> EVENT_TYPES = new ClassValue<>() {
+        @Override
+        protected List<Class<?>> computeValue(Class<?> type) {
+            Set<Class<?>> types = new LinkedHashSet<>();
+            collectEventTypes(type, types);
+            return List.copyOf(types);
+        }
+    };
+
+    private final List<Event> events;
+    private final Map<Class<?>, List<Event>> eventsByType;
+
+    private EventBatch(List<Event> events) {
+        this.events = events;
+        Map<Class<?>, List<Event>> eventsByType = new HashMap<>();
+        for (Event event : events) {
+            for (Class<?> type : EVENT_TYPES.get(event.getClass())) {
+                eventsByType.computeIfAbsent(type, t -> new ArrayList<>()).add(event);
+            }
+        }
+        eventsByType.replaceAll((type, eventsOfType) -> Collections.unmodifiableList(eventsOfType));
+        this.eventsByType = eventsByType;
+    }
+
+    /**
+     * Returns an empty {@link EventBatch}.
+     * @return An empty {@link EventBatch}.
+     */
+    public static EventBatch empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns an {@link EventBatch} containing the given {@link Event}s. If the given list already is an
+     * {@link EventBatch}, it is returned as it is, otherwise the {@link Event}s are copied and grouped.
+     * @param events The {@link Event}s of the batch.
+     * @return An {@link EventBatch} containing the given {@link Event}s.
+     */
+    public static EventBatch of(List<? extends Event> events) {
+        if (events instanceof EventBatch batch) {
+            return batch;
+        }
+        return events.isEmpty() ? EMPTY : new EventBatch(List.copyOf(events));
+    }
+
+    private static void collectEventTypes(Class<?> type, Set<Class<?>> types) {
+        if (type == null || !Event.class.isAssignableFrom(type) || !types.add(type)) {
+            return;
+        }
+        collectEventTypes(type.getSuperclass(), types);
+        for (Class<?> implemented : type.getInterfaces()) {
+            collectEventTypes(implemented, types);
+        }
+    }
+
+    /**
+     * Returns all {@link Event}s of this batch that are an instance of the given type, in the order of this batch.
+     * @param type The type of the returned {@link Event}s.
+     * @param <T> The type of the returned {@link Event}s.
+     * @return An unmodifiable list of the {@link Event}s of the given type.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Event> List<T> getEvents(Class<T> type) {
+        return (List<T>) eventsByType.getOrDefault(type, List.of());
+    }
+
+    @Override
+    public Event get(int index) {
+        return events.get(index);
+    }
+
+    @Override
+    public int size() {
+        return events.size();
+    }
+}
@@ -1,29 +1,64 @@
 package projekt.delivery.event;
 
+import projekt.delivery.log.LogLevel;
+import projekt.delivery.log.LogSink;
+
 import java.util.*;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * A class for storing all {@link Event}s that occurred during a tick.
+ * A class for storing all {@link Event}s that occurred during a tick.<p>
+ *
+ * {@link Event}s may be posted by several threads at once without locking. They are popped in the order they were
+ * posted in, except for the {@link Event}s posted in a {@link Segment}: a segment reserves a position in the bus and
+ * collects the {@link Event}s posted by the thread running it, so that work split across several threads can post its
+ * {@link Event}s in the same order as if it had been executed sequentially.
  */
 public class EventBus {
 
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final List<Event> queuedEvents = new ArrayList<>();
-    private final Map<Long, List<Event>> log = new HashMap<>();
-    private final Map<Long, List<Event>> unmodifiableLog = Collections.unmodifiableMap(log);
+    private static final ThreadLocal<Segment> CURRENT_SEGMENT = new ThreadLocal<>();
+
+    /**
+     * The posted {@link Event}s and reserved {@link Segment}s.
+     */
+    private final Queue<Object> queuedEvents = new ConcurrentLinkedQueue<>();
+    private final EventHistory history;
+    private final LogSink logSink;
+
+    /**
+     * Creates a new {@link EventBus} that does not keep the popped {@link Event}s and does not write them to a
+     * {@link LogSink}.
+     */
+    public EventBus() {
+        this(LogSink.noOp());
+    }
+
+    /**
+     * Creates a new {@link EventBus} that does not keep the popped {@link Event}s, see {@link EventRetention#disabled()},
+     * and writes the {@link Event}s popped at every tick to the given {@link LogSink} with {@link LogLevel#DEBUG}.
+     * @param logSink The {@link LogSink} to write to.
+     */
+    public EventBus(LogSink logSink) {
+        this(logSink, EventRetention.disabled());
+    }
+
+    /**
+     * Creates a new {@link EventBus} that keeps the popped {@link Event}s according to the given {@link EventRetention}
+     * and writes the {@link Event}s popped at every tick to the given {@link LogSink} with {@link LogLevel#DEBUG}.
+     * @param logSink The {@link LogSink} to write to.
+     * @param retention The {@link EventRetention} of the {@link #getLog() log}.
+     */
+    public EventBus(LogSink logSink, EventRetention retention) {
+        this.logSink = Objects.requireNonNull(logSink, "logSink");
+        this.history = Objects.requireNonNull(retention, "retention").createHistory();
+    }
 
     /**
      * Adds an {@link Event} to the bus.
      * @param event The {@link Event} to add.
      */
     public void queuePost(Event event) {
-        lock.readLock().lock();
-        try {
-            queuedEvents.add(event);
-        } finally {
-            lock.readLock().unlock();
-        }
+        post(event);
     }
 
     /**
@@ -31,30 +66,59 @@ public class EventBus {
      * @param events The {@link Event}s to add.
      */
     public void queuePost(Collection<Event> events) {
-        lock.readLock().lock();
-        try {
-            queuedEvents.addAll(events);
-        } finally {
-            lock.readLock().unlock();
+        for (Event event : events) {
+            post(event);
+        }
+    }
+
+    /**
+     * Reserves a {@link Segment} at the current position of this bus. The {@link Event}s posted while running the
+     * segment are popped after the {@link Event}s posted before this call and before the {@link Event}s posted after
+     * it, regardless of when the segment is run. If the calling thread is running a segment of this bus, the new
+     * segment is reserved inside of it.
+     * @return The reserved {@link Segment}.
+     */
+    public Segment reserveSegment() {
+        final Segment segment = new Segment(this);
+        post(segment);
+        return segment;
+    }
+
+    private void post(Object entry) {
+        final Segment segment = CURRENT_SEGMENT.get();
+        if (segment != null && segment.eventBus == this) {
+            segment.entries.add(entry);
+        } else {
+            queuedEvents.add(entry);
         }
     }
 
     /**
      * Returns all {@link Event}s that have been added since the last time this bus has been cleared and clears this bus.
      * @param tick The current Tick.
-     * @return All {@link Event}s that have been added since the last time this bus has been cleared
+     * @return An {@link EventBatch} of all {@link Event}s that have been added since the last time this bus has been
+     * cleared
      */
-    public List<Event> popEvents(long tick) {
-        // is not a read lock because the queue has to be cleared too
-        lock.writeLock().lock();
-        try {
-            log.put(tick, queuedEvents);
-            System.out.printf("Tick: %s - %s\n", tick, queuedEvents);
-            List<Event> copy = new ArrayList<>(queuedEvents);
-            clear();
-            return copy;
-        } finally {
-            lock.writeLock().unlock();
+    public EventBatch popEvents(long tick) {
+        final List<Event> events = new ArrayList<>();
+        Object entry;
+        while ((entry = queuedEvents.poll()) != null) {
+            addEvents(entry, events);
+        }
+        synchronized (history) {
+            history.record(tick, events);
+        }
+        logSink.log(LogLevel.DEBUG, tick, () -> "Tick: " + tick + " - " + events);
+        return EventBatch.of(events);
+    }
+
+    private static void addEvents(Object entry, List<Event> events) {
+        if (entry instanceof Segment segment) {
+            for (Object segmentEntry : segment.entries) {
+                addEvents(segmentEntry, events);
+            }
+        } else {
+            events.add((Event) entry);
         }
     }
 
@@ -66,10 +130,65 @@ public class EventBus {
     }
 
     /**
-     * Returns a log of this bus.
-     * @return A log of this bus containing all {@link Event}s popped at a specific tick.
+     * Returns a log of this bus. It only contains the ticks retained by the {@link EventRetention} of this bus.
+     * @return A log of this bus containing all retained {@link Event}s popped at a specific tick.
      */
     public Map<Long, List<Event>> getLog() {
-        return unmodifiableLog;
+        return history.view();
+    }
+
+    /**
+     * Removes all {@link Event}s from the log of this bus.
+     */
+    public void clearLog() {
+        synchronized (history) {
+            history.clear();
+        }
+    }
+
+    /**
+     * Removes all added {@link Event}s and the log of this bus and deletes the files the log has been written to.<p>
+     *
+     * It has to be called once a bus whose {@link EventRetention} writes to disk is no longer used, since the files
+     * are not deleted otherwise. The bus may still be used afterwards and starts a new log.
+     */
+    public void close() {
+        clear();
+        clearLog();
+    }
+
+    /**
+     * A reserved position in an {@link EventBus} that collects the {@link Event}s posted while it is run.<p>
+     *
+     * A segment may be run on any thread, but only by one thread at a time, and all runs have to be completed before
+     * the {@link Event}s of its bus are popped, e.g. by waiting for the tasks running it.
+     */
+    public static final class Segment {
+
+        private final EventBus eventBus;
+        private final List<Object> entries = new ArrayList<>();
+
+        private Segment(EventBus eventBus) {
+            this.eventBus = eventBus;
+        }
+
+        /**
+         * Runs the given task on the calling thread. The {@link Event}s the task posts to the {@link EventBus} of this
+         * segment on the calling thread are added to this segment.
+         * @param task The task to run.
+         */
+        public void run(Runnable task) {
+            final Segment previous = CURRENT_SEGMENT.get();
+            CURRENT_SEGMENT.set(this);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT_SEGMENT.remove();
+                } else {
+                    CURRENT_SEGMENT.set(previous);
+                }
+            }
+        }
     }
 }
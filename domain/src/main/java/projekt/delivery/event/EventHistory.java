@@ -0,0 +1,28 @@
+package projekt.delivery.event;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the {@link Event}s popped from an {@link EventBus} according to an {@link EventRetention}.
+ */
+interface EventHistory {
+
+    /**
+     * Records the {@link Event}s popped at the given tick.
+     * @param tick The tick at which the {@link Event}s were popped.
+     * @param events The popped {@link Event}s. The list is copied if it is retained.
+     */
+    void record(long tick, List<Event> events);
+
+    /**
+     * Returns an unmodifiable view of the retained {@link Event}s, mapping every retained tick to its {@link Event}s.
+     * @return An unmodifiable view of the retained {@link Event}s.
+     */
+    Map<Long, List<Event>> view();
+
+    /**
+     * Removes all recorded {@link Event}s and releases the resources used to store them, e.g. files.
+     */
+    void clear();
+}
@@ -0,0 +1,104 @@
+package projekt.delivery.event;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Determines which of the {@link Event}s popped from an {@link EventBus} are kept in its {@link EventBus#getLog() log}.
+ * <p>
+ *
+ * Every {@link Event} references the vehicles, orders and nodes it is about, so keeping every tick lets long or
+ * repeated simulations grow without bound. The retention can either keep every tick, no tick, the most recent ticks
+ * or the most recent ticks in memory and all older ticks on disk. By default no tick is kept, keeping ticks has to be
+ * chosen explicitly. A retention is immutable and may be shared by several {@link EventBus}es, every {@link EventBus}
+ * keeps its own history.
+ */
+public final class EventRetention {
+
+    private static final EventRetention UNBOUNDED =
+        new EventRetention("unbounded", () -> new MapEventHistory(Integer.MAX_VALUE));
+    private static final EventRetention DISABLED =
+        new EventRetention("disabled", () -> new MapEventHistory(0));
+
+    private final String description;
+    private final Supplier<EventHistory> historyFactory;
+
+    private EventRetention(String description, Supplier<EventHistory> historyFactory) {
+        this.description = description;
+        this.historyFactory = historyFactory;
+    }
+
+    /**
+     * Returns an {@link EventRetention} that keeps the {@link Event}s of every tick in memory. The memory used by the
+     * log grows with every tick, so it should only be chosen for short simulations that need the whole log.
+     * @return An {@link EventRetention} that keeps every tick.
+     */
+    public static EventRetention unbounded() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * Returns an {@link EventRetention} that does not keep any {@link Event}s. It is the default retention of every
+     * {@link EventBus}.
+     * @return An {@link EventRetention} that keeps no tick.
+     */
+    public static EventRetention disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Returns an {@link EventRetention} that keeps the {@link Event}s of the given amount of most recently popped
+     * ticks in memory and drops older ticks.
+     * @param ticks The amount of ticks to keep.
+     * @return An {@link EventRetention} that keeps the most recent ticks.
+     * @throws IllegalArgumentException If the amount of ticks is not positive.
+     */
+    public static EventRetention lastTicks(int ticks) {
+        if (ticks <= 0) {
+            throw new IllegalArgumentException("ticks must be positive: " + ticks);
+        }
+        return new EventRetention("last " + ticks + " ticks", () -> new MapEventHistory(ticks));
+    }
+
+    /**
+     * Returns an {@link EventRetention} that keeps the {@link Event}s of the given amount of most recently popped
+     * ticks in memory and writes older ticks to segment files in a new temporary directory in the given directory.
+     * <p>
+     *
+     * Every tick remains accessible through the log, but the {@link Event}s of ticks that have been written to disk
+     * are restored as plain {@link Event}s that only contain the tick and the {@link Object#toString() description}
+     * of the original {@link Event}. The files are deleted when the log is cleared, e.g. by {@link EventBus#close()}
+     * once the bus is no longer used.
+     *
+     * @param directory The directory in which the segment files are created.
+     * @param ticksInMemory The amount of ticks kept in memory.
+     * @param ticksPerSegment The amount of ticks written to a single segment file.
+     * @return An {@link EventRetention} that writes older ticks to disk.
+     * @throws IllegalArgumentException If the amount of ticks in memory or per segment is not positive.
+     */
+    public static EventRetention spillToDisk(Path directory, int ticksInMemory, int ticksPerSegment) {
+        Objects.requireNonNull(directory, "directory");
+        if (ticksInMemory <= 0) {
+            throw new IllegalArgumentException("ticksInMemory must be positive: " + ticksInMemory);
+        }
+        if (ticksPerSegment <= 0) {
+            throw new IllegalArgumentException("ticksPerSegment must be positive: " + ticksPerSegment);
+        }
+        return new EventRetention("last " + ticksInMemory + " ticks in memory, older ticks in " + directory,
+            () -> new SpillingEventHistory(directory, ticksInMemory, ticksPerSegment));
+    }
+
+    /**
+     * Creates a new, empty {@link EventHistory} that retains the {@link Event}s according to this {@link EventRetention}.
+     * @return The created {@link EventHistory}.
+     */
+    EventHistory createHistory() {
+        return historyFactory.get();
+    }
+
+    @Override
+    public String toString() {
+        return "EventRetention(" + description + ')';
+    }
+}
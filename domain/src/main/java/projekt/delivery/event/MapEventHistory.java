@@ -0,0 +1,61 @@
+package projekt.delivery.event;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link EventHistory} that keeps the {@link Event}s of the most recently recorded ticks in memory.
+ */
+class MapEventHistory implements EventHistory {
+
+    private final int maxTicks;
+    private final Map<Long, List<Event>> events;
+    private final Map<Long, List<Event>> unmodifiableEvents;
+
+    /**
+     * Creates a new {@link MapEventHistory}.
+     * @param maxTicks The amount of ticks to retain, {@link Integer#MAX_VALUE} retains every tick.
+     */
+    MapEventHistory(int maxTicks) {
+        this.maxTicks = maxTicks;
+        this.events = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<Event>> eldest) {
+                if (size() > MapEventHistory.this.maxTicks) {
+                    evicted(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.unmodifiableEvents = Collections.unmodifiableMap(events);
+    }
+
+    /**
+     * Called after the {@link Event}s of the least recently recorded tick have been removed to stay within the
+     * retained amount of ticks.
+     * @param tick The tick of the removed {@link Event}s.
+     * @param events The removed {@link Event}s.
+     */
+    protected void evicted(long tick, List<Event> events) {
+    }
+
+    @Override
+    public void record(long tick, List<Event> events) {
+        if (maxTicks > 0) {
+            this.events.put(tick, List.copyOf(events));
+        }
+    }
+
+    @Override
+    public Map<Long, List<Event>> view() {
+        return unmodifiableEvents;
+    }
+
+    @Override
+    public void clear() {
+        events.clear();
+    }
+}
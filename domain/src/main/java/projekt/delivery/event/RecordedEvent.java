@@ -0,0 +1,28 @@
+package projekt.delivery.event;
+
+/**
+ * An {@link Event} that has been restored from its description after it has been written to disk.<p>
+ *
+ * It only contains the tick and the {@link Object#toString()} of the original {@link Event}, so it does not reference
+ * any vehicles, orders or nodes.
+ */
+class RecordedEvent implements Event {
+
+    private final long tick;
+    private final String description;
+
+    RecordedEvent(long tick, String description) {
+        this.tick = tick;
+        this.description = description;
+    }
+
+    @Override
+    public long getTick() {
+        return tick;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
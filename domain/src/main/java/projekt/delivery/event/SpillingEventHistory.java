@@ -0,0 +1,203 @@
+package projekt.delivery.event;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * An {@link EventHistory} that keeps the most recently recorded ticks in memory and writes older ticks to segment files
+ * on disk.<p>
+ *
+ * The descriptions of the {@link Event}s of a tick are written as one record to the current segment, which is replaced
+ * by a new one once it contains a fixed amount of ticks. An index maps every written tick to the position of its
+ * record, so every tick can be read back on its own. Ticks read from disk contain {@link RecordedEvent}s instead of the
+ * original {@link Event}s. The segments are stored in a new temporary directory and are only deleted by
+ * {@link #clear()}, which the owner of the history has to call once it is no longer used.
+ */
+class SpillingEventHistory extends MapEventHistory {
+
+    private final Path parentDirectory;
+    private final int ticksPerSegment;
+    private final Map<Long, Position> index = new LinkedHashMap<>();
+    private final Map<Long, List<Event>> view = new View();
+    private final List<Path> segments = new ArrayList<>();
+    private @Nullable Path directory;
+    private @Nullable DataOutputStream out;
+    private int ticksInSegment;
+
+    /**
+     * Creates a new {@link SpillingEventHistory}.
+     * @param parentDirectory The directory in which the temporary directory containing the segments is created.
+     * @param ticksInMemory The amount of ticks kept in memory.
+     * @param ticksPerSegment The amount of ticks written to a single segment.
+     */
+    SpillingEventHistory(Path parentDirectory, int ticksInMemory, int ticksPerSegment) {
+        super(ticksInMemory);
+        this.parentDirectory = parentDirectory;
+        this.ticksPerSegment = ticksPerSegment;
+    }
+
+    @Override
+    public void record(long tick, List<Event> events) {
+        index.remove(tick);
+        super.record(tick, events);
+    }
+
+    @Override
+    protected void evicted(long tick, List<Event> events) {
+        try {
+            final DataOutputStream out = nextSegment();
+            index.put(tick, new Position(segments.size() - 1, out.size()));
+            out.writeInt(events.size());
+            for (Event event : events) {
+                final byte[] description = String.valueOf(event).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(description.length);
+                out.write(description);
+            }
+            ticksInSegment++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the events of tick " + tick, e);
+        }
+    }
+
+    /**
+     * Returns the stream of the segment the next tick is written to, starting a new segment if the current one is
+     * full.
+     * @return The stream of the current segment.
+     * @throws IOException If a new segment could not be created.
+     */
+    private DataOutputStream nextSegment() throws IOException {
+        if (out != null && ticksInSegment < ticksPerSegment) {
+            return out;
+        }
+        if (directory == null) {
+            directory = Files.createTempDirectory(parentDirectory, "events");
+        }
+        if (out != null) {
+            out.close();
+        }
+        final Path segment = directory.resolve("segment-" + segments.size() + ".bin");
+        segments.add(segment);
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(segment)));
+        ticksInSegment = 0;
+        return out;
+    }
+
+    /**
+     * Reads the {@link Event}s of the given tick from its segment.
+     * @param tick The tick to read.
+     * @param position The position of the record of the tick.
+     * @return The {@link RecordedEvent}s of the given tick.
+     */
+    private List<Event> read(long tick, Position position) {
+        try {
+            if (out != null && position.segment() == segments.size() - 1) {
+                out.flush();
+            }
+            try (RandomAccessFile file = new RandomAccessFile(segments.get(position.segment()).toFile(), "r")) {
+                file.seek(position.offset());
+                final int size = file.readInt();
+                final List<Event> events = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    final byte[] description = new byte[file.readInt()];
+                    file.readFully(description);
+                    events.add(new RecordedEvent(tick, new String(description, StandardCharsets.UTF_8)));
+                }
+                return List.copyOf(events);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the events of tick " + tick, e);
+        }
+    }
+
+    @Override
+    public Map<Long, List<Event>> view() {
+        return view;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        index.clear();
+        try {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+            for (Path segment : segments) {
+                Files.deleteIfExists(segment);
+            }
+            segments.clear();
+            if (directory != null) {
+                Files.deleteIfExists(directory);
+                directory = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete the event segments", e);
+        }
+    }
+
+    /**
+     * The position of the record of a tick.
+     * @param segment The index of the segment containing the record.
+     * @param offset The offset of the record in its segment.
+     */
+    private record Position(int segment, long offset) {
+    }
+
+    /**
+     * An unmodifiable view of the ticks written to disk followed by the ticks in memory.
+     */
+    private class View extends AbstractMap<Long, List<Event>> {
+
+        @Override
+        public @Nullable List<Event> get(Object key) {
+            final List<Event> events = SpillingEventHistory.super.view().get(key);
+            if (events != null) {
+                return events;
+            }
+            final Position position = index.get(key);
+            return position == null ? null : read((Long) key, position);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return index.containsKey(key) || SpillingEventHistory.super.view().containsKey(key);
+        }
+
+        @Override
+        public Set<Entry<Long, List<Event>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Long, List<Event>>> iterator() {
+                    return Stream.concat(
+                        index.entrySet().stream()
+                            .map(entry -> Map.entry(entry.getKey(), read(entry.getKey(), entry.getValue()))),
+                        SpillingEventHistory.super.view().entrySet().stream()
+                    ).iterator();
+                }
+
+                @Override
+                public int size() {
+                    return index.size() + SpillingEventHistory.super.view().size();
+                }
+            };
+        }
+    }
+}
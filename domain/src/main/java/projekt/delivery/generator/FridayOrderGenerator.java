@@ -9,7 +9,8 @@ import java.util.*;
 
 /**
  * An implementation of an {@link OrderGenerator} that represents the incoming orders on an average friday evening.
- * The incoming orders follow a normal distribution.<p>
+ * The incoming orders follow a normal distribution. The IDs of the created orders are allocated in the order of their
+ * creation, starting at 0.<p>
  *
  * To create a new {@link FridayOrderGenerator} use {@code FridayOrderGenerator.Factory.builder()...build();}.
  */
@@ -17,6 +18,8 @@ public class FridayOrderGenerator implements OrderGenerator {
 
     private final Random random;
     private final Map<Long, List<ConfirmedOrder>> orders = new HashMap<>();
+    private final long[] orderTicks;
+    private int nextOrderID;
 
     /**
      * Creates a new {@link FridayOrderGenerator} with the given parameters.
@@ -44,6 +47,8 @@ public class FridayOrderGenerator implements OrderGenerator {
                 orders.put(deliveryTime, new ArrayList<>(List.of(createRandomOrder(vehicleManager, deliveryTime, deliveryInterval, maxWeight))));
             }
         }
+
+        orderTicks = orders.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
     }
 
     @Override
@@ -55,6 +60,15 @@ public class FridayOrderGenerator implements OrderGenerator {
         return orders.getOrDefault(tick, List.of());
     }
 
+    @Override
+    public long getNextOrderTick(long tick) {
+        int index = Arrays.binarySearch(orderTicks, tick);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < orderTicks.length ? orderTicks[index] : Long.MAX_VALUE;
+    }
+
     private ConfirmedOrder createRandomOrder(VehicleManager vehicleManager, long deliveryTime, long deliveryInterval, double maxWeight) {
         VehicleManager.OccupiedRestaurant restaurant = new ArrayList<>(vehicleManager.getOccupiedRestaurants())
             .get(random.nextInt(vehicleManager.getOccupiedRestaurants().size()));
@@ -69,6 +83,7 @@ public class FridayOrderGenerator implements OrderGenerator {
         }
 
         return new ConfirmedOrder(
+            nextOrderID++,
             location,
             restaurant,
             new TickInterval(deliveryTime , deliveryTime + deliveryInterval),
@@ -104,6 +119,11 @@ public class FridayOrderGenerator implements OrderGenerator {
             return new FridayOrderGenerator(orderCount, vehicleManager, deliveryInterval, maxWeight, standardDeviation, lastTick, seed);
         }
 
+        @Override
+        public Factory withVehicleManager(VehicleManager vehicleManager) {
+            return new Factory(orderCount, vehicleManager, deliveryInterval, maxWeight, standardDeviation, lastTick, seed);
+        }
+
         /**
          * Creates a new {@link FridayOrderGenerator.FactoryBuilder}.
          * @return The created {@link FridayOrderGenerator.FactoryBuilder}.
@@ -1,6 +1,7 @@
 package projekt.delivery.generator;
 
 import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.VehicleManager;
 
 import java.util.List;
 
@@ -22,6 +23,20 @@ public interface OrderGenerator {
      */
     List<ConfirmedOrder> generateOrders(long tick);
 
+    /**
+     * Returns the first tick at or after the given tick for which {@link #generateOrders(long)} may return a non-empty
+     * list.<p>
+     *
+     * The default implementation returns the given tick, i.e. every tick may contain orders.
+     *
+     * @param tick The first tick to consider.
+     * @return The first tick at or after {@code tick} that may contain orders or {@link Long#MAX_VALUE} if no later
+     * tick contains orders.
+     */
+    default long getNextOrderTick(long tick) {
+        return tick;
+    }
+
     /**
      * A factory for creating a new {@link OrderGenerator}.
      */
@@ -32,6 +47,20 @@ public interface OrderGenerator {
          * @return The new {@link OrderGenerator}.
          */
         OrderGenerator create();
+
+        /**
+         * Returns a {@link Factory} that creates the same {@link OrderGenerator}s as this {@link Factory}, but for
+         * the given {@link VehicleManager}.<p>
+         *
+         * The default implementation returns this {@link Factory}, i.e. the created {@link OrderGenerator}s do not
+         * depend on a {@link VehicleManager}.
+         *
+         * @param vehicleManager The {@link VehicleManager} the {@link OrderGenerator}s are created for.
+         * @return A {@link Factory} for the given {@link VehicleManager}.
+         */
+        default Factory withVehicleManager(VehicleManager vehicleManager) {
+            return this;
+        }
     }
 
     /**
@@ -0,0 +1,205 @@
+package projekt.delivery.log;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link LogSink} that writes every message as a line to a file on a background thread.<p>
+ *
+ * Logging only adds the message to a bounded queue, so the simulation never waits for the file. If the writer can't
+ * keep up and the queue is full, new messages are dropped and counted instead; the amount of dropped messages is
+ * written as the last line when the sink is closed. Every line has the format {@code <tick> <level> <message>}.
+ */
+public class AsyncFileLogSink implements LogSink, Closeable {
+
+    /**
+     * The default amount of messages that may wait to be written.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final Line END = new Line(LogLevel.DEBUG, -1, "");
+
+    private final BlockingQueue<Line> queue;
+    private final BufferedWriter writer;
+    private final Thread thread;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+    private boolean closeRequested;
+    private volatile @Nullable IOException failure;
+
+    /**
+     * Creates a new {@link AsyncFileLogSink} with a capacity of {@link #DEFAULT_CAPACITY} messages that replaces the
+     * given file.
+     * @param file The file to write the messages to.
+     * @throws IOException If the file can't be opened.
+     */
+    public AsyncFileLogSink(Path file) throws IOException {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new {@link AsyncFileLogSink} that replaces the given file.
+     * @param file The file to write the messages to.
+     * @param capacity The amount of messages that may wait to be written before new messages are dropped.
+     * @throws IOException If the file can't be opened.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    public AsyncFileLogSink(Path file, int capacity) throws IOException {
+        this(open(file, capacity), "log-writer-" + file.getFileName(), capacity);
+    }
+
+    /**
+     * Creates a new {@link AsyncFileLogSink} that writes the messages to the given {@link Writer}.
+     * @param writer The {@link Writer} to write the messages to. It is closed together with this sink.
+     * @param name The name of the background thread.
+     * @param capacity The amount of messages that may wait to be written before new messages are dropped.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    AsyncFileLogSink(Writer writer, String name, int capacity) {
+        checkCapacity(capacity);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = writer instanceof BufferedWriter bufferedWriter ? bufferedWriter : new BufferedWriter(writer);
+        this.thread = new Thread(this::writeLines, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Opens the given file after checking the capacity, so that an invalid capacity does not replace the file.
+     */
+    private static BufferedWriter open(Path file, int capacity) throws IOException {
+        checkCapacity(capacity);
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+    }
+
+    @Override
+    public boolean isEnabled(LogLevel level) {
+        return !closed;
+    }
+
+    @Override
+    public void log(LogLevel level, long tick, String message) {
+        if (closed || !queue.offer(new Line(level, tick, message))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the amount of messages that have been dropped because the queue was full or the sink was closed.
+     * @return The amount of dropped messages.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes all queued messages, closes the file and stops the background thread. Messages logged afterwards are
+     * dropped.
+     * @throws IOException If a message or the file could not be written. It is thrown by every call of this method,
+     * also if the writing failed before the sink was closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closeRequested) {
+            closeRequested = true;
+            closed = true;
+            try {
+                // a failed writer has already stopped and won't take the end marker from a full queue
+                boolean ended = false;
+                while (!ended && thread.isAlive()) {
+                    ended = queue.offer(END, 10, TimeUnit.MILLISECONDS);
+                }
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while closing the log", e);
+            }
+        }
+        final IOException exception = failure;
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private void writeLines() {
+        @Nullable IOException exception = null;
+        try {
+            write(writer);
+        } catch (IOException e) {
+            exception = e;
+        } catch (InterruptedException e) {
+            exception = new IOException("The log writer has been interrupted", e);
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // a failed writer may throw the same exception again when it is closed
+            if (exception == null) {
+                exception = e;
+            } else if (exception != e) {
+                exception.addSuppressed(e);
+            }
+        }
+        if (exception != null) {
+            fail(exception);
+        }
+    }
+
+    private void write(BufferedWriter out) throws IOException, InterruptedException {
+        final List<Line> lines = new ArrayList<>();
+        while (true) {
+            lines.add(queue.take());
+            queue.drainTo(lines);
+            for (Line line : lines) {
+                if (line == END) {
+                    if (dropped.get() > 0) {
+                        out.write("dropped " + dropped.get() + " messages");
+                        out.newLine();
+                    }
+                    return;
+                }
+                out.write(Long.toString(line.tick()));
+                out.write(' ');
+                out.write(line.level().name());
+                out.write(' ');
+                out.write(line.message());
+                out.newLine();
+            }
+            lines.clear();
+            // only flush once the queue has been emptied, so that bursts are written in one go
+            if (queue.isEmpty()) {
+                out.flush();
+            }
+        }
+    }
+
+    private void fail(IOException exception) {
+        failure = exception;
+        closed = true;
+        // make room for the end marker of close()
+        dropped.addAndGet(queue.size());
+        queue.clear();
+    }
+
+    private record Line(LogLevel level, long tick, String message) {
+    }
+}
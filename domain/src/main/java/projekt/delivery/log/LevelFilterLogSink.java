@@ -0,0 +1,29 @@
+package projekt.delivery.log;
+
+import java.util.Objects;
+
+/**
+ * A {@link LogSink} that passes the messages of at least a minimum {@link LogLevel} to another {@link LogSink}.
+ */
+class LevelFilterLogSink implements LogSink {
+
+    private final LogSink delegate;
+    private final LogLevel minimumLevel;
+
+    LevelFilterLogSink(LogSink delegate, LogLevel minimumLevel) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.minimumLevel = Objects.requireNonNull(minimumLevel, "minimumLevel");
+    }
+
+    @Override
+    public boolean isEnabled(LogLevel level) {
+        return level.isAtLeast(minimumLevel) && delegate.isEnabled(level);
+    }
+
+    @Override
+    public void log(LogLevel level, long tick, String message) {
+        if (level.isAtLeast(minimumLevel)) {
+            delegate.log(level, tick, message);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package projekt.delivery.log;
+
+/**
+ * The severity of a message written to a {@link LogSink}, ordered from the least to the most severe.
+ */
+public enum LogLevel {
+
+    /**
+     * Detailed messages about every tick, e.g. the events of a tick or the arrival of a vehicle.
+     */
+    DEBUG,
+
+    /**
+     * Messages about the progress of a simulation.
+     */
+    INFO,
+
+    /**
+     * Messages about problems that do not stop the simulation, e.g. a simulation that can't keep up with its tick
+     * length.
+     */
+    WARNING;
+
+    /**
+     * Returns whether this {@link LogLevel} is at least as severe as the given {@link LogLevel}.
+     * @param level The {@link LogLevel} to compare to.
+     * @return {@code true} if this {@link LogLevel} is at least as severe as the given one.
+     */
+    public boolean isAtLeast(LogLevel level) {
+        return compareTo(level) >= 0;
+    }
+}
@@ -0,0 +1,59 @@
+package projekt.delivery.log;
+
+import java.util.function.Supplier;
+
+/**
+ * A destination for the messages written during a simulation.<p>
+ *
+ * Every message consists of its {@link LogLevel}, the tick it was written at and the message itself. Sinks are called
+ * from the tick of a simulation, so they must not block on I/O. Messages that are expensive to build should be passed
+ * as a {@link Supplier} through {@link #log(LogLevel, long, Supplier)}, which only builds them if the level is enabled.
+ */
+public interface LogSink {
+
+    /**
+     * Returns a {@link LogSink} that discards every message.
+     * @return A {@link LogSink} that discards every message.
+     */
+    static LogSink noOp() {
+        return NoOpLogSink.INSTANCE;
+    }
+
+    /**
+     * Returns whether messages of the given {@link LogLevel} are written by this {@link LogSink}.
+     * @param level The {@link LogLevel} to check.
+     * @return {@code true} if messages of the given {@link LogLevel} are written.
+     */
+    boolean isEnabled(LogLevel level);
+
+    /**
+     * Writes the given message if its {@link LogLevel} is enabled.
+     * @param level The {@link LogLevel} of the message.
+     * @param tick The tick at which the message was written.
+     * @param message The message to write.
+     */
+    void log(LogLevel level, long tick, String message);
+
+    /**
+     * Writes the message created by the given {@link Supplier} if its {@link LogLevel} is enabled. The {@link Supplier}
+     * is called on the calling thread, so it may access state that is only valid during the call.
+     * @param level The {@link LogLevel} of the message.
+     * @param tick The tick at which the message was written.
+     * @param message The {@link Supplier} creating the message.
+     */
+    default void log(LogLevel level, long tick, Supplier<String> message) {
+        if (isEnabled(level)) {
+            log(level, tick, message.get());
+        }
+    }
+
+    /**
+     * Returns a {@link LogSink} that only passes the messages of at least the given {@link LogLevel} to this
+     * {@link LogSink}.
+     * @param minimumLevel The least severe {@link LogLevel} that is passed on.
+     * @return The filtering {@link LogSink}.
+     */
+    default LogSink withMinimumLevel(LogLevel minimumLevel) {
+        return new LevelFilterLogSink(this, minimumLevel);
+    }
+}
@@ -0,0 +1,26 @@
+package projekt.delivery.log;
+
+/**
+ * A {@link LogSink} that discards every message.
+ */
+final class NoOpLogSink implements LogSink {
+
+    static final NoOpLogSink INSTANCE = new NoOpLogSink();
+
+    private NoOpLogSink() {
+    }
+
+    @Override
+    public boolean isEnabled(LogLevel level) {
+        return false;
+    }
+
+    @Override
+    public void log(LogLevel level, long tick, String message) {
+    }
+
+    @Override
+    public LogSink withMinimumLevel(LogLevel minimumLevel) {
+        return this;
+    }
+}
@@ -2,11 +2,13 @@ package projekt.delivery.rating;
 
 import projekt.delivery.event.DeliverOrderEvent;
 import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBatch;
 import projekt.delivery.event.OrderReceivedEvent;
 import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.simulation.Simulation;
 
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 
@@ -20,7 +22,8 @@ public class AmountDeliveredRater implements Rater {
     public static final RatingCriteria RATING_CRITERIA = RatingCriteria.AMOUNT_DELIVERED;
 
     private long ordersCount = 0;
-    private final Set<ConfirmedOrder> pendingOrders = new HashSet<>();
+    // tracked by identity, since the IDs of orders from different sources may collide
+    private final Set<ConfirmedOrder> pendingOrders = Collections.newSetFromMap(new IdentityHashMap<>());
 
     private final double factor;
 
@@ -47,9 +50,9 @@ public class AmountDeliveredRater implements Rater {
 
     @Override
     public void onTick(List<Event> events, long tick) {
-        events.stream()
-            .filter(DeliverOrderEvent.class::isInstance)
-            .map(DeliverOrderEvent.class::cast)
+        EventBatch batch = EventBatch.of(events);
+
+        batch.getEvents(DeliverOrderEvent.class)
             .forEach(deliverOrderEvent -> {
                 ConfirmedOrder order = deliverOrderEvent.getOrder();
 
@@ -58,9 +61,7 @@ public class AmountDeliveredRater implements Rater {
                 }
             });
 
-        events.stream()
-            .filter(OrderReceivedEvent.class::isInstance)
-            .map(OrderReceivedEvent.class::cast)
+        batch.getEvents(OrderReceivedEvent.class).stream()
             .map(OrderReceivedEvent::getOrder)
             .forEach(order -> {
                 pendingOrders.add(order);
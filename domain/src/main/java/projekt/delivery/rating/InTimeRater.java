@@ -2,11 +2,13 @@ package projekt.delivery.rating;
 
 import projekt.delivery.event.DeliverOrderEvent;
 import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBatch;
 import projekt.delivery.event.OrderReceivedEvent;
 import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.simulation.Simulation;
 
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 
@@ -21,7 +23,8 @@ public class InTimeRater implements Rater {
 
     private long totalTicksOff = 0;
     private long ordersDelivered = 0;
-    private final Set<ConfirmedOrder> pendingOrders = new HashSet<>();
+    // tracked by identity, since the IDs of orders from different sources may collide
+    private final Set<ConfirmedOrder> pendingOrders = Collections.newSetFromMap(new IdentityHashMap<>());
 
     private final long ignoredTicksOff;
     private final long maxTicksOff;
@@ -53,9 +56,9 @@ public class InTimeRater implements Rater {
 
     @Override
     public void onTick(List<Event> events, long tick) {
-        events.stream()
-            .filter(DeliverOrderEvent.class::isInstance)
-            .map(DeliverOrderEvent.class::cast)
+        EventBatch batch = EventBatch.of(events);
+
+        batch.getEvents(DeliverOrderEvent.class)
             .forEach(deliverOrderEvent -> {
                 ConfirmedOrder order = deliverOrderEvent.getOrder();
 
@@ -77,11 +80,11 @@ public class InTimeRater implements Rater {
                 ordersDelivered++;
             });
 
-        events.stream()
-            .filter(OrderReceivedEvent.class::isInstance)
-            .map(OrderReceivedEvent.class::cast)
+        batch.getEvents(OrderReceivedEvent.class).stream()
             .map(OrderReceivedEvent::getOrder)
-            .forEach(pendingOrders::add);
+            .forEach(order -> {
+                pendingOrders.add(order);
+            });
     }
 
     /**
@@ -1,6 +1,7 @@
 package projekt.delivery.rating;
 
 import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.routing.VehicleManager;
 import projekt.delivery.simulation.Simulation;
 import projekt.delivery.simulation.SimulationListener;
 
@@ -34,6 +35,20 @@ public interface Rater extends SimulationListener {
          * @return The new {@link Rater}.
          */
         Rater create();
+
+        /**
+         * Returns a {@link Factory} that creates the same {@link Rater}s as this {@link Factory}, but for the given
+         * {@link VehicleManager}.<p>
+         *
+         * The default implementation returns this {@link Factory}, i.e. the created {@link Rater}s do not depend on a
+         * {@link VehicleManager}.
+         *
+         * @param vehicleManager The {@link VehicleManager} the {@link Rater}s are created for.
+         * @return A {@link Factory} for the given {@link VehicleManager}.
+         */
+        default Factory withVehicleManager(VehicleManager vehicleManager) {
+            return this;
+        }
     }
 
     /**
@@ -3,15 +3,14 @@ package projekt.delivery.rating;
 import projekt.delivery.event.ArrivedAtNodeEvent;
 import projekt.delivery.event.DeliverOrderEvent;
 import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBatch;
 import projekt.delivery.event.OrderReceivedEvent;
 import projekt.delivery.routing.PathCalculator;
 import projekt.delivery.routing.Region;
 import projekt.delivery.routing.VehicleManager;
 import projekt.delivery.simulation.Simulation;
 
-import java.util.Deque;
 import java.util.List;
-import java.util.Objects;
 
 
 /**
@@ -54,38 +53,18 @@ public class TravelDistanceRater implements Rater {
 
     @Override
     public void onTick(List<Event> events, long tick) {
+        EventBatch batch = EventBatch.of(events);
 
-        events.stream()
-            .filter(DeliverOrderEvent.class::isInstance)
-            .map(DeliverOrderEvent.class::cast)
+        batch.getEvents(DeliverOrderEvent.class)
             .forEach(deliverOrderEvent -> worstDistance += 2 * getDistance(deliverOrderEvent.getOrder().getRestaurant().getComponent(),
                 region.getNode(deliverOrderEvent.getOrder().getLocation())));
 
-        events.stream()
-            .filter(ArrivedAtNodeEvent.class::isInstance)
-            .map(ArrivedAtNodeEvent.class::cast)
+        batch.getEvents(ArrivedAtNodeEvent.class)
             .forEach(arrivedAtNodeEvent -> actualDistance += arrivedAtNodeEvent.getLastEdge().getDuration());
     }
 
     private double getDistance(Region.Node node1, Region.Node node2) {
-        Deque<Region.Node> path = pathCalculator.getPath(node1, node2);
-
-        if (path.isEmpty()) {
-            return 0;
-        }
-
-        long distance = 0;
-        Region.Node previousNode = node1;
-        Region.Node node = path.pollFirst();
-
-        do {
-            assert node != null;
-            distance += Objects.requireNonNull(region.getEdge(previousNode, node)).getDuration();
-            previousNode = node;
-            node = path.pollFirst();
-        } while (!path.isEmpty());
-
-        return distance;
+        return pathCalculator.getDuration(node1, node2);
     }
 
     /**
@@ -106,6 +85,11 @@ public class TravelDistanceRater implements Rater {
             return new TravelDistanceRater(vehicleManager, factor);
         }
 
+        @Override
+        public Factory withVehicleManager(VehicleManager vehicleManager) {
+            return new Factory(vehicleManager, factor);
+        }
+
         /**
          * Creates a new {@link TravelDistanceRater.FactoryBuilder}.
          * @return The created {@link TravelDistanceRater.FactoryBuilder}.
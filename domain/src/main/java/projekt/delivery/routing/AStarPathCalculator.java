@@ -0,0 +1,155 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.ChessboardDistanceCalculator;
+import projekt.base.DistanceCalculator;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * A {@link PathCalculator} that calculates point-to-point paths using A* on a {@link CompiledRegion}.<p>
+ *
+ * The {@link DistanceCalculator} of the {@link Region} is used as heuristic. It is only admissible if it is a metric
+ * and no {@link Region.Edge} is shorter than the distance between its nodes, which holds for every region built by a
+ * {@link Region.Builder} using one of the distance calculators of this project. If either condition can not be
+ * verified, queries fall back to Dijkstra's algorithm like the {@link CompiledDijkstraPathCalculator}.
+ */
+public class AStarPathCalculator extends CompiledDijkstraPathCalculator {
+
+    /**
+     * The {@link DistanceCalculator}s known to satisfy the triangle inequality. Subclasses are not included since they
+     * may override the calculation.
+     */
+    private static final Set<Class<?>> METRICS = Set.of(
+        EuclideanDistanceCalculator.class,
+        ManhattanDistanceCalculator.class,
+        ChessboardDistanceCalculator.class
+    );
+
+    /**
+     * The tolerance subtracted from every estimate to make up for rounding errors of the distance calculation.
+     */
+    private static final double TOLERANCE = 1e-6;
+
+    private final ThreadLocal<SearchState> states = new ThreadLocal<>();
+    private volatile @Nullable Admissibility admissibility;
+
+    /**
+     * Returns whether the {@link DistanceCalculator} of the given {@link Region} is an admissible heuristic for it.
+     * @param region The {@link Region} to check.
+     * @return {@code true} if A* is used for queries inside the given {@link Region}.
+     */
+    public boolean isAdmissible(Region region) {
+        return isAdmissible(compile(region));
+    }
+
+    private boolean isAdmissible(CompiledRegion graph) {
+        @Nullable Admissibility current = admissibility;
+        if (current == null || current.graph() != graph) {
+            current = new Admissibility(graph, checkAdmissible(graph.getRegion()));
+            admissibility = current;
+        }
+        return current.admissible();
+    }
+
+    private static boolean checkAdmissible(Region region) {
+        DistanceCalculator distanceCalculator = region.getDistanceCalculator();
+        if (!METRICS.contains(distanceCalculator.getClass())) {
+            return false;
+        }
+        for (Region.Edge edge : region.getEdges()) {
+            double distance = distanceCalculator.calculateDistance(edge.getNodeA().getLocation(), edge.getNodeB().getLocation());
+            if (edge.getDuration() < distance - TOLERANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SearchState getSearchState(CompiledRegion graph) {
+        @Nullable SearchState state = states.get();
+        if (state == null || state.graph != graph) {
+            state = new SearchState(graph);
+            states.set(state);
+        }
+        state.reset();
+        return state;
+    }
+
+    @Override
+    public void prepare(Region region) {
+        isAdmissible(compile(region));
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompiledRegion graph = compile(end.getRegion());
+        if (!isAdmissible(graph)) {
+            return super.getPath(start, end);
+        }
+        SearchState state = search(graph, start, end);
+        int goal = graph.getId(end);
+        if (!state.isReached(goal)) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return state.getPath(goal);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        CompiledRegion graph = compile(end.getRegion());
+        if (!isAdmissible(graph)) {
+            return super.getDuration(start, end);
+        }
+        return search(graph, start, end).getDuration(graph.getId(end));
+    }
+
+    /**
+     * Searches the shortest path from start to end. The search stops as soon as the end is settled.
+     * @return The {@link SearchState} of the search, the end is only reached if there is a path.
+     */
+    private SearchState search(CompiledRegion graph, Region.Node start, Region.Node end) {
+        DistanceCalculator distanceCalculator = graph.getRegion().getDistanceCalculator();
+        Location target = end.getLocation();
+        int source = graph.getId(start);
+        int goal = graph.getId(end);
+        SearchState state = getSearchState(graph);
+        state.update(source, 0, -1);
+        state.queue.insertOrDecrease(source, 0);
+
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        long[] arcDurations = graph.durations;
+        while (!state.queue.isEmpty()) {
+            int u = state.queue.poll();
+            if (u == goal) {
+                break;
+            }
+            long duration = state.getDuration(u);
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int v = targets[arc];
+                long weight = duration + arcDurations[arc];
+                if (weight < state.getDuration(v)) {
+                    state.update(v, weight, u);
+                    state.queue.insertOrDecrease(v, weight + estimate(distanceCalculator, graph.getNode(v).getLocation(), target));
+                }
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Returns a lower bound of the duration between the two given {@link Location}s. Since edge durations are whole
+     * numbers, rounding the distance down keeps the heuristic consistent.
+     */
+    private static long estimate(DistanceCalculator distanceCalculator, Location a, Location b) {
+        return Math.max(0, (long) Math.floor(distanceCalculator.calculateDistance(a, b) - TOLERANCE));
+    }
+
+    private record Admissibility(CompiledRegion graph, boolean admissible) {
+    }
+}
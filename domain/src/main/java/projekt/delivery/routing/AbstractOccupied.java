@@ -4,7 +4,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -15,7 +15,7 @@ abstract class AbstractOccupied<C extends Region.Component<? super C>> implement
 
     protected final C component;
     protected final VehicleManager vehicleManager;
-    protected final Map<VehicleImpl, VehicleStats> vehicles = new HashMap<>();
+    protected final Map<VehicleImpl, VehicleStats> vehicles = new LinkedHashMap<>();
     private final Collection<Vehicle> unmodifiableVehicles =
         Collections.unmodifiableCollection(vehicles.keySet());
 
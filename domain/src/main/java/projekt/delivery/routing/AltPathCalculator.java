@@ -0,0 +1,178 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Deque;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link PathCalculator} that calculates point-to-point paths using A* with landmarks and the triangle inequality
+ * (ALT) on a {@link CompiledRegion}.<p>
+ *
+ * In contrast to the {@link AStarPathCalculator} the heuristic does not depend on the locations of the nodes but
+ * only on the durations of the edges, so it stays effective when edge durations differ from the distances between
+ * their nodes. The {@link Landmarks} are selected once per {@link Region}, either when {@link #prepare(Region)} is
+ * called or on the first query. Queries for all paths to a single node are answered by Dijkstra's algorithm like the
+ * {@link CompiledDijkstraPathCalculator}.
+ */
+public class AltPathCalculator extends CompiledDijkstraPathCalculator {
+
+    /**
+     * The default amount of landmarks.
+     */
+    public static final int DEFAULT_LANDMARK_COUNT = 8;
+
+    private final int landmarkCount;
+    private final ThreadLocal<SearchState> states = new ThreadLocal<>();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder settledNodes = new LongAdder();
+    private volatile @Nullable Landmarks landmarks;
+
+    /**
+     * Creates a new {@link AltPathCalculator} using {@link #DEFAULT_LANDMARK_COUNT} landmarks.
+     */
+    public AltPathCalculator() {
+        this(DEFAULT_LANDMARK_COUNT);
+    }
+
+    /**
+     * Creates a new {@link AltPathCalculator}.
+     * @param landmarkCount The amount of landmarks to select in every {@link Region}.
+     * @throws IllegalArgumentException If the amount of landmarks is not positive.
+     */
+    public AltPathCalculator(int landmarkCount) {
+        if (landmarkCount <= 0) {
+            throw new IllegalArgumentException("landmarkCount must be positive: " + landmarkCount);
+        }
+        this.landmarkCount = landmarkCount;
+    }
+
+    /**
+     * Returns the amount of landmarks selected in every {@link Region}.
+     * @return The amount of landmarks selected in every {@link Region}.
+     */
+    public int getLandmarkCount() {
+        return landmarkCount;
+    }
+
+    /**
+     * Returns the {@link Landmarks} of the given {@link Region}, selecting them if necessary.<p>
+     *
+     * The returned landmarks report the time and memory used by the preprocessing.
+     * @param region The {@link Region} to return the {@link Landmarks} of.
+     * @return The {@link Landmarks} of the given {@link Region}.
+     */
+    public Landmarks getLandmarks(Region region) {
+        @Nullable Landmarks current = landmarks;
+        if (current == null || current.getGraph().getRegion() != region) {
+            synchronized (this) {
+                current = landmarks;
+                if (current == null || current.getGraph().getRegion() != region) {
+                    current = Landmarks.of(compile(region), landmarkCount);
+                    landmarks = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns the amount of point-to-point queries answered by this calculator.
+     * @return The amount of answered point-to-point queries.
+     */
+    public long getQueryCount() {
+        return queries.sum();
+    }
+
+    /**
+     * Returns the amount of nodes settled by all point-to-point queries answered by this calculator. Divided by
+     * {@link #getQueryCount()} and compared to the amount of nodes in the {@link Region}, it shows how much of the
+     * search space the landmarks prune.
+     * @return The amount of nodes settled by all point-to-point queries.
+     */
+    public long getSettledNodeCount() {
+        return settledNodes.sum();
+    }
+
+    private SearchState getSearchState(CompiledRegion graph) {
+        @Nullable SearchState state = states.get();
+        if (state == null || state.graph != graph) {
+            state = new SearchState(graph);
+            states.set(state);
+        }
+        state.reset();
+        return state;
+    }
+
+    @Override
+    public void prepare(Region region) {
+        getLandmarks(region);
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * The copy shares the {@link Landmarks} selected so far, but counts its queries and settled nodes separately.
+     */
+    @Override
+    public AltPathCalculator copy() {
+        AltPathCalculator copy = new AltPathCalculator(landmarkCount);
+        copy.landmarks = landmarks;
+        return copy;
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        Landmarks current = getLandmarks(end.getRegion());
+        CompiledRegion graph = current.getGraph();
+        int goal = graph.getId(end);
+        SearchState state = search(current, graph.getId(start), goal);
+        if (!state.isReached(goal)) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return state.getPath(goal);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        Landmarks current = getLandmarks(end.getRegion());
+        CompiledRegion graph = current.getGraph();
+        int goal = graph.getId(end);
+        return search(current, graph.getId(start), goal).getDuration(goal);
+    }
+
+    /**
+     * Searches the shortest path from source to goal. The search stops as soon as the goal is settled.
+     * @return The {@link SearchState} of the search, the goal is only reached if there is a path.
+     */
+    private SearchState search(Landmarks landmarks, int source, int goal) {
+        CompiledRegion graph = landmarks.getGraph();
+        SearchState state = getSearchState(graph);
+        state.update(source, 0, -1);
+        state.queue.insertOrDecrease(source, 0);
+
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        long[] arcDurations = graph.durations;
+        int settled = 0;
+        while (!state.queue.isEmpty()) {
+            int u = state.queue.poll();
+            settled++;
+            if (u == goal) {
+                break;
+            }
+            long duration = state.getDuration(u);
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int v = targets[arc];
+                long weight = duration + arcDurations[arc];
+                if (weight < state.getDuration(v)) {
+                    state.update(v, weight, u);
+                    state.queue.insertOrDecrease(v, weight + landmarks.estimate(v, goal));
+                }
+            }
+        }
+        queries.increment();
+        settledNodes.add(settled);
+        return state;
+    }
+}
@@ -0,0 +1,105 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Deque;
+
+/**
+ * A {@link PathCalculator} that answers point-to-point queries using a bidirectional Dijkstra on a
+ * {@link CompiledRegion}.<p>
+ *
+ * One search starts at the start node, the other one at the end node. The searches alternate and stop as soon as the
+ * sum of their smallest tentative durations is not smaller than the shortest path found so far, so that nodes further
+ * away than about half of the path duration from both ends are never settled. Queries for all paths to a single node
+ * are answered by a single search like the {@link CompiledDijkstraPathCalculator}.
+ */
+public class BidirectionalDijkstraPathCalculator extends CompiledDijkstraPathCalculator {
+
+    private final ThreadLocal<SearchState[]> states = new ThreadLocal<>();
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompiledRegion graph = compile(end.getRegion());
+        SearchState[] searchStates = getSearchStates(graph);
+        SearchState forward = searchStates[0];
+        SearchState backward = searchStates[1];
+        int meeting = search(graph, graph.getId(start), graph.getId(end), forward, backward);
+        if (meeting < 0) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+
+        int backwardLength = 0;
+        for (int node = backward.getParent(meeting); node >= 0; node = backward.getParent(node)) {
+            backwardLength++;
+        }
+        Region.Node[] path = forward.getPathNodes(meeting, backwardLength);
+        int index = path.length - backwardLength;
+        for (int node = backward.getParent(meeting); node >= 0; node = backward.getParent(node)) {
+            path[index++] = graph.getNode(node);
+        }
+        return ImmutablePath.of(path);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        CompiledRegion graph = compile(end.getRegion());
+        SearchState[] searchStates = getSearchStates(graph);
+        int meeting = search(graph, graph.getId(start), graph.getId(end), searchStates[0], searchStates[1]);
+        return meeting < 0 ? ShortestPathTree.UNREACHABLE : searchStates[0].getDuration(meeting) + searchStates[1].getDuration(meeting);
+    }
+
+    /**
+     * Runs both searches until the shortest path between start and end is known.
+     * @return The id of a node on the shortest path or {@code -1} if there is no path.
+     */
+    private static int search(CompiledRegion graph, int start, int end, SearchState forward, SearchState backward) {
+        forward.update(start, 0, -1);
+        forward.queue.insertOrDecrease(start, 0);
+        backward.update(end, 0, -1);
+        backward.queue.insertOrDecrease(end, 0);
+        if (start == end) {
+            return start;
+        }
+
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        long[] arcDurations = graph.durations;
+        long best = ShortestPathTree.UNREACHABLE;
+        int meeting = -1;
+        while (!forward.queue.isEmpty() && !backward.queue.isEmpty()
+            && forward.queue.peekKey() + backward.queue.peekKey() < best) {
+            // expand the smaller frontier, which keeps both searches balanced
+            boolean useForward = forward.queue.peekKey() <= backward.queue.peekKey();
+            SearchState current = useForward ? forward : backward;
+            SearchState other = useForward ? backward : forward;
+
+            int u = current.queue.poll();
+            long duration = current.getDuration(u);
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int v = targets[arc];
+                long weight = duration + arcDurations[arc];
+                if (weight < current.getDuration(v)) {
+                    current.update(v, weight, u);
+                    current.queue.insertOrDecrease(v, weight);
+                    long otherDuration = other.getDuration(v);
+                    if (otherDuration != ShortestPathTree.UNREACHABLE && weight + otherDuration < best) {
+                        best = weight + otherDuration;
+                        meeting = v;
+                    }
+                }
+            }
+        }
+        return meeting;
+    }
+
+    private SearchState[] getSearchStates(CompiledRegion graph) {
+        @Nullable SearchState[] searchStates = states.get();
+        if (searchStates == null || searchStates[0].graph != graph) {
+            searchStates = new SearchState[]{new SearchState(graph), new SearchState(graph)};
+            states.set(searchStates);
+        }
+        searchStates[0].reset();
+        searchStates[1].reset();
+        return searchStates;
+    }
+}
@@ -3,31 +3,54 @@ package projekt.delivery.routing;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongBiFunction;
 import java.util.stream.Collectors;
 
 /**
- * A {@link PathCalculator} that is based on another {@link PathCalculator} and caches its result for later use.
+ * A {@link PathCalculator} that is based on another {@link PathCalculator} and caches its result for later use.<p>
+ *
+ * The cache holds the paths to the least recently used end nodes. It may be used by several threads at once.
  */
 public class CachedPathCalculator implements PathCalculator {
 
     private final PathCalculator delegate;
-    private final Map<Region.Node, Map<Region.Node, Deque<Region.Node>>> cache = new HashMap<>();
+    private final Map<Region.Node, CacheEntry> cache;
     private final int size;
-    private final Set<Region.Node> accessOrder;
+    private final Mode mode;
+    private final Lock lock = new ReentrantLock();
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long memory;
 
     /**
      * Creates a new {@link CachedPathCalculator}.
      * @param delegate The {@link PathCalculator} this {@link CachedPathCalculator} uses to calculate the paths.
      * @param size The size of the cache.
+     * @param mode The {@link Mode} used to hand out cached paths.
      */
-    public CachedPathCalculator(PathCalculator delegate, int size) {
+    public CachedPathCalculator(PathCalculator delegate, int size, Mode mode) {
         this.delegate = delegate;
         this.size = size;
-        this.accessOrder = new LinkedHashSet<>(size);
+        this.mode = mode;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Creates a new {@link CachedPathCalculator} that hands out copies of the cached paths.
+     * @param delegate The {@link PathCalculator} this {@link CachedPathCalculator} uses to calculate the paths.
+     * @param size The size of the cache.
+     */
+    public CachedPathCalculator(PathCalculator delegate, int size) {
+        this(delegate, size, Mode.COPYING);
     }
 
     /**
-     * Creates a new {@link CachedPathCalculator}.<p>
+     * Creates a new {@link CachedPathCalculator} that hands out copies of the cached paths.<p>
      * The size of the cache will be set to 1024
      * @param delegate The {@link PathCalculator} this {@link CachedPathCalculator} uses to calculate the paths.
      */
@@ -37,35 +60,149 @@ public class CachedPathCalculator implements PathCalculator {
 
     @Override
     public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
-        return getAllPathsTo(end).get(start);
+        @Nullable Deque<Region.Node> path = getCachedPaths(end).get(start);
+        return mode == Mode.SHARED || path == null ? path : new LinkedList<>(path);
+    }
+
+    @Override
+    public @Nullable Region.Node getNextHop(Region.Node start, Region.Node end) {
+        @Nullable Deque<Region.Node> path = getCachedPaths(end).get(start);
+        if (path == null) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return path.peekFirst();
     }
 
     public PathCalculator getDelegate() {
         return delegate;
     }
 
+    /**
+     * Returns the {@link Mode} used to hand out cached paths.
+     * @return The {@link Mode} used to hand out cached paths.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
     @Override
     public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
-        @Nullable Map<Region.Node, Deque<Region.Node>> path = cache.get(end);
-        if (path != null) {
-            return copyPath(path);
+        Map<Region.Node, Deque<Region.Node>> paths = getCachedPaths(end);
+        return mode == Mode.SHARED ? paths : copyPath(paths);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        return getCachedDurations(end).getDuration(start);
+    }
+
+    @Override
+    public NodeDurations getDurationsTo(Region.Node end) {
+        return getCachedDurations(end);
+    }
+
+    @Override
+    public long getDuration(Region.Edge edge) {
+        return delegate.getDuration(edge);
+    }
+
+    private Map<Region.Node, Deque<Region.Node>> getCachedPaths(Region.Node end) {
+        return getCached(end, CacheEntry::getPaths, () -> toCachedPaths(delegate.getAllPathsTo(end)), CacheEntry::setPaths);
+    }
+
+    private NodeDurations getCachedDurations(Region.Node end) {
+        return getCached(end, CacheEntry::getDurations, () -> delegate.getDurationsTo(end), CacheEntry::setDurations);
+    }
+
+    /**
+     * Returns a cached value of the given end node, calculating and caching it if necessary.
+     * @param end The end node the value belongs to.
+     * @param getter Returns the value from an entry, {@code null} if it is not cached yet.
+     * @param calculator Calculates the value.
+     * @param setter Stores the value in an entry and returns the memory used by it.
+     * @return The cached value.
+     */
+    private <T> T getCached(Region.Node end, Function<CacheEntry, @Nullable T> getter, Supplier<T> calculator,
+                            ToLongBiFunction<CacheEntry, T> setter) {
+        lock.lock();
+        try {
+            @Nullable CacheEntry entry = cache.get(end);
+            @Nullable T value = entry == null ? null : getter.apply(entry);
+            if (value != null) {
+                hits++;
+                return value;
+            }
+            misses++;
+        } finally {
+            lock.unlock();
         }
 
-        path = delegate.getAllPathsTo(end);
+        // calculate outside the lock, so that other threads can use the cache in the meantime
+        T value = calculator.get();
 
-        // Limit cache size
-        if (accessOrder.size() >= size) {
-            Iterator<Region.Node> iterator = accessOrder.iterator();
-            cache.remove(iterator.next());
-            iterator.remove();
+        lock.lock();
+        try {
+            CacheEntry entry = cache.computeIfAbsent(end, ignored -> new CacheEntry());
+            @Nullable T previous = getter.apply(entry);
+            if (previous != null) {
+                // another thread calculated the same value in the meantime
+                return previous;
+            }
+            long entryMemory = setter.applyAsLong(entry, value);
+            entry.memory += entryMemory;
+            memory += entryMemory;
+
+            // Limit cache size
+            Iterator<CacheEntry> iterator = cache.values().iterator();
+            while (cache.size() > size) {
+                memory -= iterator.next().memory;
+                iterator.remove();
+                evictions++;
+            }
+        } finally {
+            lock.unlock();
         }
+        return value;
+    }
 
-        // Update access order if the element already exists
-        accessOrder.remove(end);
-        accessOrder.add(end);
-        cache.put(end, path);
+    private Map<Region.Node, Deque<Region.Node>> toCachedPaths(Map<Region.Node, Deque<Region.Node>> paths) {
+        if (mode == Mode.COPYING) {
+            return paths;
+        }
+        Map<Region.Node, Deque<Region.Node>> immutablePaths = new HashMap<>(paths.size() * 2);
+        for (Map.Entry<Region.Node, Deque<Region.Node>> entry : paths.entrySet()) {
+            immutablePaths.put(entry.getKey(), ImmutablePath.copyOf(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(immutablePaths);
+    }
+
+    /**
+     * Returns the current statistics of this cache.
+     * @return The current {@link Stats} of this cache.
+     */
+    public Stats getStats() {
+        lock.lock();
+        try {
+            return new Stats(hits, misses, evictions, cache.size(), memory);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void prepare(Region region) {
+        delegate.prepare(region);
+    }
 
-        return copyPath(path);
+    /**
+     * {@inheritDoc}<p>
+     *
+     * The copy has the same size and {@link Mode}, an empty cache and its own statistics. It uses a copy of the
+     * delegate.
+     */
+    @Override
+    public CachedPathCalculator copy() {
+        return new CachedPathCalculator(delegate.copy(), size, mode);
     }
 
     private Map<Region.Node, Deque<Region.Node>> copyPath(Map<Region.Node, Deque<Region.Node>> path) {
@@ -74,4 +211,72 @@ public class CachedPathCalculator implements PathCalculator {
             .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
+    /**
+     * The ways a {@link CachedPathCalculator} can hand out cached paths.
+     */
+    public enum Mode {
+
+        /**
+         * Every returned path is a new, mutable copy of the cached path.
+         */
+        COPYING,
+
+        /**
+         * The cached paths are returned directly as immutable {@link Deque}s and {@link Map}s, which can be shared by
+         * all users of the cache. Modifying them throws an {@link UnsupportedOperationException}.
+         */
+        SHARED
+    }
+
+    /**
+     * The statistics of a {@link CachedPathCalculator}.
+     * @param hits The amount of requests answered from the cache.
+     * @param misses The amount of requests passed to the delegate.
+     * @param evictions The amount of entries removed from the cache because it was full.
+     * @param entries The amount of end nodes currently cached.
+     * @param memory An estimate of the memory used by the cached paths in bytes.
+     */
+    public record Stats(long hits, long misses, long evictions, int entries, long memory) {
+
+        /**
+         * Returns the fraction of requests answered from the cache.
+         * @return The fraction of requests answered from the cache or {@code 0} if there were no requests.
+         */
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    /**
+     * The cached paths and durations to a single end node. Both are calculated on demand.
+     */
+    private static final class CacheEntry {
+
+        private @Nullable Map<Region.Node, Deque<Region.Node>> paths;
+        private @Nullable NodeDurations durations;
+        private long memory;
+
+        private @Nullable Map<Region.Node, Deque<Region.Node>> getPaths() {
+            return paths;
+        }
+
+        private long setPaths(Map<Region.Node, Deque<Region.Node>> paths) {
+            this.paths = paths;
+            long memory = 0;
+            for (Deque<Region.Node> path : paths.values()) {
+                memory += path instanceof ImmutablePath immutablePath ? immutablePath.estimateMemory() : 48L + 24L * path.size();
+            }
+            return memory;
+        }
+
+        private @Nullable NodeDurations getDurations() {
+            return durations;
+        }
+
+        private long setDurations(NodeDurations durations) {
+            this.durations = durations;
+            return 8L * durations.size();
+        }
+    }
 }
@@ -0,0 +1,174 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link PathCalculator} that calculates shortest paths using Dijkstra on a {@link CompiledRegion}.<p>
+ *
+ * In contrast to the {@link DijkstraPathCalculator} a search does not allocate any objects per node: distances and
+ * predecessors are stored in primitive arrays and the queue is an {@link IndexedMinHeap}. The region is compiled on
+ * the first query and reused as long as queries target the same {@link Region}.<p>
+ *
+ * By default the calculated {@link ShortestPathTree}s are cached in the {@link ShortestPathTreePool#getShared() shared}
+ * {@link ShortestPathTreePool}, so that calculators on structurally identical regions reuse each other's trees.
+ */
+public class CompiledDijkstraPathCalculator implements PathCalculator {
+
+    private final @Nullable ShortestPathTreePool pool;
+    private volatile @Nullable CompiledRegion graph;
+
+    /**
+     * Creates a new {@link CompiledDijkstraPathCalculator} using the shared {@link ShortestPathTreePool}.
+     */
+    public CompiledDijkstraPathCalculator() {
+        this(ShortestPathTreePool.getShared());
+    }
+
+    /**
+     * Creates a new {@link CompiledDijkstraPathCalculator}.
+     * @param pool The {@link ShortestPathTreePool} to cache the calculated trees in or {@code null} to calculate
+     *             every tree anew.
+     */
+    public CompiledDijkstraPathCalculator(@Nullable ShortestPathTreePool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the {@link ShortestPathTreePool} the calculated trees are cached in.
+     * @return The {@link ShortestPathTreePool} of this calculator or {@code null} if trees are not cached.
+     */
+    public @Nullable ShortestPathTreePool getPool() {
+        return pool;
+    }
+
+    /**
+     * Returns the {@link CompiledRegion} of the given {@link Region}, compiling it if necessary.
+     * @param region The {@link Region} to return the {@link CompiledRegion} of.
+     * @return The {@link CompiledRegion} of the given {@link Region}.
+     */
+    protected CompiledRegion compile(Region region) {
+        @Nullable CompiledRegion current = graph;
+        if (current == null || current.getRegion() != region) {
+            current = CompiledRegion.of(region);
+            graph = current;
+        }
+        return current;
+    }
+
+    /**
+     * Executes Dijkstra's algorithm on the given {@link CompiledRegion} starting at the node with the given id.
+     * @param graph The {@link CompiledRegion} to search.
+     * @param root The id of the starting node.
+     * @return The {@link ShortestPathTree} rooted at the starting node.
+     */
+    static ShortestPathTree execute(CompiledRegion graph, int root) {
+        int size = graph.getNodeCount();
+        long[] durations = new long[size];
+        int[] next = new int[size];
+        Arrays.fill(durations, ShortestPathTree.UNREACHABLE);
+        Arrays.fill(next, -1);
+
+        IndexedMinHeap queue = new IndexedMinHeap(size);
+        durations[root] = 0;
+        queue.insertOrDecrease(root, 0);
+
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        long[] arcDurations = graph.durations;
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            long duration = durations[u];
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int v = targets[arc];
+                long weight = duration + arcDurations[arc];
+                // strict comparison keeps the first predecessor found, settled nodes can never be improved
+                if (weight < durations[v]) {
+                    durations[v] = weight;
+                    next[v] = u;
+                    queue.insertOrDecrease(v, weight);
+                }
+            }
+        }
+
+        return new ShortestPathTree(graph, root, durations, next);
+    }
+
+    /**
+     * Returns the {@link ShortestPathTree} rooted at the node with the given id, taking it from the
+     * {@link ShortestPathTreePool} of this calculator if there is one.
+     */
+    private ShortestPathTree getTree(CompiledRegion graph, int root) {
+        return pool == null ? execute(graph, root) : pool.getTree(graph, root);
+    }
+
+    /**
+     * Calculates the {@link ShortestPathTree} rooted at the given {@link Region.Node}.
+     * @param root The root of the tree.
+     * @return The {@link ShortestPathTree} rooted at the given {@link Region.Node}.
+     */
+    public ShortestPathTree getShortestPathTree(Region.Node root) {
+        CompiledRegion graph = compile(root.getRegion());
+        return getTree(graph, graph.getId(root));
+    }
+
+    @Override
+    public void prepare(Region region) {
+        compile(region);
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        return getShortestPathTree(end).getPath(start);
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return getShortestPathTree(end).getAllPaths();
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        return getShortestPathTree(end).getDuration(start);
+    }
+
+    @Override
+    public NodeDurations getDurationsTo(Region.Node end) {
+        return getShortestPathTree(end).getDurations();
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * Since edges are undirected, a single search from every source or from every target is enough, whichever of
+     * them are fewer. The searches run in parallel.
+     */
+    @Override
+    public DurationMatrix getDurationMatrix(Collection<? extends Region.Node> sources, Collection<? extends Region.Node> targets) {
+        DurationMatrix matrix = new DurationMatrix(sources, targets);
+        if (matrix.getSources().isEmpty() || matrix.getTargets().isEmpty()) {
+            return matrix;
+        }
+        CompiledRegion graph = compile(matrix.getSources().get(0).getRegion());
+        boolean fromSources = matrix.getSources().size() <= matrix.getTargets().size();
+        int[] roots = (fromSources ? matrix.getSources() : matrix.getTargets()).stream().mapToInt(graph::getId).toArray();
+        int[] others = (fromSources ? matrix.getTargets() : matrix.getSources()).stream().mapToInt(graph::getId).toArray();
+
+        IntStream.range(0, roots.length).parallel().forEach(root -> {
+            long[] durations = getTree(graph, roots[root]).durations;
+            for (int other = 0; other < others.length; other++) {
+                if (fromSources) {
+                    matrix.setDuration(root, other, durations[others[other]]);
+                } else {
+                    matrix.setDuration(other, root, durations[others[other]]);
+                }
+            }
+        });
+        return matrix;
+    }
+}
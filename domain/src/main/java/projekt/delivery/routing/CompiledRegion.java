@@ -0,0 +1,230 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, int-indexed view of a {@link Region} in compressed sparse row (CSR) format.<p>
+ *
+ * Every {@link Region.Node} is assigned a dense id in {@code [0, getNodeCount())} following the natural order of the
+ * nodes. The arcs leaving the node with id {@code i} are stored at the indices {@code [offsets[i], offsets[i + 1])} of
+ * {@code targets}, {@code durations} and {@code edges}, sorted by the id of their target. Every undirected
+ * {@link Region.Edge} results in two arcs, a self loop results in a single arc.<p>
+ *
+ * The arrays are shared with the algorithms of this package and must never be modified, except for the arc durations
+ * of an instance owned by a {@link DynamicPathCalculator}.
+ */
+public final class CompiledRegion {
+
+    private final Region region;
+    private final Region.Node[] nodes;
+    private final Map<Location, Integer> ids;
+
+    /**
+     * The index of the first arc of every node. Contains {@code getNodeCount() + 1} entries.
+     */
+    final int[] offsets;
+    /**
+     * The id of the target node of every arc.
+     */
+    final int[] targets;
+    /**
+     * The duration of every arc.
+     */
+    final long[] durations;
+    /**
+     * The {@link Region.Edge} every arc belongs to.
+     */
+    final Region.Edge[] edges;
+
+    private CompiledRegion(Region region) {
+        this.region = region;
+        this.nodes = region.getNodes().stream().sorted().toArray(Region.Node[]::new);
+        this.ids = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            ids.put(nodes[i].getLocation(), i);
+        }
+
+        List<int[]> arcs = new ArrayList<>(region.getEdges().size() * 2);
+        List<Region.Edge> arcEdges = new ArrayList<>(region.getEdges().size() * 2);
+        for (Region.Edge edge : region.getEdges()) {
+            int a = getId(edge.getNodeA());
+            int b = getId(edge.getNodeB());
+            arcs.add(new int[]{a, b});
+            arcEdges.add(edge);
+            if (a != b) {
+                arcs.add(new int[]{b, a});
+                arcEdges.add(edge);
+            }
+        }
+
+        // sort arcs by source and target so that every search over this region is deterministic
+        Integer[] order = new Integer[arcs.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (x, y) -> {
+            int[] arcX = arcs.get(x);
+            int[] arcY = arcs.get(y);
+            return arcX[0] != arcY[0] ? Integer.compare(arcX[0], arcY[0]) : Integer.compare(arcX[1], arcY[1]);
+        });
+
+        offsets = new int[nodes.length + 1];
+        targets = new int[order.length];
+        durations = new long[order.length];
+        edges = new Region.Edge[order.length];
+        for (int i = 0; i < order.length; i++) {
+            int[] arc = arcs.get(order[i]);
+            offsets[arc[0] + 1]++;
+            targets[i] = arc[1];
+            edges[i] = arcEdges.get(order[i]);
+            durations[i] = edges[i].getDuration();
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+    }
+
+    /**
+     * Compiles the given {@link Region} into a new {@link CompiledRegion}.
+     * @param region The {@link Region} to compile.
+     * @return The compiled {@link Region}.
+     */
+    public static CompiledRegion of(Region region) {
+        return new CompiledRegion(region);
+    }
+
+    /**
+     * Returns the compiled {@link Region}.
+     * @return The compiled {@link Region}.
+     */
+    public Region getRegion() {
+        return region;
+    }
+
+    /**
+     * Returns the amount of {@link Region.Node}s in the compiled {@link Region}.
+     * @return The amount of {@link Region.Node}s in the compiled {@link Region}.
+     */
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the amount of directed arcs in this {@link CompiledRegion}.
+     * @return The amount of directed arcs in this {@link CompiledRegion}.
+     */
+    public int getArcCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the {@link Region.Node} with the given id.
+     * @param id The id of the {@link Region.Node}.
+     * @return The {@link Region.Node} with the given id.
+     */
+    public Region.Node getNode(int id) {
+        return nodes[id];
+    }
+
+    /**
+     * Returns all {@link Region.Node}s ordered by their id. The returned array must never be modified.
+     * @return All {@link Region.Node}s ordered by their id.
+     */
+    Region.Node[] nodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the id of the given {@link Region.Node}.
+     * @param node The {@link Region.Node} to return the id of.
+     * @return The id of the given {@link Region.Node}.
+     * @throws IllegalArgumentException If the given {@link Region.Node} is not part of the compiled {@link Region}.
+     */
+    public int getId(Region.Node node) {
+        final @Nullable Integer id = ids.get(node.getLocation());
+        if (id == null) {
+            throw new IllegalArgumentException("Node %s is not part of the compiled region".formatted(node));
+        }
+        return id;
+    }
+
+    /**
+     * Returns the index of the first arc leaving the node with the given id.
+     * @param id The id of the node.
+     * @return The index of the first arc leaving the node.
+     */
+    public int getFirstArc(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * Returns the index after the last arc leaving the node with the given id.
+     * @param id The id of the node.
+     * @return The index after the last arc leaving the node.
+     */
+    public int getLastArc(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * Returns the id of the target node of the given arc.
+     * @param arc The index of the arc.
+     * @return The id of the target node of the given arc.
+     */
+    public int getTarget(int arc) {
+        return targets[arc];
+    }
+
+    /**
+     * Returns the duration of the given arc.
+     * @param arc The index of the arc.
+     * @return The duration of the given arc.
+     */
+    public long getDuration(int arc) {
+        return durations[arc];
+    }
+
+    /**
+     * Returns the {@link Region.Edge} the given arc belongs to.
+     * @param arc The index of the arc.
+     * @return The {@link Region.Edge} the given arc belongs to.
+     */
+    public Region.Edge getEdge(int arc) {
+        return edges[arc];
+    }
+
+    /**
+     * Returns the index of the arc connecting the two given nodes.
+     * @param from The id of the source node.
+     * @param to The id of the target node.
+     * @return The index of the arc or {@code -1} if the nodes are not directly connected.
+     */
+    public int getArc(int from, int to) {
+        int low = offsets[from];
+        int high = offsets[from + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (targets[mid] < to) {
+                low = mid + 1;
+            } else if (targets[mid] > to) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns an estimate of the amount of memory used by the arrays of this {@link CompiledRegion} in bytes.
+     * @return An estimate of the memory used by this {@link CompiledRegion} in bytes.
+     */
+    public long estimateMemory() {
+        return 4L * offsets.length + 12L * targets.length + 8L * edges.length + 40L * nodes.length;
+    }
+}
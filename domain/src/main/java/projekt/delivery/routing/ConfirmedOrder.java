@@ -5,9 +5,15 @@ import projekt.base.TickInterval;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * A class representing an order that contains a {@link List} of foods, was placed at an {@link VehicleManager.OccupiedRestaurant} and should be delivered to a {@link Location} during a given {@link TickInterval}.
+ * A class representing an order that contains a {@link List} of foods, was placed at an {@link VehicleManager.OccupiedRestaurant} and should be delivered to a {@link Location} during a given {@link TickInterval}.<p>
+ *
+ * The IDs of the orders of a simulation are usually allocated by its {@link projekt.delivery.generator.OrderGenerator}
+ * and start at 0 in every simulation. Orders that are created without an ID receive an ID from a counter shared by
+ * the whole JVM instead. Since the IDs from different sources may collide, they are not guaranteed to be unique among
+ * the orders of a simulation and must not be used to tell orders apart.
  */
 public class ConfirmedOrder implements Serializable {
     private final Location location;
@@ -18,10 +24,10 @@ public class ConfirmedOrder implements Serializable {
     private final VehicleManager.OccupiedRestaurant restaurant;
     private long actualDeliveryTick;
 
-    private static int nextOrderID;
+    private static final AtomicInteger nextOrderID = new AtomicInteger();
 
     /**
-     * Creates a new {@link ConfirmedOrder} instance.
+     * Creates a new {@link ConfirmedOrder} instance with an ID from the counter shared by the whole JVM.
      * @param location The {@link Location} to deliver the {@link ConfirmedOrder} to.
      * @param restaurant The {@link VehicleManager.OccupiedRestaurant} the {@link ConfirmedOrder} was placed at.
      * @param deliveryInterval The {@link TickInterval} in which the {@link ConfirmedOrder} should be delivered.
@@ -29,6 +35,23 @@ public class ConfirmedOrder implements Serializable {
      * @param weight The weight of the {@link ConfirmedOrder}.
      */
     public ConfirmedOrder(Location location, VehicleManager.OccupiedRestaurant restaurant, TickInterval deliveryInterval, List<String> foodList, double weight) {
+        this(nextOrderID.getAndIncrement(), location, restaurant, deliveryInterval, foodList, weight);
+    }
+
+    /**
+     * Creates a new {@link ConfirmedOrder} instance with the given ID.
+     * @param orderID The ID of the {@link ConfirmedOrder}, which does not need to be unique.
+     * @param location The {@link Location} to deliver the {@link ConfirmedOrder} to.
+     * @param restaurant The {@link VehicleManager.OccupiedRestaurant} the {@link ConfirmedOrder} was placed at.
+     * @param deliveryInterval The {@link TickInterval} in which the {@link ConfirmedOrder} should be delivered.
+     * @param foodList A {@link List} containing the ordered food.
+     * @param weight The weight of the {@link ConfirmedOrder}.
+     */
+    public ConfirmedOrder(int orderID, Location location, VehicleManager.OccupiedRestaurant restaurant, TickInterval deliveryInterval, List<String> foodList, double weight) {
+
+        if (orderID < 0) {
+            throw new IllegalArgumentException("negative order ID: %d".formatted(orderID));
+        }
 
         String invalidFood = foodList.stream().filter(food -> !restaurant.getComponent().getAvailableFood().contains(food)).findFirst().orElse(null);
 
@@ -41,7 +64,7 @@ public class ConfirmedOrder implements Serializable {
         this.deliveryInterval = deliveryInterval;
         this.foodList = foodList;
         this.weight = weight;
-        orderID = nextOrderID++;
+        this.orderID = orderID;
     }
 
     /**
@@ -0,0 +1,95 @@
+package projekt.delivery.routing;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link ForwardPath} backed by the array of an {@link ImmutablePath}.<p>
+ *
+ * The array is shared with the {@link ImmutablePath} and every other {@link ConsumablePath} of it and is never
+ * modified. Consuming a node only advances a cursor, so that handing a shared path to a {@link Vehicle} does not copy
+ * it.
+ */
+final class ConsumablePath extends ForwardPath {
+
+    private final Region.Node[] nodes;
+    private int cursor;
+
+    /**
+     * Creates a new {@link ConsumablePath} starting at the first of the given nodes. The array is not copied.
+     * @param nodes The nodes of the path.
+     */
+    ConsumablePath(Region.Node[] nodes) {
+        this.nodes = nodes;
+    }
+
+    @Override
+    public int size() {
+        return nodes.length - cursor;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return cursor == nodes.length;
+    }
+
+    @Override
+    public Iterator<Region.Node> iterator() {
+        return new Iterator<>() {
+            private int index = cursor;
+
+            @Override
+            public boolean hasNext() {
+                return index < nodes.length;
+            }
+
+            @Override
+            public Region.Node next() {
+                if (index >= nodes.length) {
+                    throw new NoSuchElementException();
+                }
+                return nodes[index++];
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Region.Node> descendingIterator() {
+        return new Iterator<>() {
+            private int index = nodes.length - 1;
+
+            @Override
+            public boolean hasNext() {
+                return index >= cursor;
+            }
+
+            @Override
+            public Region.Node next() {
+                if (index < cursor) {
+                    throw new NoSuchElementException();
+                }
+                return nodes[index--];
+            }
+        };
+    }
+
+    @Override
+    public Region.Node peekFirst() {
+        return isEmpty() ? null : nodes[cursor];
+    }
+
+    @Override
+    public Region.Node peekLast() {
+        return isEmpty() ? null : nodes[nodes.length - 1];
+    }
+
+    @Override
+    public Region.Node pollFirst() {
+        return isEmpty() ? null : nodes[cursor++];
+    }
+
+    @Override
+    public void clear() {
+        cursor = nodes.length;
+    }
+}
@@ -0,0 +1,446 @@
+package projekt.delivery.routing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A contraction hierarchy of a {@link CompiledRegion}.<p>
+ *
+ * All nodes are contracted one after another in the order of their edge difference. Contracting a node removes it
+ * from the remaining graph and inserts a shortcut between two of its neighbours if no witness path between them is
+ * shorter than the path over the contracted node. The resulting upward graph contains every arc from a node to a
+ * neighbour contracted later, so that every shortest path can be found by two searches that only move upwards and
+ * meet at the highest node of the path.
+ */
+public final class ContractionHierarchy {
+
+    /**
+     * The maximum amount of nodes settled by a witness search while estimating the priority of a node.
+     */
+    private static final int SIMULATION_SETTLE_LIMIT = 32;
+    /**
+     * The maximum amount of nodes settled by a witness search while contracting a node. Stopping early only adds
+     * unnecessary shortcuts.
+     */
+    private static final int CONTRACTION_SETTLE_LIMIT = 256;
+
+    private final CompiledRegion graph;
+    /**
+     * The position of every node in the contraction order.
+     */
+    private final int[] ranks;
+    /**
+     * The index of the first upward arc of every node. Contains {@code getNodeCount() + 1} entries.
+     */
+    private final int[] offsets;
+    /**
+     * The id of the target node of every upward arc, sorted by id per node.
+     */
+    private final int[] targets;
+    /**
+     * The duration of every upward arc.
+     */
+    private final long[] durations;
+    /**
+     * The id of the contracted node an upward arc skips, {@code -1} if the arc belongs to an edge.
+     */
+    private final int[] middles;
+    private final int shortcuts;
+    private final long preprocessingTime;
+
+    private ContractionHierarchy(CompiledRegion graph) {
+        long startTime = System.nanoTime();
+        int size = graph.getNodeCount();
+        this.graph = graph;
+        this.ranks = new int[size];
+
+        RemainingGraph remaining = new RemainingGraph(graph);
+        SearchState witness = new SearchState(graph);
+        int[] contractedNeighbours = new int[size];
+        int[] levels = new int[size];
+        IndexedMinHeap queue = new IndexedMinHeap(size);
+        for (int id = 0; id < size; id++) {
+            queue.insertOrDecrease(id, getPriority(remaining, witness, contractedNeighbours, levels, id));
+        }
+
+        int arcCount = 0;
+        int[][] upwardTargets = new int[size][];
+        long[][] upwardDurations = new long[size][];
+        int[][] upwardMiddles = new int[size][];
+        int shortcutCount = 0;
+        int rank = 0;
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            ranks[node] = rank++;
+
+            // every remaining neighbour is contracted later, so the remaining arcs are the upward arcs of the node
+            int degree = remaining.degrees[node];
+            upwardTargets[node] = Arrays.copyOf(remaining.targets[node], degree);
+            upwardDurations[node] = Arrays.copyOf(remaining.durations[node], degree);
+            upwardMiddles[node] = Arrays.copyOf(remaining.middles[node], degree);
+            arcCount += degree;
+
+            List<Shortcut> shortcuts = new ArrayList<>();
+            findShortcuts(remaining, witness, node, CONTRACTION_SETTLE_LIMIT, shortcuts);
+            for (Shortcut shortcut : shortcuts) {
+                if (remaining.add(shortcut.from, shortcut.to, shortcut.duration, node)) {
+                    remaining.add(shortcut.to, shortcut.from, shortcut.duration, node);
+                    shortcutCount++;
+                }
+            }
+            for (int i = 0; i < degree; i++) {
+                int neighbour = upwardTargets[node][i];
+                remaining.remove(neighbour, node);
+                contractedNeighbours[neighbour]++;
+                levels[neighbour] = Math.max(levels[neighbour], levels[node] + 1);
+            }
+            remaining.degrees[node] = 0;
+            for (int i = 0; i < degree; i++) {
+                int neighbour = upwardTargets[node][i];
+                queue.update(neighbour, getPriority(remaining, witness, contractedNeighbours, levels, neighbour));
+            }
+        }
+
+        offsets = new int[size + 1];
+        targets = new int[arcCount];
+        durations = new long[arcCount];
+        middles = new int[arcCount];
+        for (int id = 0; id < size; id++) {
+            int offset = offsets[id];
+            Integer[] order = new Integer[upwardTargets[id].length];
+            Arrays.setAll(order, i -> i);
+            int[] nodeTargets = upwardTargets[id];
+            Arrays.sort(order, (x, y) -> Integer.compare(nodeTargets[x], nodeTargets[y]));
+            for (int i = 0; i < order.length; i++) {
+                targets[offset + i] = nodeTargets[order[i]];
+                durations[offset + i] = upwardDurations[id][order[i]];
+                middles[offset + i] = upwardMiddles[id][order[i]];
+            }
+            offsets[id + 1] = offset + order.length;
+        }
+
+        this.shortcuts = shortcutCount;
+        this.preprocessingTime = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Builds the {@link ContractionHierarchy} of the given {@link CompiledRegion}.
+     * @param graph The {@link CompiledRegion} to contract.
+     * @return The {@link ContractionHierarchy} of the given {@link CompiledRegion}.
+     */
+    public static ContractionHierarchy of(CompiledRegion graph) {
+        return new ContractionHierarchy(graph);
+    }
+
+    /**
+     * Returns the {@link CompiledRegion} this hierarchy belongs to.
+     * @return The {@link CompiledRegion} this hierarchy belongs to.
+     */
+    public CompiledRegion getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the amount of shortcuts inserted while building this hierarchy.
+     * @return The amount of inserted shortcuts.
+     */
+    public int getShortcutCount() {
+        return shortcuts;
+    }
+
+    /**
+     * Returns the time it took to build this hierarchy in nanoseconds.
+     * @return The time it took to build this hierarchy in nanoseconds.
+     */
+    public long getPreprocessingTime() {
+        return preprocessingTime;
+    }
+
+    /**
+     * Returns an estimate of the amount of memory used by this hierarchy in bytes, excluding the {@link CompiledRegion}.
+     * @return An estimate of the memory used by this hierarchy in bytes.
+     */
+    public long estimateMemory() {
+        return 4L * ranks.length + 4L * offsets.length + 16L * targets.length;
+    }
+
+    /**
+     * Calculates the shortest path between the two nodes with the given ids.
+     * @param start The id of the start node.
+     * @param end The id of the end node.
+     * @param forward The {@link SearchState} used for the search from the start.
+     * @param backward The {@link SearchState} used for the search from the end.
+     * @return A list of nodes (excluding start and including end) that represent the path from start to end.
+     * @throws IllegalArgumentException If there is no path from start to end.
+     */
+    Deque<Region.Node> getPath(int start, int end, SearchState forward, SearchState backward) {
+        if (start == end) {
+            return ImmutablePath.EMPTY;
+        }
+        int meeting = search(start, end, forward, backward);
+        if (meeting < 0) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(graph.getNode(start), graph.getNode(end)));
+        }
+
+        // the nodes of the path in the hierarchy, every pair of consecutive nodes may be a shortcut
+        List<Integer> hierarchyPath = new ArrayList<>();
+        for (int node = meeting; node >= 0; node = forward.getParent(node)) {
+            hierarchyPath.add(0, node);
+        }
+        for (int node = backward.getParent(meeting); node >= 0; node = backward.getParent(node)) {
+            hierarchyPath.add(node);
+        }
+
+        Deque<Region.Node> path = new ArrayDeque<>();
+        for (int i = 1; i < hierarchyPath.size(); i++) {
+            unpack(hierarchyPath.get(i - 1), hierarchyPath.get(i), path);
+        }
+        return ImmutablePath.copyOf(path);
+    }
+
+    /**
+     * Calculates the duration of the shortest path between the two nodes with the given ids without unpacking it.
+     * @param start The id of the start node.
+     * @param end The id of the end node.
+     * @param forward The {@link SearchState} used for the search from the start.
+     * @param backward The {@link SearchState} used for the search from the end.
+     * @return The duration of the shortest path or {@link ShortestPathTree#UNREACHABLE} if there is none.
+     */
+    long getDuration(int start, int end, SearchState forward, SearchState backward) {
+        if (start == end) {
+            return 0;
+        }
+        int meeting = search(start, end, forward, backward);
+        return meeting < 0 ? ShortestPathTree.UNREACHABLE : forward.getDuration(meeting) + backward.getDuration(meeting);
+    }
+
+    /**
+     * Runs the upward searches from both nodes until no shorter path can be found.
+     * @return The id of the highest node of the shortest path or {@code -1} if there is no path.
+     */
+    private int search(int start, int end, SearchState forward, SearchState backward) {
+        forward.reset();
+        backward.reset();
+        forward.update(start, 0, -1);
+        forward.queue.insertOrDecrease(start, 0);
+        backward.update(end, 0, -1);
+        backward.queue.insertOrDecrease(end, 0);
+
+        long best = ShortestPathTree.UNREACHABLE;
+        int meeting = -1;
+        boolean forwardTurn = true;
+        while (true) {
+            boolean forwardActive = !forward.queue.isEmpty() && forward.queue.peekKey() < best;
+            boolean backwardActive = !backward.queue.isEmpty() && backward.queue.peekKey() < best;
+            if (!forwardActive && !backwardActive) {
+                return meeting;
+            }
+            boolean useForward = forwardActive && (forwardTurn || !backwardActive);
+            forwardTurn = !forwardTurn;
+            SearchState current = useForward ? forward : backward;
+            SearchState other = useForward ? backward : forward;
+
+            int node = current.queue.poll();
+            long duration = current.getDuration(node);
+            long otherDuration = other.getDuration(node);
+            if (otherDuration != ShortestPathTree.UNREACHABLE && duration + otherDuration < best) {
+                best = duration + otherDuration;
+                meeting = node;
+            }
+            for (int arc = offsets[node]; arc < offsets[node + 1]; arc++) {
+                int target = targets[arc];
+                long weight = duration + durations[arc];
+                if (weight < current.getDuration(target)) {
+                    current.update(target, weight, node);
+                    current.queue.insertOrDecrease(target, weight);
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the nodes of the arc between the two given nodes, excluding {@code from}, to the given path.
+     */
+    private void unpack(int from, int to, Deque<Region.Node> path) {
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{from, to});
+        while (!stack.isEmpty()) {
+            int[] arc = stack.pop();
+            int middle = getMiddle(arc[0], arc[1]);
+            if (middle < 0) {
+                path.addLast(graph.getNode(arc[1]));
+            } else {
+                stack.push(new int[]{middle, arc[1]});
+                stack.push(new int[]{arc[0], middle});
+            }
+        }
+    }
+
+    private int getMiddle(int a, int b) {
+        int lower = ranks[a] < ranks[b] ? a : b;
+        int upper = lower == a ? b : a;
+        int low = offsets[lower];
+        int high = offsets[lower + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (targets[mid] < upper) {
+                low = mid + 1;
+            } else if (targets[mid] > upper) {
+                high = mid - 1;
+            } else {
+                return middles[mid];
+            }
+        }
+        throw new AssertionError("No arc between %d and %d in the hierarchy".formatted(a, b));
+    }
+
+    /**
+     * Returns the priority of the given node, nodes with a lower priority are contracted first. The priority prefers
+     * nodes whose contraction removes more arcs than it adds and spreads the contraction uniformly over the graph.
+     */
+    private static long getPriority(RemainingGraph remaining, SearchState witness, int[] contractedNeighbours, int[] levels,
+                                    int node) {
+        List<Shortcut> shortcuts = new ArrayList<>();
+        findShortcuts(remaining, witness, node, SIMULATION_SETTLE_LIMIT, shortcuts);
+        long edgeDifference = shortcuts.size() - remaining.degrees[node];
+        return 2 * edgeDifference + contractedNeighbours[node] + levels[node];
+    }
+
+    /**
+     * Adds the shortcuts needed if the given node is contracted to the given list. Every shortcut is added once.
+     */
+    private static void findShortcuts(RemainingGraph remaining, SearchState witness, int node, int settleLimit,
+                                      List<Shortcut> shortcuts) {
+        int degree = remaining.degrees[node];
+        int[] neighbours = remaining.targets[node];
+        long[] neighbourDurations = remaining.durations[node];
+        for (int i = 0; i < degree - 1; i++) {
+            long limit = 0;
+            for (int j = i + 1; j < degree; j++) {
+                limit = Math.max(limit, neighbourDurations[i] + neighbourDurations[j]);
+            }
+            searchWitnesses(remaining, witness, node, i, limit, settleLimit);
+            for (int j = i + 1; j < degree; j++) {
+                long duration = neighbourDurations[i] + neighbourDurations[j];
+                if (witness.getDuration(neighbours[j]) > duration) {
+                    shortcuts.add(new Shortcut(neighbours[i], neighbours[j], duration));
+                }
+            }
+        }
+    }
+
+    /**
+     * Searches witness paths from the neighbour with the given index of the contracted node to all of its neighbours
+     * with a higher index, avoiding the contracted node.
+     */
+    private static void searchWitnesses(RemainingGraph remaining, SearchState witness, int contracted, int source, long limit,
+                                        int settleLimit) {
+        int[] neighbours = remaining.targets[contracted];
+        int degree = remaining.degrees[contracted];
+        int pendingTargets = degree - source - 1;
+        witness.reset();
+        witness.update(neighbours[source], 0, -1);
+        witness.queue.insertOrDecrease(neighbours[source], 0);
+        int settled = 0;
+        while (!witness.queue.isEmpty() && settled++ < settleLimit && pendingTargets > 0) {
+            int node = witness.queue.poll();
+            long duration = witness.getDuration(node);
+            if (duration > limit) {
+                break;
+            }
+            for (int i = source + 1; i < degree; i++) {
+                if (neighbours[i] == node) {
+                    pendingTargets--;
+                    break;
+                }
+            }
+            int[] nodeTargets = remaining.targets[node];
+            long[] nodeDurations = remaining.durations[node];
+            for (int i = 0; i < remaining.degrees[node]; i++) {
+                int target = nodeTargets[i];
+                long weight = duration + nodeDurations[i];
+                if (target != contracted && weight < witness.getDuration(target)) {
+                    witness.update(target, weight, node);
+                    witness.queue.insertOrDecrease(target, weight);
+                }
+            }
+        }
+    }
+
+    /**
+     * The graph of the nodes that have not been contracted yet, stored as growable adjacency arrays.
+     */
+    private static final class RemainingGraph {
+
+        private final int[][] targets;
+        private final long[][] durations;
+        private final int[][] middles;
+        private final int[] degrees;
+
+        private RemainingGraph(CompiledRegion graph) {
+            int size = graph.getNodeCount();
+            targets = new int[size][];
+            durations = new long[size][];
+            middles = new int[size][];
+            degrees = new int[size];
+            for (int id = 0; id < size; id++) {
+                int capacity = Math.max(4, graph.getLastArc(id) - graph.getFirstArc(id));
+                targets[id] = new int[capacity];
+                durations[id] = new long[capacity];
+                middles[id] = new int[capacity];
+                for (int arc = graph.getFirstArc(id); arc < graph.getLastArc(id); arc++) {
+                    if (graph.getTarget(arc) != id) {
+                        add(id, graph.getTarget(arc), graph.getDuration(arc), -1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds an arc or shortens an existing one.
+         * @return {@code true} if the arc was added or shortened.
+         */
+        private boolean add(int from, int to, long duration, int middle) {
+            int[] nodeTargets = targets[from];
+            for (int i = 0; i < degrees[from]; i++) {
+                if (nodeTargets[i] == to) {
+                    if (durations[from][i] <= duration) {
+                        return false;
+                    }
+                    durations[from][i] = duration;
+                    middles[from][i] = middle;
+                    return true;
+                }
+            }
+            int degree = degrees[from]++;
+            if (degree == nodeTargets.length) {
+                targets[from] = Arrays.copyOf(nodeTargets, degree * 2);
+                durations[from] = Arrays.copyOf(durations[from], degree * 2);
+                middles[from] = Arrays.copyOf(middles[from], degree * 2);
+            }
+            targets[from][degree] = to;
+            durations[from][degree] = duration;
+            middles[from][degree] = middle;
+            return true;
+        }
+
+        private void remove(int from, int to) {
+            int[] nodeTargets = targets[from];
+            for (int i = 0; i < degrees[from]; i++) {
+                if (nodeTargets[i] == to) {
+                    int last = --degrees[from];
+                    nodeTargets[i] = nodeTargets[last];
+                    durations[from][i] = durations[from][last];
+                    middles[from][i] = middles[from][last];
+                    return;
+                }
+            }
+        }
+    }
+
+    private record Shortcut(int from, int to, long duration) {
+    }
+}
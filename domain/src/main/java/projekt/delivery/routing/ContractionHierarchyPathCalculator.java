@@ -0,0 +1,70 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Deque;
+
+/**
+ * A {@link PathCalculator} that answers point-to-point queries using a {@link ContractionHierarchy}.<p>
+ *
+ * The hierarchy is built once per {@link Region}, either when {@link #prepare(Region)} is called or on the first
+ * query. Afterwards every query consists of two small upward searches and the unpacking of the shortcuts on the found
+ * path. Queries for all paths to a single node are answered by Dijkstra's algorithm like the
+ * {@link CompiledDijkstraPathCalculator}, since a single search is already optimal for them.
+ */
+public class ContractionHierarchyPathCalculator extends CompiledDijkstraPathCalculator {
+
+    private final ThreadLocal<SearchState[]> states = new ThreadLocal<>();
+    private volatile @Nullable ContractionHierarchy hierarchy;
+
+    /**
+     * Returns the {@link ContractionHierarchy} of the given {@link Region}, building it if necessary.<p>
+     *
+     * The returned hierarchy reports the time and memory used by the preprocessing.
+     * @param region The {@link Region} to return the {@link ContractionHierarchy} of.
+     * @return The {@link ContractionHierarchy} of the given {@link Region}.
+     */
+    public ContractionHierarchy getHierarchy(Region region) {
+        @Nullable ContractionHierarchy current = hierarchy;
+        if (current == null || current.getGraph().getRegion() != region) {
+            synchronized (this) {
+                current = hierarchy;
+                if (current == null || current.getGraph().getRegion() != region) {
+                    current = ContractionHierarchy.of(compile(region));
+                    hierarchy = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public void prepare(Region region) {
+        getHierarchy(region);
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        ContractionHierarchy current = getHierarchy(end.getRegion());
+        CompiledRegion graph = current.getGraph();
+        SearchState[] searchStates = getSearchStates(graph);
+        return current.getPath(graph.getId(start), graph.getId(end), searchStates[0], searchStates[1]);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        ContractionHierarchy current = getHierarchy(end.getRegion());
+        CompiledRegion graph = current.getGraph();
+        SearchState[] searchStates = getSearchStates(graph);
+        return current.getDuration(graph.getId(start), graph.getId(end), searchStates[0], searchStates[1]);
+    }
+
+    private SearchState[] getSearchStates(CompiledRegion graph) {
+        @Nullable SearchState[] searchStates = states.get();
+        if (searchStates == null || searchStates[0].graph != graph) {
+            searchStates = new SearchState[]{new SearchState(graph), new SearchState(graph)};
+            states.set(searchStates);
+        }
+        return searchStates;
+    }
+}
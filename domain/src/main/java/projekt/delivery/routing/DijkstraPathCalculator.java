@@ -154,6 +154,26 @@ public class DijkstraPathCalculator implements PathCalculator {
         return paths;
     }
 
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        @Nullable Long duration = execute(end).get(start).duration;
+        return duration == null ? ShortestPathTree.UNREACHABLE : duration;
+    }
+
+    @Override
+    public NodeDurations getDurationsTo(Region.Node end) {
+        Map<Region.Node, DijkstraNode> references = execute(end);
+
+        Region.Node[] nodes = NodeDurations.sortedNodes(end.getRegion());
+        long[] durations = new long[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            @Nullable Long duration = references.get(nodes[i]).duration;
+            durations[i] = duration == null ? ShortestPathTree.UNREACHABLE : duration;
+        }
+
+        return new NodeDurations(end, nodes, durations);
+    }
+
     /**
      * Wraps a region node which contains additional information for the dijkstra algorithm.
      */
@@ -0,0 +1,117 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The durations of the shortest paths from a set of source nodes to a set of target nodes.<p>
+ *
+ * The durations are stored row by row in a single {@code long} array, so that every lookup takes constant time and
+ * does not allocate any objects. Sources and targets are indexed in the order they were given, duplicates are removed.
+ */
+public final class DurationMatrix {
+
+    private final List<Region.Node> sources;
+    private final List<Region.Node> targets;
+    private final Map<Region.Node, Integer> sourceIndices;
+    private final Map<Region.Node, Integer> targetIndices;
+    final long[] durations;
+
+    /**
+     * Creates a new {@link DurationMatrix} with all durations set to {@code 0}.
+     * @param sources The source nodes.
+     * @param targets The target nodes.
+     */
+    DurationMatrix(Collection<? extends Region.Node> sources, Collection<? extends Region.Node> targets) {
+        this.sources = List.copyOf(new LinkedHashSet<>(sources));
+        this.targets = List.copyOf(new LinkedHashSet<>(targets));
+        this.sourceIndices = indexOf(this.sources);
+        this.targetIndices = indexOf(this.targets);
+        this.durations = new long[this.sources.size() * this.targets.size()];
+    }
+
+    private static Map<Region.Node, Integer> indexOf(List<Region.Node> nodes) {
+        Map<Region.Node, Integer> indices = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            indices.put(nodes.get(i), i);
+        }
+        return indices;
+    }
+
+    /**
+     * Returns the source nodes in the order of their indices.
+     * @return The source nodes in the order of their indices.
+     */
+    public List<Region.Node> getSources() {
+        return sources;
+    }
+
+    /**
+     * Returns the target nodes in the order of their indices.
+     * @return The target nodes in the order of their indices.
+     */
+    public List<Region.Node> getTargets() {
+        return targets;
+    }
+
+    /**
+     * Returns the index of the given source node.
+     * @param source The source node.
+     * @return The index of the given source node.
+     * @throws IllegalArgumentException If the given node is not a source of this matrix.
+     */
+    public int getSourceIndex(Region.Node source) {
+        final @Nullable Integer index = sourceIndices.get(source);
+        if (index == null) {
+            throw new IllegalArgumentException("Node %s is not a source of this matrix".formatted(source));
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of the given target node.
+     * @param target The target node.
+     * @return The index of the given target node.
+     * @throws IllegalArgumentException If the given node is not a target of this matrix.
+     */
+    public int getTargetIndex(Region.Node target) {
+        final @Nullable Integer index = targetIndices.get(target);
+        if (index == null) {
+            throw new IllegalArgumentException("Node %s is not a target of this matrix".formatted(target));
+        }
+        return index;
+    }
+
+    /**
+     * Returns the duration of the shortest path between the source and the target with the given indices.
+     * @param sourceIndex The index of the source.
+     * @param targetIndex The index of the target.
+     * @return The duration of the shortest path or {@link ShortestPathTree#UNREACHABLE} if there is none.
+     */
+    public long getDuration(int sourceIndex, int targetIndex) {
+        return durations[sourceIndex * targets.size() + targetIndex];
+    }
+
+    /**
+     * Returns the duration of the shortest path between the given source and target.
+     * @param source The source node.
+     * @param target The target node.
+     * @return The duration of the shortest path or {@link ShortestPathTree#UNREACHABLE} if there is none.
+     * @throws IllegalArgumentException If the given nodes are not a source and a target of this matrix.
+     */
+    public long getDuration(Region.Node source, Region.Node target) {
+        return getDuration(getSourceIndex(source), getTargetIndex(target));
+    }
+
+    /**
+     * Sets the duration of the shortest path between the source and the target with the given indices.
+     */
+    void setDuration(int sourceIndex, int targetIndex, long duration) {
+        durations[sourceIndex * targets.size() + targetIndex] = duration;
+    }
+}
@@ -0,0 +1,338 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link PathCalculator} whose edge durations can be changed while it is in use, e.g. to model congestion.<p>
+ *
+ * The durations used for routing start out as the durations of the {@link Region.Edge}s and can be overridden by
+ * {@link #setDuration(Region.Edge, long)}; the edges themselves stay unchanged. The calculator keeps the
+ * {@link ShortestPathTree}s of the most recently queried end nodes. When the duration of an edge changes, every
+ * cached tree is repaired incrementally: a decrease is propagated from the endpoint that got closer to the root, an
+ * increase of a tree edge only recomputes the subtree below that edge. Trees that do not contain an edge whose
+ * duration was increased are not touched at all.<p>
+ *
+ * A {@link VehicleManager} built with {@link VehicleManager.Builder#dynamicEdgeDurations(boolean)} also lets its
+ * vehicles travel the edges in the durations returned by {@link #getDuration(Region.Edge)}, so that congestion slows
+ * the vehicles down instead of only changing their routes.<p>
+ *
+ * Since the trees are cached here, this calculator should not be wrapped in a {@link CachedPathCalculator}, whose
+ * entries would not be updated. All methods are synchronized.
+ */
+public class DynamicPathCalculator extends CompiledDijkstraPathCalculator {
+
+    /**
+     * The default amount of cached {@link ShortestPathTree}s.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final int cacheSize;
+    private final Map<Integer, ShortestPathTree> trees;
+    private @Nullable CompiledRegion graph;
+    private IndexedMinHeap queue = new IndexedMinHeap(0);
+    private int[] marks = new int[0];
+    private int[] affected = new int[0];
+    private int mark;
+    private long repairedNodes;
+
+    /**
+     * Creates a new {@link DynamicPathCalculator} caching up to {@link #DEFAULT_CACHE_SIZE} trees.
+     */
+    public DynamicPathCalculator() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new {@link DynamicPathCalculator}.
+     * @param cacheSize The maximum amount of cached {@link ShortestPathTree}s.
+     * @throws IllegalArgumentException If the cache size is negative.
+     */
+    public DynamicPathCalculator(int cacheSize) {
+        // the durations of the compiled region change, so its trees must not be shared
+        super(null);
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize must not be negative: " + cacheSize);
+        }
+        this.cacheSize = cacheSize;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ShortestPathTree> eldest) {
+                return size() > DynamicPathCalculator.this.cacheSize;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * The returned {@link CompiledRegion} is owned by this calculator and contains the current durations. Compiling a
+     * different {@link Region} discards all overridden durations and cached trees.
+     */
+    @Override
+    protected synchronized CompiledRegion compile(Region region) {
+        @Nullable CompiledRegion current = graph;
+        if (current == null || current.getRegion() != region) {
+            current = CompiledRegion.of(region);
+            graph = current;
+            trees.clear();
+            queue = new IndexedMinHeap(current.getNodeCount());
+            marks = new int[current.getNodeCount()];
+            affected = new int[current.getNodeCount()];
+            mark = 0;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the duration of the given {@link Region.Edge} currently used for routing.
+     * @param edge The {@link Region.Edge} to return the duration of.
+     * @return The current duration of the given {@link Region.Edge}.
+     * @throws IllegalArgumentException If the {@link Region.Edge} is not part of its {@link Region}.
+     */
+    @Override
+    public synchronized long getDuration(Region.Edge edge) {
+        CompiledRegion current = compile(edge.getRegion());
+        return current.durations[getArc(current, edge)];
+    }
+
+    /**
+     * Sets the duration of the given {@link Region.Edge} used for routing and repairs all cached trees.
+     * @param edge The {@link Region.Edge} to set the duration of.
+     * @param duration The new duration.
+     * @throws IllegalArgumentException If the duration is negative or the {@link Region.Edge} is not part of its
+     * {@link Region}.
+     */
+    public synchronized void setDuration(Region.Edge edge, long duration) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("duration must not be negative: " + duration);
+        }
+        CompiledRegion current = compile(edge.getRegion());
+        int a = current.getId(edge.getNodeA());
+        int b = current.getId(edge.getNodeB());
+        int arcAB = getArc(current, edge);
+        int arcBA = current.getArc(b, a);
+        long previous = current.durations[arcAB];
+        if (previous == duration) {
+            return;
+        }
+        current.durations[arcAB] = duration;
+        current.durations[arcBA] = duration;
+        if (a == b) {
+            // self loops are never part of a shortest path
+            return;
+        }
+
+        for (ShortestPathTree tree : trees.values()) {
+            if (duration < previous) {
+                repairDecrease(current, tree, a, b, duration);
+            } else {
+                repairIncrease(current, tree, a, b);
+            }
+        }
+    }
+
+    /**
+     * Resets the durations of all {@link Region.Edge}s of the given {@link Region} to their original durations.
+     * @param region The {@link Region} to reset the durations of.
+     */
+    public synchronized void resetDurations(Region region) {
+        for (Region.Edge edge : region.getEdges()) {
+            setDuration(edge, edge.getDuration());
+        }
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * The copy has the same cache size and starts out with the current durations of this calculator. Changing the
+     * durations of either calculator afterwards does not affect the other one.
+     */
+    @Override
+    public synchronized DynamicPathCalculator copy() {
+        DynamicPathCalculator copy = new DynamicPathCalculator(cacheSize);
+        @Nullable CompiledRegion current = graph;
+        if (current != null) {
+            long[] durations = copy.compile(current.getRegion()).durations;
+            System.arraycopy(current.durations, 0, durations, 0, durations.length);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the amount of tree entries that have been updated by repairs since this calculator was created.
+     * @return The amount of tree entries updated by repairs.
+     */
+    public synchronized long getRepairedNodeCount() {
+        return repairedNodes;
+    }
+
+    private static int getArc(CompiledRegion graph, Region.Edge edge) {
+        int arc = graph.getArc(graph.getId(edge.getNodeA()), graph.getId(edge.getNodeB()));
+        if (arc < 0) {
+            throw new IllegalArgumentException("Edge %s is not part of the compiled region".formatted(edge));
+        }
+        return arc;
+    }
+
+    /**
+     * Returns the cached tree rooted at the given {@link Region.Node}, calculating it if necessary.
+     */
+    private ShortestPathTree getTree(Region.Node root) {
+        CompiledRegion current = compile(root.getRegion());
+        int id = current.getId(root);
+        @Nullable ShortestPathTree tree = trees.get(id);
+        if (tree == null) {
+            tree = execute(current, id);
+            trees.put(id, tree);
+        }
+        return tree;
+    }
+
+    /**
+     * Propagates the decreased duration of the arcs between the nodes {@code a} and {@code b} through the given tree.
+     */
+    private void repairDecrease(CompiledRegion graph, ShortestPathTree tree, int a, int b, long duration) {
+        long[] durations = tree.durations;
+        for (int i = 0; i < 2; i++) {
+            int u = i == 0 ? a : b;
+            int v = i == 0 ? b : a;
+            if (durations[u] != ShortestPathTree.UNREACHABLE && durations[u] + duration < durations[v]) {
+                durations[v] = durations[u] + duration;
+                tree.next[v] = u;
+                queue.insertOrDecrease(v, durations[v]);
+            }
+        }
+        repairedNodes += propagate(graph, tree);
+    }
+
+    /**
+     * Recomputes the subtree below the arc between the nodes {@code a} and {@code b} if it is part of the given tree.
+     */
+    private void repairIncrease(CompiledRegion graph, ShortestPathTree tree, int a, int b) {
+        long[] durations = tree.durations;
+        int[] next = tree.next;
+        int top;
+        if (next[b] == a) {
+            top = b;
+        } else if (next[a] == b) {
+            top = a;
+        } else {
+            // the arcs are not part of any shortest path of this tree
+            return;
+        }
+
+        // collect every node whose shortest path leads over the changed arc
+        mark++;
+        int size = 0;
+        affected[size++] = top;
+        marks[top] = mark;
+        for (int i = 0; i < size; i++) {
+            int u = affected[i];
+            for (int arc = graph.offsets[u]; arc < graph.offsets[u + 1]; arc++) {
+                int v = graph.targets[arc];
+                if (next[v] == u && marks[v] != mark) {
+                    marks[v] = mark;
+                    affected[size++] = v;
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            durations[affected[i]] = ShortestPathTree.UNREACHABLE;
+            next[affected[i]] = -1;
+        }
+
+        // restart every affected node from its best unaffected neighbour
+        for (int i = 0; i < size; i++) {
+            int u = affected[i];
+            for (int arc = graph.offsets[u]; arc < graph.offsets[u + 1]; arc++) {
+                int v = graph.targets[arc];
+                if (marks[v] != mark && durations[v] != ShortestPathTree.UNREACHABLE
+                    && durations[v] + graph.durations[arc] < durations[u]) {
+                    durations[u] = durations[v] + graph.durations[arc];
+                    next[u] = v;
+                }
+            }
+            if (durations[u] != ShortestPathTree.UNREACHABLE) {
+                queue.insertOrDecrease(u, durations[u]);
+            }
+        }
+        // only affected nodes can change, every one of them counts as repaired
+        propagate(graph, tree);
+        repairedNodes += size;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm on the given tree starting with the nodes in the queue.
+     * @return The amount of settled nodes.
+     */
+    private int propagate(CompiledRegion graph, ShortestPathTree tree) {
+        long[] durations = tree.durations;
+        int settled = 0;
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            settled++;
+            long duration = durations[u];
+            for (int arc = graph.offsets[u]; arc < graph.offsets[u + 1]; arc++) {
+                int v = graph.targets[arc];
+                long weight = duration + graph.durations[arc];
+                if (weight < durations[v]) {
+                    durations[v] = weight;
+                    tree.next[v] = u;
+                    queue.insertOrDecrease(v, weight);
+                }
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * The returned tree is a copy that is not updated when durations change.
+     */
+    @Override
+    public synchronized ShortestPathTree getShortestPathTree(Region.Node root) {
+        return getTree(root).copy();
+    }
+
+    @Override
+    public synchronized Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        return getTree(end).getPath(start);
+    }
+
+    @Override
+    public synchronized @Nullable Region.Node getNextHop(Region.Node start, Region.Node end) {
+        ShortestPathTree tree = getTree(end);
+        int id = tree.getGraph().getId(start);
+        if (tree.getDuration(id) == ShortestPathTree.UNREACHABLE) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        int hop = tree.getNextHop(id);
+        return hop < 0 ? null : tree.getGraph().getNode(hop);
+    }
+
+    @Override
+    public synchronized Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        return getTree(end).getAllPaths();
+    }
+
+    @Override
+    public synchronized long getDuration(Region.Node start, Region.Node end) {
+        return getTree(end).getDuration(start);
+    }
+
+    @Override
+    public synchronized NodeDurations getDurationsTo(Region.Node end) {
+        return getTree(end).copy().getDurations();
+    }
+
+    @Override
+    public synchronized DurationMatrix getDurationMatrix(Collection<? extends Region.Node> sources, Collection<? extends Region.Node> targets) {
+        return super.getDurationMatrix(sources, targets);
+    }
+}
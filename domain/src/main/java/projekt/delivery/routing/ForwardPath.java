@@ -0,0 +1,122 @@
+package projekt.delivery.routing;
+
+import java.util.AbstractCollection;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+/**
+ * A path whose nodes can only be removed from its start, as a {@link Vehicle} does while driving along it.<p>
+ *
+ * Subclasses implement the basic queries and {@link #pollFirst()}, all other reading and consuming methods are based
+ * on them. Every method that would add nodes or remove nodes anywhere but at the start throws an
+ * {@link UnsupportedOperationException}.
+ */
+abstract class ForwardPath extends AbstractCollection<Region.Node> implements Deque<Region.Node> {
+
+    @Override
+    public Region.Node getFirst() {
+        final Region.Node node = peekFirst();
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        return node;
+    }
+
+    @Override
+    public Region.Node getLast() {
+        final Region.Node node = peekLast();
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        return node;
+    }
+
+    @Override
+    public Region.Node element() {
+        return getFirst();
+    }
+
+    @Override
+    public Region.Node peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public Region.Node removeFirst() {
+        final Region.Node node = pollFirst();
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        return node;
+    }
+
+    @Override
+    public Region.Node remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public Region.Node poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public Region.Node pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public void addFirst(Region.Node node) {
+        throw new UnsupportedOperationException("path can only be consumed");
+    }
+
+    @Override
+    public void addLast(Region.Node node) {
+        throw new UnsupportedOperationException("path can only be consumed");
+    }
+
+    @Override
+    public boolean offerFirst(Region.Node node) {
+        throw new UnsupportedOperationException("path can only be consumed");
+    }
+
+    @Override
+    public boolean offerLast(Region.Node node) {
+        throw new UnsupportedOperationException("path can only be consumed");
+    }
+
+    @Override
+    public Region.Node removeLast() {
+        throw new UnsupportedOperationException("path can only be consumed");
+    }
+
+    @Override
+    public Region.Node pollLast() {
+        throw new UnsupportedOperationException("path can only be consumed");
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        throw new UnsupportedOperationException("path can only be consumed");
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        throw new UnsupportedOperationException("path can only be consumed");
+    }
+
+    @Override
+    public boolean offer(Region.Node node) {
+        throw new UnsupportedOperationException("path can only be consumed");
+    }
+
+    @Override
+    public void push(Region.Node node) {
+        throw new UnsupportedOperationException("path can only be consumed");
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException("path can only be consumed");
+    }
+}
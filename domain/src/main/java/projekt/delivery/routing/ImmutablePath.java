@@ -0,0 +1,236 @@
+package projekt.delivery.routing;
+
+import java.util.AbstractCollection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable path backed by an array of {@link Region.Node}s.<p>
+ *
+ * Instances can be shared between any amount of readers. Every method that would modify the path throws an
+ * {@link UnsupportedOperationException}, users that consume a path node by node can use {@link #consume()} instead of
+ * copying it.
+ */
+final class ImmutablePath extends AbstractCollection<Region.Node> implements Deque<Region.Node> {
+
+    /**
+     * The empty path.
+     */
+    static final ImmutablePath EMPTY = new ImmutablePath(new Region.Node[0]);
+
+    private final Region.Node[] nodes;
+
+    private ImmutablePath(Region.Node[] nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Creates a new {@link ImmutablePath} backed by the given array. The array is not copied and must not be modified
+     * afterwards.
+     * @param nodes The nodes of the path.
+     * @return An {@link ImmutablePath} containing the given nodes.
+     */
+    static ImmutablePath of(Region.Node[] nodes) {
+        return nodes.length == 0 ? EMPTY : new ImmutablePath(nodes);
+    }
+
+    /**
+     * Creates a new {@link ImmutablePath} containing the nodes of the given path.
+     * @param path The path to copy.
+     * @return An {@link ImmutablePath} containing the nodes of the given path.
+     */
+    static ImmutablePath copyOf(Deque<Region.Node> path) {
+        if (path instanceof ImmutablePath immutablePath) {
+            return immutablePath;
+        }
+        return path.isEmpty() ? EMPTY : new ImmutablePath(path.toArray(Region.Node[]::new));
+    }
+
+    /**
+     * Returns a new {@link ConsumablePath} over the nodes of this path, sharing its array.
+     * @return A new {@link ConsumablePath} starting at the first node of this path.
+     */
+    ConsumablePath consume() {
+        return new ConsumablePath(nodes);
+    }
+
+    /**
+     * Returns an estimate of the amount of memory used by this path in bytes.
+     * @return An estimate of the memory used by this path in bytes.
+     */
+    long estimateMemory() {
+        return 32L + 4L * nodes.length;
+    }
+
+    @Override
+    public int size() {
+        return nodes.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return nodes.length == 0;
+    }
+
+    @Override
+    public Iterator<Region.Node> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < nodes.length;
+            }
+
+            @Override
+            public Region.Node next() {
+                if (index >= nodes.length) {
+                    throw new NoSuchElementException();
+                }
+                return nodes[index++];
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Region.Node> descendingIterator() {
+        return new Iterator<>() {
+            private int index = nodes.length - 1;
+
+            @Override
+            public boolean hasNext() {
+                return index >= 0;
+            }
+
+            @Override
+            public Region.Node next() {
+                if (index < 0) {
+                    throw new NoSuchElementException();
+                }
+                return nodes[index--];
+            }
+        };
+    }
+
+    @Override
+    public Region.Node getFirst() {
+        if (nodes.length == 0) {
+            throw new NoSuchElementException();
+        }
+        return nodes[0];
+    }
+
+    @Override
+    public Region.Node getLast() {
+        if (nodes.length == 0) {
+            throw new NoSuchElementException();
+        }
+        return nodes[nodes.length - 1];
+    }
+
+    @Override
+    public Region.Node peekFirst() {
+        return nodes.length == 0 ? null : nodes[0];
+    }
+
+    @Override
+    public Region.Node peekLast() {
+        return nodes.length == 0 ? null : nodes[nodes.length - 1];
+    }
+
+    @Override
+    public Region.Node element() {
+        return getFirst();
+    }
+
+    @Override
+    public Region.Node peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void addFirst(Region.Node node) {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public void addLast(Region.Node node) {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public boolean offerFirst(Region.Node node) {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public boolean offerLast(Region.Node node) {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public Region.Node removeFirst() {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public Region.Node removeLast() {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public Region.Node pollFirst() {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public Region.Node pollLast() {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public boolean offer(Region.Node node) {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public Region.Node remove() {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public Region.Node poll() {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public void push(Region.Node node) {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public Region.Node pop() {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("path is immutable");
+    }
+}
@@ -0,0 +1,157 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+
+/**
+ * A binary min heap over the ids {@code [0, capacity)} of a {@link CompiledRegion} with {@code long} keys.<p>
+ *
+ * In contrast to a {@link java.util.PriorityQueue} the key of an element can be decreased in place, so every id is
+ * contained at most once. Elements with equal keys are ordered by their id which makes every search using this heap
+ * deterministic.
+ */
+final class IndexedMinHeap {
+
+    private final int[] heap;
+    private final int[] positions;
+    private final long[] keys;
+    private int size;
+
+    /**
+     * Creates a new, empty {@link IndexedMinHeap}.
+     * @param capacity The amount of ids this heap can hold.
+     */
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Returns whether this heap is empty.
+     * @return {@code true} if this heap is empty.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns whether the given id is currently contained in this heap.
+     * @param id The id to check.
+     * @return {@code true} if the id is contained in this heap.
+     */
+    boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    /**
+     * Returns the smallest key in this heap without removing it.
+     * @return The smallest key in this heap.
+     */
+    long peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Inserts the given id with the given key or decreases its key if the id is already contained.<p>
+     * Keys are never increased.
+     * @param id The id to insert.
+     * @param key The new key of the id.
+     */
+    void insertOrDecrease(int id, long key) {
+        int position = positions[id];
+        if (position < 0) {
+            position = size++;
+            heap[position] = id;
+            positions[id] = position;
+        } else if (key >= keys[id]) {
+            return;
+        }
+        keys[id] = key;
+        siftUp(position);
+    }
+
+    /**
+     * Inserts the given id with the given key or changes its key if the id is already contained.<p>
+     * In contrast to {@link #insertOrDecrease(int, long)} keys may be increased as well.
+     * @param id The id to insert.
+     * @param key The new key of the id.
+     */
+    void update(int id, long key) {
+        int position = positions[id];
+        if (position < 0 || key <= keys[id]) {
+            insertOrDecrease(id, key);
+        } else {
+            keys[id] = key;
+            siftDown(position);
+        }
+    }
+
+    /**
+     * Removes the id with the smallest key from this heap.
+     * @return The removed id.
+     */
+    int poll() {
+        int result = heap[0];
+        positions[result] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return result;
+    }
+
+    /**
+     * Removes all ids from this heap.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentId = heap[parent];
+            if (!less(id, parentId)) {
+                break;
+            }
+            heap[position] = parentId;
+            positions[parentId] = position;
+            position = parent;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            int childId = heap[child];
+            if (!less(childId, id)) {
+                break;
+            }
+            heap[position] = childId;
+            positions[childId] = position;
+            position = child;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
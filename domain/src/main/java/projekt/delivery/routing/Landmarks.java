@@ -0,0 +1,144 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+
+/**
+ * A set of landmark nodes of a {@link CompiledRegion} together with the durations of the shortest paths from every
+ * landmark to every node, used as lower bounds by the {@link AltPathCalculator}.<p>
+ *
+ * The landmarks are selected one after another: the first landmark is the node furthest away from the node with id
+ * {@code 0}, every further landmark is the node whose closest landmark is furthest away. Nodes that can not reach any
+ * landmark yet count as infinitely far away, so that every component of the region gets a landmark as long as there
+ * are enough.<p>
+ *
+ * Since edges are undirected, the triangle inequality yields {@code |d(l, v) - d(l, t)| <= d(v, t)} for every
+ * landmark {@code l}, the maximum over all landmarks is a consistent heuristic for A*.
+ */
+public final class Landmarks {
+
+    private final CompiledRegion graph;
+    private final int[] landmarks;
+    /**
+     * The duration of the shortest path from every landmark to every node, stored node by node: the duration from
+     * landmark {@code i} to the node with id {@code v} is stored at index {@code v * getCount() + i}.
+     */
+    private final long[] durations;
+    private final long preprocessingTime;
+
+    private Landmarks(CompiledRegion graph, int count) {
+        long startTime = System.nanoTime();
+        int size = graph.getNodeCount();
+        this.graph = graph;
+        this.landmarks = new int[Math.min(count, size)];
+        this.durations = new long[landmarks.length * size];
+
+        // the duration from every node to its closest landmark, nodes without landmark are infinitely far away
+        long[] closest = new long[size];
+        Arrays.fill(closest, ShortestPathTree.UNREACHABLE);
+        long[] fromStart = size == 0 ? new long[0] : CompiledDijkstraPathCalculator.execute(graph, 0).durations;
+        for (int i = 0; i < landmarks.length; i++) {
+            int landmark = i == 0 ? furthest(fromStart) : furthest(closest);
+            landmarks[i] = landmark;
+            long[] fromLandmark = CompiledDijkstraPathCalculator.execute(graph, landmark).durations;
+            for (int v = 0; v < size; v++) {
+                durations[v * landmarks.length + i] = fromLandmark[v];
+                closest[v] = Math.min(closest[v], fromLandmark[v]);
+            }
+        }
+        this.preprocessingTime = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Returns the id of the node with the largest duration, preferring unreachable nodes and smaller ids.
+     */
+    private static int furthest(long[] durations) {
+        int result = 0;
+        for (int v = 1; v < durations.length; v++) {
+            if (durations[v] > durations[result]) {
+                result = v;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Selects the given amount of landmarks in the given {@link CompiledRegion}.
+     * @param graph The {@link CompiledRegion} to select the landmarks in.
+     * @param count The amount of landmarks to select. If the region contains fewer nodes, every node is a landmark.
+     * @return The selected {@link Landmarks}.
+     * @throws IllegalArgumentException If the count is not positive or the durations would not fit into an array.
+     */
+    public static Landmarks of(CompiledRegion graph, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        if ((long) Math.min(count, graph.getNodeCount()) * graph.getNodeCount() > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many landmarks for %d nodes: %d".formatted(graph.getNodeCount(), count));
+        }
+        return new Landmarks(graph, count);
+    }
+
+    /**
+     * Returns the {@link CompiledRegion} these landmarks belong to.
+     * @return The {@link CompiledRegion} these landmarks belong to.
+     */
+    public CompiledRegion getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the amount of landmarks.
+     * @return The amount of landmarks.
+     */
+    public int getCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * Returns the landmark with the given index.
+     * @param index The index of the landmark.
+     * @return The landmark with the given index.
+     */
+    public Region.Node getLandmark(int index) {
+        return graph.getNode(landmarks[index]);
+    }
+
+    /**
+     * Returns the time it took to select the landmarks and calculate their durations in nanoseconds.
+     * @return The time it took to build these landmarks in nanoseconds.
+     */
+    public long getPreprocessingTime() {
+        return preprocessingTime;
+    }
+
+    /**
+     * Returns an estimate of the amount of memory used by these landmarks in bytes, excluding the
+     * {@link CompiledRegion}.
+     * @return An estimate of the memory used by these landmarks in bytes.
+     */
+    public long estimateMemory() {
+        return 4L * landmarks.length + 8L * durations.length;
+    }
+
+    /**
+     * Returns a lower bound of the duration of the shortest path between the two nodes with the given ids.
+     * @param from The id of the first node.
+     * @param to The id of the second node.
+     * @return A lower bound of the duration of the shortest path between the two nodes.
+     */
+    long estimate(int from, int to) {
+        int count = landmarks.length;
+        int fromOffset = from * count;
+        int toOffset = to * count;
+        long estimate = 0;
+        for (int i = 0; i < count; i++) {
+            long fromDuration = durations[fromOffset + i];
+            long toDuration = durations[toOffset + i];
+            // a landmark that can not reach both nodes does not bound their distance
+            if (fromDuration != ShortestPathTree.UNREACHABLE && toDuration != ShortestPathTree.UNREACHABLE) {
+                estimate = Math.max(estimate, Math.abs(fromDuration - toDuration));
+            }
+        }
+        return estimate;
+    }
+}
@@ -0,0 +1,129 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link ForwardPath} that only stores its current position and its end and asks a {@link PathCalculator} for the
+ * next node whenever the previous one has been consumed.<p>
+ *
+ * The path uses a constant amount of memory regardless of its length. Once determined, the next node does not change
+ * until it has been consumed, so that a {@link Vehicle} on an edge always arrives at the node it started driving to.
+ * Methods that look further ahead than the next node, like {@link #size()} or {@link #iterator()}, walk the remaining
+ * path hop by hop.
+ */
+final class NextHopPath extends ForwardPath {
+
+    private final PathCalculator pathCalculator;
+    private final Region.Node end;
+    private Region.Node position;
+    private @Nullable Region.Node next;
+    private boolean arrived;
+
+    /**
+     * Creates a new {@link NextHopPath}.
+     * @param pathCalculator The {@link PathCalculator} to ask for the next nodes.
+     * @param start The start of the path, which is not part of the path.
+     * @param end The end of the path.
+     * @throws IllegalArgumentException If there is no path from start to end.
+     */
+    NextHopPath(PathCalculator pathCalculator, Region.Node start, Region.Node end) {
+        this.pathCalculator = pathCalculator;
+        this.end = end;
+        this.position = start;
+        this.next = pathCalculator.getNextHop(start, end);
+        this.arrived = next == null;
+    }
+
+    @Override
+    public Region.Node peekFirst() {
+        if (next == null && !arrived) {
+            next = pathCalculator.getNextHop(position, end);
+            arrived = next == null;
+        }
+        return next;
+    }
+
+    /**
+     * Returns the next node of this path like {@link #peekFirst()}, but does not keep a newly determined node. Until
+     * the next node is determined by {@link #peekFirst()}, it may still change with the durations used by the
+     * {@link PathCalculator}.
+     * @return The current next node of this path or {@code null} if the path is empty.
+     */
+    @Nullable Region.Node lookAhead() {
+        if (next != null || arrived) {
+            return next;
+        }
+        return pathCalculator.getNextHop(position, end);
+    }
+
+    @Override
+    public Region.Node peekLast() {
+        return isEmpty() ? null : end;
+    }
+
+    @Override
+    public Region.Node pollFirst() {
+        final @Nullable Region.Node node = peekFirst();
+        if (node != null) {
+            position = node;
+            next = null;
+        }
+        return node;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peekFirst() == null;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Iterator<Region.Node> it = iterator(); it.hasNext(); it.next()) {
+            size++;
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        position = end;
+        next = null;
+        arrived = true;
+    }
+
+    @Override
+    public Iterator<Region.Node> iterator() {
+        return new Iterator<>() {
+            private @Nullable Region.Node current = peekFirst();
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public Region.Node next() {
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+                final Region.Node node = current;
+                current = pathCalculator.getNextHop(node, end);
+                return node;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Region.Node> descendingIterator() {
+        List<Region.Node> nodes = new ArrayList<>(this);
+        Collections.reverse(nodes);
+        return nodes.iterator();
+    }
+}
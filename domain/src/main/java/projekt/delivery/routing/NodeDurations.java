@@ -0,0 +1,132 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The durations of the shortest paths from every {@link Region.Node} of a {@link Region} to a single end node.<p>
+ *
+ * The durations are stored in a primitive array indexed by the position of the nodes in their natural order, which is
+ * the same order used for the ids of a {@link CompiledRegion}. Looking up a duration does not allocate any objects.
+ */
+public final class NodeDurations {
+
+    private final Region.Node end;
+    private final Region.Node[] nodes;
+    private final long[] durations;
+
+    /**
+     * Creates a new {@link NodeDurations}. The given arrays are not copied.
+     * @param end The end node of all paths.
+     * @param nodes All nodes of the region, sorted by their natural order.
+     * @param durations The duration of the shortest path from every node to the end or
+     * {@link ShortestPathTree#UNREACHABLE} if there is none.
+     */
+    NodeDurations(Region.Node end, Region.Node[] nodes, long[] durations) {
+        this.end = end;
+        this.nodes = nodes;
+        this.durations = durations;
+    }
+
+    /**
+     * Creates a new {@link NodeDurations} from the given shortest paths.
+     * @param end The end node of all paths.
+     * @param paths The shortest paths from every node that can reach the end to the end.
+     * @return The durations of the given paths.
+     */
+    static NodeDurations of(Region.Node end, Map<Region.Node, Deque<Region.Node>> paths) {
+        Region region = end.getRegion();
+        Region.Node[] nodes = sortedNodes(region);
+        long[] durations = new long[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            Deque<Region.Node> path = paths.get(nodes[i]);
+            durations[i] = path == null ? ShortestPathTree.UNREACHABLE : getDuration(region, nodes[i], path);
+        }
+        return new NodeDurations(end, nodes, durations);
+    }
+
+    /**
+     * Returns all nodes of the given {@link Region} sorted by their natural order.
+     * @param region The {@link Region} to return the nodes of.
+     * @return All nodes of the given {@link Region} sorted by their natural order.
+     */
+    static Region.Node[] sortedNodes(Region region) {
+        return region.getNodes().stream().sorted().toArray(Region.Node[]::new);
+    }
+
+    /**
+     * Returns the duration of the given path.
+     * @param region The {@link Region} the path lies in.
+     * @param start The start of the path.
+     * @param path A list of nodes (excluding start and including the end) that represent the path.
+     * @return The sum of the durations of all edges of the path.
+     */
+    static long getDuration(Region region, Region.Node start, Deque<Region.Node> path) {
+        long duration = 0;
+        Region.Node previous = start;
+        for (Region.Node node : path) {
+            duration += Objects.requireNonNull(region.getEdge(previous, node)).getDuration();
+            previous = node;
+        }
+        return duration;
+    }
+
+    /**
+     * Returns the end node of all paths.
+     * @return The end node of all paths.
+     */
+    public Region.Node getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns the amount of nodes in the region.
+     * @return The amount of nodes in the region.
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the node at the given index.
+     * @param index The index of the node in the natural order of all nodes.
+     * @return The node at the given index.
+     */
+    public Region.Node getNode(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * Returns the duration of the shortest path from the node at the given index to the end.
+     * @param index The index of the node in the natural order of all nodes.
+     * @return The duration of the shortest path or {@link ShortestPathTree#UNREACHABLE} if there is none.
+     */
+    public long getDuration(int index) {
+        return durations[index];
+    }
+
+    /**
+     * Returns the duration of the shortest path from the given node to the end.
+     * @param node The start of the path.
+     * @return The duration of the shortest path or {@link ShortestPathTree#UNREACHABLE} if there is none.
+     * @throws IllegalArgumentException If the given node is not part of the region.
+     */
+    public long getDuration(Region.Node node) {
+        int index = Arrays.binarySearch(nodes, node);
+        if (index < 0) {
+            throw new IllegalArgumentException("Node %s is not part of the region".formatted(node));
+        }
+        return durations[index];
+    }
+
+    /**
+     * Returns whether the end can be reached from the given node.
+     * @param node The start of the path.
+     * @return {@code true} if there is a path from the given node to the end.
+     */
+    public boolean isReachable(Region.Node node) {
+        return getDuration(node) != ShortestPathTree.UNREACHABLE;
+    }
+}
@@ -18,9 +18,15 @@ class OccupiedEdgeImpl extends AbstractOccupied<Region.Edge> {
 
     @Override
     public void tick(long currentTick) {
+        if (vehicles.isEmpty()) {
+            return;
+        }
+        final long duration = vehicleManager instanceof VehicleManagerImpl impl
+            ? impl.getDuration(component)
+            : component.getDuration();
         // it is important to create a copy here. The move method in vehicle will probably modify this map
         for (Map.Entry<VehicleImpl, VehicleStats> entry : List.copyOf(vehicles.entrySet())) {
-            if (currentTick >= entry.getValue().arrived + component.getDuration()) {
+            if (currentTick >= entry.getValue().arrived + duration) {
                 entry.getKey().move(currentTick);
             }
         }
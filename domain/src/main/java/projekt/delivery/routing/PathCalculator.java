@@ -1,5 +1,8 @@
 package projekt.delivery.routing;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
 import java.util.Deque;
 import java.util.Map;
 
@@ -25,4 +28,111 @@ public interface PathCalculator {
      * (excluding start and including end) that represent the path from start to end
      */
     Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end);
+
+    /**
+     * Calculates the first node of the shortest path from {@code start} to {@code end}.<p>
+     *
+     * The default implementation returns the first node of {@link #getPath(Region.Node, Region.Node)}.
+     * Implementations should override it if they can answer it without building the path.
+     *
+     * @param start The start {@link Region.Node}
+     * @param end   The end {@link Region.Node}
+     * @return The node following {@code start} on the shortest path or {@code null} if {@code start} is {@code end}
+     * @throws IllegalArgumentException If implementations know that there is no path from start to end.
+     */
+    default @Nullable Region.Node getNextHop(Region.Node start, Region.Node end) {
+        final @Nullable Deque<Region.Node> path = getPath(start, end);
+        if (path == null) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return path.peekFirst();
+    }
+
+    /**
+     * Calculates the duration of the shortest path from {@code start} to {@code end}.<p>
+     *
+     * The default implementation sums up the durations of the edges of {@link #getPath(Region.Node, Region.Node)}.
+     * Implementations should override it if the duration is known without building the path.
+     *
+     * @param start The start {@link Region.Node}
+     * @param end   The end {@link Region.Node}
+     * @return The duration of the shortest path from start to end or {@link ShortestPathTree#UNREACHABLE} if
+     * implementations know that there is none.
+     */
+    default long getDuration(Region.Node start, Region.Node end) {
+        return NodeDurations.getDuration(start.getRegion(), start, getPath(start, end));
+    }
+
+    /**
+     * Calculates the duration of the shortest path from every node in the region to {@code end}.<p>
+     *
+     * The default implementation sums up the durations of the edges of {@link #getAllPathsTo(Region.Node)}.
+     * Implementations should override it if the durations are known without building the paths.
+     *
+     * @param end The end {@link Region.Node} of all paths.
+     * @return The {@link NodeDurations} containing the duration of the shortest path from every node to {@code end}.
+     */
+    default NodeDurations getDurationsTo(Region.Node end) {
+        return NodeDurations.of(end, getAllPathsTo(end));
+    }
+
+    /**
+     * Returns the duration of the given {@link Region.Edge} this {@link PathCalculator} currently routes with.<p>
+     *
+     * The default implementation returns {@link Region.Edge#getDuration()}. Implementations whose durations change
+     * while they are in use, e.g. to model congestion, should override it.
+     *
+     * @param edge The {@link Region.Edge} to return the duration of.
+     * @return The duration of the given {@link Region.Edge} used for routing.
+     * @see VehicleManager#isDynamicEdgeDurations()
+     */
+    default long getDuration(Region.Edge edge) {
+        return edge.getDuration();
+    }
+
+    /**
+     * Calculates the durations of the shortest paths from every source to every target.<p>
+     *
+     * The default implementation calls {@link #getDurationsTo(Region.Node)} once per target. Implementations should
+     * override it if they can share work between the queries.
+     *
+     * @param sources The start {@link Region.Node}s of the paths.
+     * @param targets The end {@link Region.Node}s of the paths.
+     * @return The {@link DurationMatrix} containing the duration of the shortest path from every source to every target.
+     */
+    default DurationMatrix getDurationMatrix(Collection<? extends Region.Node> sources, Collection<? extends Region.Node> targets) {
+        DurationMatrix matrix = new DurationMatrix(sources, targets);
+        for (int target = 0; target < matrix.getTargets().size(); target++) {
+            NodeDurations durations = getDurationsTo(matrix.getTargets().get(target));
+            for (int source = 0; source < matrix.getSources().size(); source++) {
+                matrix.setDuration(source, target, durations.getDuration(matrix.getSources().get(source)));
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Prepares this {@link PathCalculator} for calculating paths inside the given {@link Region}.<p>
+     *
+     * It is called once when a {@link VehicleManager} using this {@link PathCalculator} is built. Implementations may
+     * use it to precompute data. The default implementation does nothing.
+     *
+     * @param region The {@link Region} paths will be calculated in.
+     */
+    default void prepare(Region region) {
+    }
+
+    /**
+     * Returns a {@link PathCalculator} that calculates the same paths as this {@link PathCalculator}, but can be used
+     * at the same time without affecting it. It is used by {@link VehicleManager#copy()}.<p>
+     *
+     * The copy may share data that does not change while it is in use, e.g. precomputed tables, but not state like
+     * overridden durations or statistics. The default implementation returns this {@link PathCalculator}, which is
+     * only correct for implementations without such state. Implementations that have it must override this method.
+     *
+     * @return A {@link PathCalculator} calculating the same paths as this {@link PathCalculator}.
+     */
+    default PathCalculator copy() {
+        return this;
+    }
 }
@@ -0,0 +1,511 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link PathCalculator} that precomputes the shortest paths between all pairs of {@link Region.Node}s.<p>
+ *
+ * For a {@link Region} with {@code n} nodes a distance table and a next-hop table with {@code n²} entries each are
+ * computed in parallel, once per {@link Region}, so that every query is a walk along the next-hop table. Regions with
+ * more nodes than the configured ceiling are not precomputed, queries inside them fall back to a single Dijkstra search
+ * per query like the {@link CompiledDijkstraPathCalculator}.<p>
+ *
+ * The tables of a {@link Region} can be {@link #writeTables(Region, Path) written} to a file and
+ * {@link #mapTables(Path) registered} by a later process. Every {@link PrecomputedPathCalculator} then maps the tables
+ * into memory for regions with the same structure instead of computing them. A file is only mapped once a region with
+ * the structure stored in it uses it, and a file that is mapped by this process is never replaced.
+ */
+public class PrecomputedPathCalculator extends CompiledDijkstraPathCalculator {
+
+    /**
+     * The first bytes of a file containing precomputed tables.
+     */
+    private static final int MAGIC = 0x50525442;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+
+    /**
+     * The registered table files by the fingerprint hash of their region.
+     */
+    private static final Map<Long, TableFile> MAPPED_TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * The tables mapped by this process by their normalized file. A file must not be replaced while its tables are
+     * reachable, since the mapping is only released when they are garbage collected.
+     */
+    private static final Map<Path, WeakReference<ByteBuffer>> MAPPED_FILES = new ConcurrentHashMap<>();
+
+    /**
+     * The amount of table entries written at once.
+     */
+    private static final int WRITE_CHUNK_SIZE = 8192;
+
+    /**
+     * The default maximum amount of nodes a region may contain to be precomputed. The tables of such a region use
+     * about 12 MiB.
+     */
+    public static final int DEFAULT_MAX_NODES = 1024;
+
+    /**
+     * The largest possible node ceiling, {@code n²} has to fit into an {@code int}.
+     */
+    private static final int LIMIT_MAX_NODES = 46340;
+
+    private final int maxNodes;
+    private volatile @Nullable Table table;
+
+    /**
+     * Creates a new {@link PrecomputedPathCalculator} using the {@link #DEFAULT_MAX_NODES default node ceiling}.
+     */
+    public PrecomputedPathCalculator() {
+        this(DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Creates a new {@link PrecomputedPathCalculator}.
+     * @param maxNodes The maximum amount of nodes a region may contain to be precomputed.
+     */
+    public PrecomputedPathCalculator(int maxNodes) {
+        if (maxNodes < 0 || maxNodes > LIMIT_MAX_NODES) {
+            throw new IllegalArgumentException("maxNodes must be between 0 and %d".formatted(LIMIT_MAX_NODES));
+        }
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Returns the maximum amount of nodes a region may contain to be precomputed.
+     * @return The maximum amount of nodes a region may contain to be precomputed.
+     */
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Returns whether the shortest paths inside the given {@link Region} are served from precomputed tables.
+     * @param region The {@link Region} to check.
+     * @return {@code true} if the given {@link Region} is precomputed.
+     */
+    public boolean isPrecomputed(Region region) {
+        return getTable(region) != null;
+    }
+
+    /**
+     * Returns an estimate of the amount of heap memory used by the precomputed tables in bytes. Mapped tables are
+     * backed by their file and do not use any heap memory.
+     * @return An estimate of the heap memory used by the precomputed tables in bytes, {@code 0} if there are none.
+     */
+    public long estimateMemory() {
+        @Nullable Table current = table;
+        return current == null || current.mapped ? 0 : 12L * current.durations.capacity();
+    }
+
+    /**
+     * Returns whether the precomputed tables of the given {@link Region} are mapped from a file.
+     * @param region The {@link Region} to check.
+     * @return {@code true} if the tables of the given {@link Region} are mapped from a file.
+     */
+    public boolean isMapped(Region region) {
+        @Nullable Table current = getTable(region);
+        return current != null && current.mapped;
+    }
+
+    /**
+     * Writes the precomputed tables of the given {@link Region} into the given file, replacing it if it exists. The
+     * tables are computed first if necessary.<p>
+     *
+     * Besides the tables the file contains the structure of the region, so that it is only used for regions with the
+     * same nodes, edges and durations. All values are stored in little-endian byte order. A registration of the
+     * replaced file by {@link #mapTables(Path)} is dropped.
+     * @param region The {@link Region} to write the tables of.
+     * @param file The file to write the tables into.
+     * @throws IllegalArgumentException If the given {@link Region} is not precomputed or its tables are larger than
+     * 2 GiB.
+     * @throws IOException If an I/O error occurs or the file is mapped by this process.
+     */
+    public void writeTables(Region region, Path file) throws IOException {
+        @Nullable Table current = getTable(region);
+        if (current == null) {
+            throw new IllegalArgumentException("Region with %d nodes is not precomputed".formatted(region.getNodes().size()));
+        }
+        CompiledRegion graph = current.graph;
+        int size = current.size;
+        ByteBuffer header = createHeader(graph);
+        if (header.capacity() + 12L * size * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tables of %d nodes are too large for a file".formatted(size));
+        }
+        Path target = normalize(file);
+        @Nullable WeakReference<ByteBuffer> mapped = MAPPED_FILES.get(target);
+        if (mapped != null && mapped.get() != null) {
+            throw new IOException("%s is mapped and cannot be replaced".formatted(file));
+        }
+        unmapTables(target);
+
+        // write into a temporary file first, so that readers never see a partially written file
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(channel, header);
+                ByteBuffer chunk = ByteBuffer.allocate(8 * WRITE_CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                LongBuffer durations = current.durations.duplicate().rewind();
+                while (durations.hasRemaining()) {
+                    chunk.clear();
+                    int count = Math.min(WRITE_CHUNK_SIZE, durations.remaining());
+                    chunk.asLongBuffer().put(durations.slice(durations.position(), count));
+                    durations.position(durations.position() + count);
+                    writeFully(channel, chunk.limit(8 * count));
+                }
+                IntBuffer next = current.next.duplicate().rewind();
+                while (next.hasRemaining()) {
+                    chunk.clear();
+                    int count = Math.min(2 * WRITE_CHUNK_SIZE, next.remaining());
+                    chunk.asIntBuffer().put(next.slice(next.position(), count));
+                    next.position(next.position() + count);
+                    writeFully(channel, chunk.limit(4 * count));
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * Registers the precomputed tables stored in the given file. Afterwards every {@link PrecomputedPathCalculator}
+     * maps them into memory instead of computing the tables of a {@link Region} with the same structure as the one the
+     * file was written for. Regions whose tables are already in use are not affected.<p>
+     *
+     * Only the header of the file is read here. The file is mapped once a {@link Region} with the stored structure uses
+     * it, so a file written for a different structure is never mapped. If the file cannot be read at that time, the
+     * tables are computed instead.
+     * @param file The file written by {@link #writeTables(Region, Path)}.
+     * @return {@code true} if the file contains precomputed tables, {@code false} if it is malformed or has been
+     * written by an incompatible version.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static boolean mapTables(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                return false;
+            }
+            ByteBuffer header = readFully(channel, ByteBuffer.allocate(HEADER_SIZE), 0);
+            int size = header.getInt(8);
+            int arcs = header.getInt(12);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || size < 0 || size > LIMIT_MAX_NODES
+                || arcs < 0 || getHeaderSize(size, arcs) + 12L * size * size != fileSize) {
+                return false;
+            }
+            Path registered = normalize(file);
+            unmapTables(registered);
+            MAPPED_TABLES.put(header.getLong(16), new TableFile(registered));
+            return true;
+        }
+    }
+
+    /**
+     * Drops the registration of the given file by {@link #mapTables(Path)}, so that regions whose tables are not in
+     * use yet compute them instead. Tables that are already in use stay mapped until they are garbage collected.
+     * @param file The registered file.
+     * @return {@code true} if the file was registered.
+     */
+    public static boolean unmapTables(Path file) {
+        Path registered = normalize(file);
+        return MAPPED_TABLES.values().removeIf(tableFile -> tableFile.file.equals(registered));
+    }
+
+    private static Path normalize(Path file) {
+        return file.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the size of the header of a file containing the tables of a region with the given amount of nodes and
+     * arcs, which is followed by the tables.
+     */
+    private static long getHeaderSize(int size, int arcs) {
+        return align(HEADER_SIZE + 8L * size + 4L * (size + 1) + 12L * arcs);
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    /**
+     * Returns the header of a file containing the tables of the given {@link CompiledRegion}, which contains the
+     * structure of the region.
+     */
+    private static ByteBuffer createHeader(CompiledRegion graph) {
+        long headerSize = getHeaderSize(graph.getNodeCount(), graph.getArcCount());
+        if (headerSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Region with %d nodes is too large for a file".formatted(graph.getNodeCount()));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) headerSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(graph.getNodeCount()).putInt(graph.getArcCount())
+            .putLong(RegionFingerprint.of(graph).getHash());
+        for (Region.Node node : graph.nodes()) {
+            buffer.putInt(node.getLocation().getX()).putInt(node.getLocation().getY());
+        }
+        buffer.asIntBuffer().put(graph.offsets);
+        buffer.position(buffer.position() + 4 * graph.offsets.length);
+        buffer.asIntBuffer().put(graph.targets);
+        buffer.position(buffer.position() + 4 * graph.targets.length);
+        buffer.asLongBuffer().put(graph.durations);
+        return buffer.rewind();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        return buffer.rewind().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns the mapped tables of the given {@link CompiledRegion} if a file was registered for a region with the
+     * same structure. A file that cannot be read is treated like a missing one.
+     */
+    private static @Nullable Table getMappedTable(CompiledRegion graph) {
+        if (MAPPED_TABLES.isEmpty()) {
+            return null;
+        }
+        RegionFingerprint fingerprint = RegionFingerprint.of(graph);
+        @Nullable TableFile tableFile = MAPPED_TABLES.get(fingerprint.getHash());
+        if (tableFile == null) {
+            return null;
+        }
+        @Nullable ByteBuffer buffer;
+        try {
+            buffer = tableFile.map(graph, fingerprint);
+        } catch (IOException e) {
+            MAPPED_TABLES.remove(fingerprint.getHash(), tableFile);
+            return null;
+        }
+        if (buffer == null) {
+            return null;
+        }
+        int entries = graph.getNodeCount() * graph.getNodeCount();
+        return new Table(graph,
+            buffer.slice(0, 8 * entries).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer(),
+            buffer.slice(8 * entries, 4 * entries).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer(),
+            true);
+    }
+
+    private @Nullable Table getTable(Region region) {
+        if (region.getNodes().size() > maxNodes) {
+            return null;
+        }
+        @Nullable Table current = table;
+        if (current == null || current.graph.getRegion() != region) {
+            synchronized (this) {
+                current = table;
+                if (current == null || current.graph.getRegion() != region) {
+                    CompiledRegion graph = compile(region);
+                    @Nullable Table mapped = getMappedTable(graph);
+                    current = mapped == null ? Table.compute(graph) : mapped;
+                    table = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public void prepare(Region region) {
+        super.prepare(region);
+        getTable(region);
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree(Region.Node root) {
+        @Nullable Table current = getTable(root.getRegion());
+        if (current == null) {
+            return super.getShortestPathTree(root);
+        }
+        int size = current.size;
+        int id = current.graph.getId(root);
+        int offset = id * size;
+        long[] durations = new long[size];
+        int[] next = new int[size];
+        current.durations.get(offset, durations);
+        current.next.get(offset, next);
+        return new ShortestPathTree(current.graph, id, durations, next);
+    }
+
+    @Override
+    public @Nullable Region.Node getNextHop(Region.Node start, Region.Node end) {
+        @Nullable Table current = getTable(end.getRegion());
+        if (current == null) {
+            return super.getNextHop(start, end);
+        }
+        CompiledRegion graph = current.graph;
+        int index = graph.getId(end) * current.size + graph.getId(start);
+        if (current.durations.get(index) == ShortestPathTree.UNREACHABLE) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        int hop = current.next.get(index);
+        return hop < 0 ? null : graph.getNode(hop);
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        @Nullable Table current = getTable(end.getRegion());
+        if (current == null) {
+            return super.getPath(start, end);
+        }
+        CompiledRegion graph = current.graph;
+        int offset = graph.getId(end) * current.size;
+        int node = graph.getId(start);
+        if (current.durations.get(offset + node) == ShortestPathTree.UNREACHABLE) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        int length = 0;
+        for (int hop = current.next.get(offset + node); hop >= 0; hop = current.next.get(offset + hop)) {
+            length++;
+        }
+        Region.Node[] path = new Region.Node[length];
+        int index = 0;
+        for (node = current.next.get(offset + node); node >= 0; node = current.next.get(offset + node)) {
+            path[index++] = graph.getNode(node);
+        }
+        return ImmutablePath.of(path);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        @Nullable Table current = getTable(end.getRegion());
+        if (current == null) {
+            return super.getDuration(start, end);
+        }
+        return current.durations.get(current.graph.getId(end) * current.size + current.graph.getId(start));
+    }
+
+    @Override
+    public NodeDurations getDurationsTo(Region.Node end) {
+        @Nullable Table current = getTable(end.getRegion());
+        if (current == null) {
+            return super.getDurationsTo(end);
+        }
+        long[] durations = new long[current.size];
+        current.durations.get(current.graph.getId(end) * current.size, durations);
+        return new NodeDurations(end, current.graph.nodes(), durations);
+    }
+
+    @Override
+    public DurationMatrix getDurationMatrix(Collection<? extends Region.Node> sources, Collection<? extends Region.Node> targets) {
+        DurationMatrix matrix = new DurationMatrix(sources, targets);
+        if (matrix.getSources().isEmpty() || matrix.getTargets().isEmpty()) {
+            return matrix;
+        }
+        @Nullable Table current = getTable(matrix.getSources().get(0).getRegion());
+        if (current == null) {
+            return super.getDurationMatrix(sources, targets);
+        }
+        for (int target = 0; target < matrix.getTargets().size(); target++) {
+            int offset = current.graph.getId(matrix.getTargets().get(target)) * current.size;
+            for (int source = 0; source < matrix.getSources().size(); source++) {
+                matrix.setDuration(source, target, current.durations.get(offset + current.graph.getId(matrix.getSources().get(source))));
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * A file registered by {@link #mapTables(Path)}. Its tables are mapped when a region with the structure stored in
+     * the file uses them for the first time.
+     */
+    private static final class TableFile {
+
+        private final Path file;
+        private @Nullable RegionFingerprint fingerprint;
+        private @Nullable ByteBuffer tables;
+
+        private TableFile(Path file) {
+            this.file = file;
+        }
+
+        /**
+         * Returns the mapped tables of this file if it contains the structure of the given {@link CompiledRegion},
+         * mapping them if necessary.
+         * @return The mapped tables or {@code null} if the file contains a different structure.
+         */
+        private synchronized @Nullable ByteBuffer map(CompiledRegion graph, RegionFingerprint expected) throws IOException {
+            if (tables != null) {
+                return expected.equals(fingerprint) ? tables : null;
+            }
+            ByteBuffer header = createHeader(graph);
+            long tableSize = 12L * graph.getNodeCount() * graph.getNodeCount();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (channel.size() != header.capacity() + tableSize
+                    || !header.equals(readFully(channel, ByteBuffer.allocate(header.capacity()), 0))) {
+                    // the hash only selects the file, the stored structure has to match exactly
+                    return null;
+                }
+                // the mapping stays valid after the channel is closed
+                tables = channel.map(FileChannel.MapMode.READ_ONLY, header.capacity(), tableSize);
+            }
+            fingerprint = expected;
+            MAPPED_FILES.put(file, new WeakReference<>(tables));
+            return tables;
+        }
+    }
+
+    /**
+     * The all-pairs tables of a single {@link CompiledRegion}. The row of a target node starts at
+     * {@code id * size} and contains the duration to and the next hop towards the target for every node. The tables
+     * are either stored on the heap or mapped from a file.
+     */
+    private static final class Table {
+
+        private final CompiledRegion graph;
+        private final int size;
+        private final LongBuffer durations;
+        private final IntBuffer next;
+        private final boolean mapped;
+
+        private Table(CompiledRegion graph, LongBuffer durations, IntBuffer next, boolean mapped) {
+            this.graph = graph;
+            this.size = graph.getNodeCount();
+            this.durations = durations;
+            this.next = next;
+            this.mapped = mapped;
+        }
+
+        private static Table compute(CompiledRegion graph) {
+            int size = graph.getNodeCount();
+            long[] durations = new long[size * size];
+            int[] next = new int[size * size];
+            IntStream.range(0, size).parallel().forEach(target -> {
+                ShortestPathTree tree = execute(graph, target);
+                System.arraycopy(tree.durations, 0, durations, target * size, size);
+                System.arraycopy(tree.next, 0, next, target * size, size);
+            });
+            return new Table(graph, LongBuffer.wrap(durations), IntBuffer.wrap(next), false);
+        }
+    }
+}
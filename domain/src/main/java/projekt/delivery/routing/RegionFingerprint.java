@@ -0,0 +1,95 @@
+package projekt.delivery.routing;
+
+import projekt.base.Location;
+
+import java.util.Arrays;
+
+/**
+ * The structure of a {@link CompiledRegion}: the locations of its nodes and its arcs with their durations.<p>
+ *
+ * Two {@link CompiledRegion}s with equal fingerprints assign the same ids to nodes at the same locations and have
+ * the same arcs, so every search on them yields the same result, even if they were compiled from different
+ * {@link Region} instances. The names of nodes and edges are not part of the structure. The 64-bit hash is only used
+ * to find candidates, {@link #equals(Object)} compares the whole structure.
+ */
+final class RegionFingerprint {
+
+    private final long hash;
+    private final Location[] locations;
+    private final int[] offsets;
+    private final int[] targets;
+    private final long[] durations;
+
+    private RegionFingerprint(CompiledRegion graph) {
+        Region.Node[] nodes = graph.nodes();
+        this.locations = new Location[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            locations[i] = nodes[i].getLocation();
+        }
+        // the arrays of a compiled region are never modified, they can be shared
+        this.offsets = graph.offsets;
+        this.targets = graph.targets;
+        this.durations = graph.durations;
+
+        long hash = nodes.length;
+        for (Location location : locations) {
+            hash = mix(mix(hash, location.getX()), location.getY());
+        }
+        for (int i = 0; i < targets.length; i++) {
+            hash = mix(mix(hash, targets[i]), durations[i]);
+        }
+        for (int offset : offsets) {
+            hash = mix(hash, offset);
+        }
+        this.hash = hash;
+    }
+
+    private static long mix(long hash, long value) {
+        long result = (hash ^ value) * 0x9E3779B97F4A7C15L;
+        return result ^ (result >>> 29);
+    }
+
+    /**
+     * Calculates the fingerprint of the given {@link CompiledRegion}.
+     * @param graph The {@link CompiledRegion} to calculate the fingerprint of.
+     * @return The fingerprint of the given {@link CompiledRegion}.
+     */
+    static RegionFingerprint of(CompiledRegion graph) {
+        return new RegionFingerprint(graph);
+    }
+
+    /**
+     * Returns the 64-bit hash of the structure.
+     * @return The 64-bit hash of the structure.
+     */
+    long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns an estimate of the amount of memory retained by this fingerprint in bytes, including the arrays shared
+     * with the {@link CompiledRegion}, which outlive it as long as the fingerprint is referenced.
+     * @return An estimate of the memory retained by this fingerprint in bytes.
+     */
+    long estimateMemory() {
+        return 48L + 4L * locations.length + 4L * offsets.length + 12L * targets.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof RegionFingerprint other
+            && hash == other.hash
+            && Arrays.equals(locations, other.locations)
+            && Arrays.equals(offsets, other.offsets)
+            && Arrays.equals(targets, other.targets)
+            && Arrays.equals(durations, other.durations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+}
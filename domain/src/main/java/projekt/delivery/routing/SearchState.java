@@ -0,0 +1,112 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * The reusable state of a single search on a {@link CompiledRegion}.<p>
+ *
+ * Instead of clearing its arrays before every search, entries are marked with the current search stamp so that
+ * resetting the state is independent of the size of the {@link CompiledRegion}. A {@link SearchState} must only be
+ * used by a single thread at a time.
+ */
+final class SearchState {
+
+    final CompiledRegion graph;
+    final IndexedMinHeap queue;
+    private final long[] durations;
+    private final int[] parents;
+    private final int[] stamps;
+    private int stamp = 1;
+
+    /**
+     * Creates a new {@link SearchState} for the given {@link CompiledRegion}.
+     * @param graph The {@link CompiledRegion} to search.
+     */
+    SearchState(CompiledRegion graph) {
+        int size = graph.getNodeCount();
+        this.graph = graph;
+        this.queue = new IndexedMinHeap(size);
+        this.durations = new long[size];
+        this.parents = new int[size];
+        this.stamps = new int[size];
+    }
+
+    /**
+     * Prepares this state for a new search.
+     */
+    void reset() {
+        queue.clear();
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Returns whether the node with the given id has been reached by the current search.
+     * @param id The id of the node.
+     * @return {@code true} if the node has been reached.
+     */
+    boolean isReached(int id) {
+        return stamps[id] == stamp;
+    }
+
+    /**
+     * Returns the tentative duration of the node with the given id.
+     * @param id The id of the node.
+     * @return The tentative duration or {@link ShortestPathTree#UNREACHABLE} if the node has not been reached.
+     */
+    long getDuration(int id) {
+        return stamps[id] == stamp ? durations[id] : ShortestPathTree.UNREACHABLE;
+    }
+
+    /**
+     * Returns the parent of the node with the given id.
+     * @param id The id of the node.
+     * @return The id of the parent or {@code -1} if the node is the root of the search.
+     */
+    int getParent(int id) {
+        return parents[id];
+    }
+
+    /**
+     * Sets the tentative duration and the parent of the node with the given id.
+     * @param id The id of the node.
+     * @param duration The tentative duration.
+     * @param parent The id of the parent or {@code -1} if the node is the root of the search.
+     */
+    void update(int id, long duration, int parent) {
+        stamps[id] = stamp;
+        durations[id] = duration;
+        parents[id] = parent;
+    }
+
+    /**
+     * Returns the path from the root of the current search to the node with the given id.
+     * @param end The id of the reached node.
+     * @return A list of nodes (excluding the root and including the end) that represent the path from the root to the
+     * end.
+     */
+    Deque<Region.Node> getPath(int end) {
+        return ImmutablePath.of(getPathNodes(end, 0));
+    }
+
+    /**
+     * Returns the nodes of the path from the root to the given end followed by {@code extra} empty slots.
+     * @param end The id of the end node.
+     * @param extra The amount of empty slots at the end of the returned array.
+     * @return An array starting with the nodes of the path (excluding the root and including the end).
+     */
+    Region.Node[] getPathNodes(int end, int extra) {
+        int length = 0;
+        for (int node = end; parents[node] >= 0; node = parents[node]) {
+            length++;
+        }
+        Region.Node[] path = new Region.Node[length + extra];
+        for (int node = end; parents[node] >= 0; node = parents[node]) {
+            path[--length] = graph.getNode(node);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,174 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A shortest path tree of a {@link CompiledRegion} rooted at a single {@link Region.Node}.<p>
+ *
+ * For every node the tree stores the duration of its shortest path to the root and the next node on that path. Since
+ * edges are undirected, the same tree describes the shortest paths from the root to every node as well.
+ */
+public final class ShortestPathTree {
+
+    /**
+     * The duration of nodes that can not reach the root of the tree.
+     */
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final CompiledRegion graph;
+    private final int root;
+    /**
+     * The duration of the shortest path from every node to the root, {@link #UNREACHABLE} if there is none.
+     */
+    final long[] durations;
+    /**
+     * The id of the next node on the shortest path from every node to the root, {@code -1} for the root itself and
+     * for unreachable nodes.
+     */
+    final int[] next;
+
+    /**
+     * Creates a new {@link ShortestPathTree}. The given arrays are not copied.
+     * @param graph The {@link CompiledRegion} the tree belongs to.
+     * @param root The id of the root.
+     * @param durations The duration of the shortest path from every node to the root.
+     * @param next The id of the next node on the shortest path from every node to the root.
+     */
+    ShortestPathTree(CompiledRegion graph, int root, long[] durations, int[] next) {
+        this.graph = graph;
+        this.root = root;
+        this.durations = durations;
+        this.next = next;
+    }
+
+    /**
+     * Returns the {@link CompiledRegion} this tree belongs to.
+     * @return The {@link CompiledRegion} this tree belongs to.
+     */
+    public CompiledRegion getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the root of this tree.
+     * @return The root of this tree.
+     */
+    public Region.Node getRoot() {
+        return graph.getNode(root);
+    }
+
+    /**
+     * Returns the id of the root of this tree.
+     * @return The id of the root of this tree.
+     */
+    public int getRootId() {
+        return root;
+    }
+
+    /**
+     * Returns the duration of the shortest path from the given {@link Region.Node} to the root.
+     * @param node The start of the path.
+     * @return The duration of the shortest path or {@link #UNREACHABLE} if the root can not be reached.
+     */
+    public long getDuration(Region.Node node) {
+        return durations[graph.getId(node)];
+    }
+
+    /**
+     * Returns the duration of the shortest path from the node with the given id to the root.
+     * @param id The id of the start of the path.
+     * @return The duration of the shortest path or {@link #UNREACHABLE} if the root can not be reached.
+     */
+    public long getDuration(int id) {
+        return durations[id];
+    }
+
+    /**
+     * Returns the durations of the shortest paths from every {@link Region.Node} to the root.
+     * @return The {@link NodeDurations} of this tree, backed by the same array.
+     */
+    public NodeDurations getDurations() {
+        return new NodeDurations(getRoot(), graph.nodes(), durations);
+    }
+
+    /**
+     * Returns the next {@link Region.Node} on the shortest path from the given {@link Region.Node} to the root.
+     * @param node The start of the path.
+     * @return The next {@link Region.Node} or {@code null} if the given node is the root or can not reach it.
+     */
+    public @Nullable Region.Node getNextHop(Region.Node node) {
+        int hop = next[graph.getId(node)];
+        return hop < 0 ? null : graph.getNode(hop);
+    }
+
+    /**
+     * Returns the id of the next node on the shortest path from the node with the given id to the root.
+     * @param id The id of the start of the path.
+     * @return The id of the next node or {@code -1} if the given node is the root or can not reach it.
+     */
+    public int getNextHop(int id) {
+        return next[id];
+    }
+
+    /**
+     * Returns the shortest path from the given {@link Region.Node} to the root. The returned path is immutable, so it
+     * can be handed to any amount of {@link Vehicle}s without copying it.
+     * @param start The start of the path.
+     * @return A list of nodes (excluding start and including the root) that represent the path from start to the root.
+     * @throws IllegalArgumentException If the root can not be reached from the given {@link Region.Node}.
+     */
+    public Deque<Region.Node> getPath(Region.Node start) {
+        return getPath(graph.getId(start));
+    }
+
+    private Deque<Region.Node> getPath(int start) {
+        if (durations[start] == UNREACHABLE) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(graph.getNode(start), getRoot()));
+        }
+        int length = 0;
+        for (int node = next[start]; node >= 0; node = next[node]) {
+            length++;
+        }
+        Region.Node[] path = new Region.Node[length];
+        int index = 0;
+        for (int node = next[start]; node >= 0; node = next[node]) {
+            path[index++] = graph.getNode(node);
+        }
+        return ImmutablePath.of(path);
+    }
+
+    /**
+     * Returns the shortest paths from every {@link Region.Node} that can reach the root to the root.
+     * @return A {@link Map} mapping each node to a list of nodes (excluding the node and including the root) that
+     * represent the path from the node to the root.
+     */
+    public Map<Region.Node, Deque<Region.Node>> getAllPaths() {
+        Map<Region.Node, Deque<Region.Node>> paths = new HashMap<>();
+        for (int id = 0; id < durations.length; id++) {
+            if (durations[id] != UNREACHABLE) {
+                paths.put(graph.getNode(id), getPath(id));
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Returns a copy of this tree that does not share its arrays with this tree.
+     * @return A copy of this tree.
+     */
+    ShortestPathTree copy() {
+        return new ShortestPathTree(graph, root, durations.clone(), next.clone());
+    }
+
+    /**
+     * Returns an estimate of the amount of memory used by this {@link ShortestPathTree} in bytes.
+     * @return An estimate of the memory used by this {@link ShortestPathTree} in bytes.
+     */
+    public long estimateMemory() {
+        return 12L * durations.length;
+    }
+}
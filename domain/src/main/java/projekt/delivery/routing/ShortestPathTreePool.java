@@ -0,0 +1,236 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A memory-bounded cache of {@link ShortestPathTree}s shared by all {@link PathCalculator}s that use it.<p>
+ *
+ * The trees are keyed by the structure of their {@link CompiledRegion} and the id of their root instead of the
+ * {@link Region} instance, so identical regions, e.g. the regions of several problems built from the same road
+ * network or the region of a problem that is simulated several times, share their trees. The structure of a region is
+ * kept while any of its trees is cached and counts against the capacity as well. When the estimated memory of the
+ * cached trees and structures exceeds the capacity, the least recently used trees are evicted.<p>
+ *
+ * The arrays of the cached trees are shared with every tree returned by {@link #getTree(CompiledRegion, int)} and
+ * must never be modified. Regions whose arc durations change, like the one of a {@link DynamicPathCalculator}, must
+ * not be used with a pool. It may be used by several threads at once.<p>
+ *
+ * Only the {@link CompiledDijkstraPathCalculator} and the calculators derived from it use a pool. The
+ * {@link DijkstraPathCalculator}, which the preset problems use, does not, and neither does a
+ * {@link CachedPathCalculator} wrapping it. A problem benefits from a pool only if it is set up with one of the
+ * compiled calculators, e.g. in its problem file or in the GUI.
+ */
+public final class ShortestPathTreePool {
+
+    /**
+     * The default capacity of a pool in bytes.
+     */
+    public static final long DEFAULT_CAPACITY = 64L << 20;
+
+    private static final ShortestPathTreePool SHARED = new ShortestPathTreePool(DEFAULT_CAPACITY);
+
+    private final long capacity;
+    private final Map<CompiledRegion, RegionFingerprint> fingerprints = new WeakHashMap<>();
+    private final Map<RegionFingerprint, CachedRegion> regions = new HashMap<>();
+    private final Map<TreeKey, CachedTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+    private final Lock lock = new ReentrantLock();
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long memory;
+
+    /**
+     * Creates a new, empty {@link ShortestPathTreePool}.
+     * @param capacity The maximum estimated memory of the cached trees and region structures in bytes.
+     * @throws IllegalArgumentException If the capacity is negative.
+     */
+    public ShortestPathTreePool(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the process-wide {@link ShortestPathTreePool} with a capacity of {@link #DEFAULT_CAPACITY} bytes that
+     * is used by the {@link PathCalculator}s of this package by default.
+     * @return The shared {@link ShortestPathTreePool}.
+     */
+    public static ShortestPathTreePool getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the maximum estimated memory of the cached trees and region structures in bytes.
+     * @return The capacity of this pool in bytes.
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the {@link ShortestPathTree} rooted at the node with the given id, calculating and caching it if no
+     * tree of a structurally identical {@link CompiledRegion} is cached.
+     * @param graph The {@link CompiledRegion} to return the tree of.
+     * @param root The id of the root.
+     * @return The {@link ShortestPathTree} rooted at the given node, belonging to the given {@link CompiledRegion}.
+     */
+    public ShortestPathTree getTree(CompiledRegion graph, int root) {
+        TreeKey key;
+        lock.lock();
+        try {
+            key = new TreeKey(getFingerprint(graph), root);
+            @Nullable CachedTree cached = trees.get(key);
+            if (cached != null) {
+                hits++;
+                return new ShortestPathTree(graph, root, cached.durations, cached.next);
+            }
+            misses++;
+        } finally {
+            lock.unlock();
+        }
+
+        // calculate outside the lock, so that other threads can use the pool in the meantime
+        ShortestPathTree tree = CompiledDijkstraPathCalculator.execute(graph, root);
+
+        lock.lock();
+        try {
+            @Nullable CachedTree previous = trees.get(key);
+            if (previous != null) {
+                // another thread calculated the same tree in the meantime
+                return new ShortestPathTree(graph, root, previous.durations, previous.next);
+            }
+            CachedTree cached = new CachedTree(tree.durations, tree.next, 64L + tree.estimateMemory());
+            @Nullable CachedRegion region = regions.get(key.fingerprint);
+            long fingerprintMemory = region == null ? key.fingerprint.estimateMemory() : 0;
+            if (cached.memory + fingerprintMemory > capacity) {
+                return tree;
+            }
+            if (region == null) {
+                region = new CachedRegion(key.fingerprint);
+                regions.put(key.fingerprint, region);
+                memory += fingerprintMemory;
+            }
+            region.trees++;
+            trees.put(new TreeKey(region.fingerprint, root), cached);
+            memory += cached.memory;
+
+            // Limit memory
+            Iterator<Map.Entry<TreeKey, CachedTree>> iterator = trees.entrySet().iterator();
+            while (memory > capacity) {
+                Map.Entry<TreeKey, CachedTree> eldest = iterator.next();
+                iterator.remove();
+                memory -= eldest.getValue().memory;
+                evictions++;
+                CachedRegion evicted = regions.get(eldest.getKey().fingerprint);
+                if (--evicted.trees == 0) {
+                    // the structure is only kept while any of its trees is cached
+                    regions.remove(evicted.fingerprint);
+                    memory -= evicted.fingerprint.estimateMemory();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return tree;
+    }
+
+    /**
+     * Returns the fingerprint of the given {@link CompiledRegion}, which is the canonical one if any tree of an
+     * identical structure is cached. Must be called while holding the lock.
+     */
+    private RegionFingerprint getFingerprint(CompiledRegion graph) {
+        @Nullable RegionFingerprint fingerprint = fingerprints.get(graph);
+        if (fingerprint == null) {
+            fingerprint = RegionFingerprint.of(graph);
+        }
+        @Nullable CachedRegion region = regions.get(fingerprint);
+        if (region != null) {
+            fingerprint = region.fingerprint;
+        }
+        fingerprints.put(graph, fingerprint);
+        return fingerprint;
+    }
+
+    /**
+     * Removes all cached trees and fingerprints from this pool. The statistics are kept.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            trees.clear();
+            fingerprints.clear();
+            regions.clear();
+            memory = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current statistics of this pool.
+     * @return The current {@link Stats} of this pool.
+     */
+    public Stats getStats() {
+        lock.lock();
+        try {
+            return new Stats(hits, misses, evictions, trees.size(), regions.size(), memory);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The statistics of a {@link ShortestPathTreePool}.
+     * @param hits The amount of trees returned from the pool.
+     * @param misses The amount of trees that had to be calculated.
+     * @param evictions The amount of trees removed from the pool because it was full.
+     * @param entries The amount of trees currently cached.
+     * @param regions The amount of distinct region structures of the cached trees.
+     * @param memory An estimate of the memory used by the cached trees and region structures in bytes.
+     */
+    public record Stats(long hits, long misses, long evictions, int entries, int regions, long memory) {
+
+        /**
+         * Returns the fraction of trees returned from the pool.
+         * @return The fraction of trees returned from the pool or {@code 0} if there were no requests.
+         */
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    /**
+     * The key of a cached tree. Fingerprints are canonical, so comparing them usually only compares references.
+     */
+    private record TreeKey(RegionFingerprint fingerprint, int root) {
+    }
+
+    /**
+     * The canonical fingerprint of a region structure and the amount of its cached trees.
+     */
+    private static final class CachedRegion {
+
+        private final RegionFingerprint fingerprint;
+        private int trees;
+
+        private CachedRegion(RegionFingerprint fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    /**
+     * The arrays of a cached tree, independent of the {@link CompiledRegion} it was calculated on.
+     */
+    private record CachedTree(long[] durations, int[] next, long memory) {
+    }
+}
@@ -0,0 +1,227 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * An immutable spatial index over the {@link Region.Node}s of a {@link Region}, answering nearest neighbour, radius
+ * and bounding box queries without scanning all nodes.<p>
+ *
+ * The nodes are stored in an implicit k-d tree: every range of the node array is split at its median, alternating
+ * between the x- and the y-coordinate with every level. Distances are measured as Euclidean distances between the
+ * {@link Location}s of the nodes, independent of the {@link projekt.base.DistanceCalculator} of the {@link Region}.
+ * Nodes with the same distance are ordered by their natural order.
+ */
+public final class SpatialIndex {
+
+    private static final Comparator<Region.Node> BY_X = Comparator
+        .<Region.Node>comparingInt(node -> node.getLocation().getX())
+        .thenComparingInt(node -> node.getLocation().getY());
+    private static final Comparator<Region.Node> BY_Y = Comparator
+        .<Region.Node>comparingInt(node -> node.getLocation().getY())
+        .thenComparingInt(node -> node.getLocation().getX());
+
+    private final Region region;
+    private final Region.Node[] nodes;
+    private final int[] xs;
+    private final int[] ys;
+
+    private SpatialIndex(Region region) {
+        this.region = region;
+        this.nodes = region.getNodes().toArray(Region.Node[]::new);
+        build(0, nodes.length, 0);
+        this.xs = new int[nodes.length];
+        this.ys = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            xs[i] = nodes[i].getLocation().getX();
+            ys[i] = nodes[i].getLocation().getY();
+        }
+    }
+
+    /**
+     * Builds a new {@link SpatialIndex} over the {@link Region.Node}s of the given {@link Region}.
+     * @param region The {@link Region} to index.
+     * @return The {@link SpatialIndex} of the given {@link Region}.
+     */
+    public static SpatialIndex of(Region region) {
+        return new SpatialIndex(region);
+    }
+
+    private void build(int from, int to, int depth) {
+        if (to - from <= 1) {
+            return;
+        }
+        Arrays.sort(nodes, from, to, depth % 2 == 0 ? BY_X : BY_Y);
+        int mid = (from + to) >>> 1;
+        build(from, mid, depth + 1);
+        build(mid + 1, to, depth + 1);
+    }
+
+    /**
+     * Returns the indexed {@link Region}.
+     * @return The indexed {@link Region}.
+     */
+    public Region getRegion() {
+        return region;
+    }
+
+    /**
+     * Returns the amount of indexed {@link Region.Node}s.
+     * @return The amount of indexed {@link Region.Node}s.
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the {@link Region.Node} closest to the given {@link Location}.
+     * @param location The {@link Location} to search from.
+     * @return The closest {@link Region.Node} or {@code null} if the {@link Region} does not contain any nodes.
+     */
+    public @Nullable Region.Node getNearestNode(Location location) {
+        List<Region.Node> nearest = getNearestNodes(location, 1);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    /**
+     * Returns the {@code k} {@link Region.Node}s closest to the given {@link Location}, ordered by their distance.
+     * @param location The {@link Location} to search from.
+     * @param k The maximum amount of returned {@link Region.Node}s.
+     * @return The {@code k} closest {@link Region.Node}s, or all nodes if the {@link Region} contains fewer nodes.
+     * @throws IllegalArgumentException If {@code k} is negative.
+     */
+    public List<Region.Node> getNearestNodes(Location location, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        final int x = location.getX();
+        final int y = location.getY();
+        Comparator<Integer> closerFirst = Comparator.<Integer>comparingLong(i -> distance(i, x, y))
+            .thenComparing(i -> nodes[i]);
+        PriorityQueue<Integer> candidates = new PriorityQueue<>(Math.max(1, k), closerFirst.reversed());
+        if (k > 0) {
+            searchNearest(0, nodes.length, 0, x, y, k, candidates);
+        }
+
+        List<Integer> sorted = new ArrayList<>(candidates);
+        sorted.sort(closerFirst);
+        return sorted.stream().map(i -> nodes[i]).toList();
+    }
+
+    private void searchNearest(int from, int to, int depth, int x, int y, int k, PriorityQueue<Integer> candidates) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        if (candidates.size() < k) {
+            candidates.add(mid);
+        } else if (candidates.comparator().compare(mid, candidates.peek()) > 0) {
+            candidates.poll();
+            candidates.add(mid);
+        }
+
+        long difference = depth % 2 == 0 ? (long) x - xs[mid] : (long) y - ys[mid];
+        if (difference < 0) {
+            searchNearest(from, mid, depth + 1, x, y, k, candidates);
+        } else {
+            searchNearest(mid + 1, to, depth + 1, x, y, k, candidates);
+        }
+        // the other side can only contain closer nodes if the splitting line is not further away than the worst candidate
+        if (candidates.size() < k || difference * difference <= distance(candidates.peek(), x, y)) {
+            if (difference < 0) {
+                searchNearest(mid + 1, to, depth + 1, x, y, k, candidates);
+            } else {
+                searchNearest(from, mid, depth + 1, x, y, k, candidates);
+            }
+        }
+    }
+
+    /**
+     * Returns all {@link Region.Node}s whose distance to the given {@link Location} is at most the given radius,
+     * ordered by their distance.
+     * @param center The center of the searched circle.
+     * @param radius The radius of the searched circle.
+     * @return All {@link Region.Node}s inside the circle.
+     * @throws IllegalArgumentException If the radius is negative or not a number.
+     */
+    public List<Region.Node> getNodesWithin(Location center, double radius) {
+        if (!(radius >= 0)) {
+            throw new IllegalArgumentException("radius must not be negative: " + radius);
+        }
+        final int x = center.getX();
+        final int y = center.getY();
+        // locations are integral, so the largest included squared distance is the squared radius rounded down
+        final long maxDistance = radius * radius >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) Math.floor(radius * radius);
+        List<Integer> result = new ArrayList<>();
+        searchWithin(0, nodes.length, 0, x, y, maxDistance, result);
+        result.sort(Comparator.<Integer>comparingLong(i -> distance(i, x, y)).thenComparing(i -> nodes[i]));
+        return result.stream().map(i -> nodes[i]).toList();
+    }
+
+    private void searchWithin(int from, int to, int depth, int x, int y, long maxDistance, List<Integer> result) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        if (distance(mid, x, y) <= maxDistance) {
+            result.add(mid);
+        }
+        long difference = depth % 2 == 0 ? (long) x - xs[mid] : (long) y - ys[mid];
+        boolean lineInRange = difference * difference <= maxDistance;
+        if (difference < 0 || lineInRange) {
+            searchWithin(from, mid, depth + 1, x, y, maxDistance, result);
+        }
+        if (difference >= 0 || lineInRange) {
+            searchWithin(mid + 1, to, depth + 1, x, y, maxDistance, result);
+        }
+    }
+
+    /**
+     * Returns all {@link Region.Node}s inside the axis-aligned box spanned by the two given corners, including its
+     * border, in their natural order.
+     * @param cornerA A corner of the box.
+     * @param cornerB The opposite corner of the box.
+     * @return All {@link Region.Node}s inside the box.
+     */
+    public List<Region.Node> getNodesInBox(Location cornerA, Location cornerB) {
+        final int minX = Math.min(cornerA.getX(), cornerB.getX());
+        final int maxX = Math.max(cornerA.getX(), cornerB.getX());
+        final int minY = Math.min(cornerA.getY(), cornerB.getY());
+        final int maxY = Math.max(cornerA.getY(), cornerB.getY());
+        List<Region.Node> result = new ArrayList<>();
+        searchBox(0, nodes.length, 0, minX, maxX, minY, maxY, result);
+        result.sort(null);
+        return result;
+    }
+
+    private void searchBox(int from, int to, int depth, int minX, int maxX, int minY, int maxY, List<Region.Node> result) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        if (xs[mid] >= minX && xs[mid] <= maxX && ys[mid] >= minY && ys[mid] <= maxY) {
+            result.add(nodes[mid]);
+        }
+        int split = depth % 2 == 0 ? xs[mid] : ys[mid];
+        int min = depth % 2 == 0 ? minX : minY;
+        int max = depth % 2 == 0 ? maxX : maxY;
+        if (min <= split) {
+            searchBox(from, mid, depth + 1, minX, maxX, minY, maxY, result);
+        }
+        if (max >= split) {
+            searchBox(mid + 1, to, depth + 1, minX, maxX, minY, maxY, result);
+        }
+    }
+
+    private long distance(int index, int x, int y) {
+        long dx = (long) xs[index] - x;
+        long dy = (long) ys[index] - y;
+        return dx * dx + dy * dy;
+    }
+}
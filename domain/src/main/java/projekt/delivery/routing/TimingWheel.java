@@ -0,0 +1,143 @@
+package projekt.delivery.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hashed timing wheel that releases its elements at the tick they are due.<p>
+ *
+ * Every element is stored in the bucket of its due tick modulo the size of the wheel, so adding an element and
+ * polling a tick only touch the elements of the polled buckets instead of all elements. Elements that are due more
+ * than one rotation ahead stay in their bucket until their tick is reached. If ticks are skipped, polling releases
+ * every element that became due in the meantime.
+ * @param <T> The type of the elements.
+ */
+final class TimingWheel<T> {
+
+    /**
+     * The default amount of buckets of a {@link TimingWheel}.
+     */
+    static final int DEFAULT_SIZE = 256;
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final List<List<Entry<T>>> buckets;
+    private final int mask;
+    private long lastTick = NONE;
+    private int size;
+
+    /**
+     * Creates a new, empty {@link TimingWheel} with {@link #DEFAULT_SIZE} buckets.
+     */
+    TimingWheel() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates a new, empty {@link TimingWheel}.
+     * @param size The amount of buckets, must be a power of two.
+     * @throws IllegalArgumentException If the size is not a positive power of two.
+     */
+    TimingWheel(int size) {
+        if (size <= 0 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("size must be a positive power of two: " + size);
+        }
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds an element that is due at the given tick. Elements that are due at or before the last polled tick are
+     * released by the next poll.
+     * @param element The element to add.
+     * @param dueTick The tick at which the element is due.
+     */
+    void add(T element, long dueTick) {
+        long bucketTick = lastTick == NONE ? dueTick : Math.max(dueTick, lastTick + 1);
+        buckets.get((int) (bucketTick & mask)).add(new Entry<>(element, dueTick));
+        size++;
+    }
+
+    /**
+     * Removes and returns all elements that are due at or before the given tick, in the order of their buckets.
+     * @param currentTick The tick to poll.
+     * @return The elements that are due at or before the given tick.
+     */
+    List<T> poll(long currentTick) {
+        if (size == 0) {
+            lastTick = currentTick;
+            return List.of();
+        }
+        final List<T> result = new ArrayList<>();
+        if (lastTick == NONE || currentTick <= lastTick || currentTick - lastTick >= buckets.size()) {
+            for (List<Entry<T>> bucket : buckets) {
+                drain(bucket, currentTick, result);
+            }
+        } else {
+            for (long tick = lastTick + 1; tick <= currentTick; tick++) {
+                drain(buckets.get((int) (tick & mask)), currentTick, result);
+            }
+        }
+        lastTick = currentTick;
+        return result;
+    }
+
+    private void drain(List<Entry<T>> bucket, long currentTick, List<T> result) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            final Entry<T> entry = bucket.get(i);
+            if (entry.dueTick <= currentTick) {
+                result.add(entry.element);
+            } else {
+                bucket.set(kept++, entry);
+            }
+        }
+        size -= bucket.size() - kept;
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    /**
+     * Returns the earliest tick at which an element is due. This inspects every element.
+     * @return The earliest tick at which an element is due or {@link Long#MAX_VALUE} if the wheel is empty.
+     */
+    long getNextDueTick() {
+        long next = Long.MAX_VALUE;
+        if (size == 0) {
+            return next;
+        }
+        for (List<Entry<T>> bucket : buckets) {
+            for (Entry<T> entry : bucket) {
+                next = Math.min(next, entry.dueTick);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Returns the amount of elements in this wheel.
+     * @return The amount of elements in this wheel.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all elements from this wheel.
+     */
+    void clear() {
+        for (List<Entry<T>> bucket : buckets) {
+            bucket.clear();
+        }
+        size = 0;
+        lastTick = NONE;
+    }
+
+    private record Entry<T>(T element, long dueTick) {
+    }
+}
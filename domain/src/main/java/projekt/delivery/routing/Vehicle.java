@@ -29,6 +29,36 @@ public interface Vehicle extends Comparable<Vehicle> {
 
     List<? extends Path> getPaths();
 
+    /**
+     * Returns a read-only view of the queued {@link Path}s of this {@link Vehicle}.
+     *
+     * <p>
+     * In contrast to {@link #getPaths()} the view is not a copy, it reflects later changes of the move queue.
+     * The {@link Deque}s returned by {@link Path#nodes()} must not be modified.
+     * </p>
+     *
+     * @return A read-only view of the queued {@link Path}s of this {@link Vehicle}.
+     */
+    default Collection<? extends Path> getPathsView() {
+        return getPaths();
+    }
+
+    /**
+     * Returns the final destination of this {@link Vehicle}, i.e. the last node of its queued route.
+     *
+     * @return The last node of the last non-empty queued {@link Path} or {@code null} if no node is queued.
+     */
+    default @Nullable Region.Node getDestination() {
+        List<? extends Path> paths = getPaths();
+        for (int i = paths.size() - 1; i >= 0; i--) {
+            final @Nullable Region.Node last = paths.get(i).nodes().peekLast();
+            if (last != null) {
+                return last;
+            }
+        }
+        return null;
+    }
+
     /**
      * Deletes the entire move queue and moves directly to the provided {@link Region.Node}.
      */
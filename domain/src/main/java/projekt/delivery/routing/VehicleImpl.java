@@ -1,6 +1,8 @@
 package projekt.delivery.routing;
 
 import org.jetbrains.annotations.Nullable;
+import projekt.delivery.log.LogLevel;
+import projekt.delivery.log.LogSink;
 
 import java.util.*;
 import java.util.function.BiConsumer;
@@ -12,8 +14,10 @@ class VehicleImpl implements Vehicle {
     private final List<ConfirmedOrder> orders = new ArrayList<>();
     private final VehicleManagerImpl vehicleManager;
     private final Deque<PathImpl> moveQueue = new LinkedList<>();
+    private final Collection<PathImpl> unmodifiableMoveQueue = Collections.unmodifiableCollection(moveQueue);
     private final VehicleManager.OccupiedRestaurant startingNode;
     private AbstractOccupied<?> occupied;
+    private @Nullable PlannedMove plannedMove;
 
     public VehicleImpl(
         int id,
@@ -43,8 +47,26 @@ class VehicleImpl implements Vehicle {
         return new LinkedList<>(moveQueue);
     }
 
+    @Override
+    public Collection<? extends Path> getPathsView() {
+        return unmodifiableMoveQueue;
+    }
+
+    @Override
+    public @Nullable Region.Node getDestination() {
+        final Iterator<PathImpl> it = moveQueue.descendingIterator();
+        while (it.hasNext()) {
+            final @Nullable Region.Node last = it.next().nodes().peekLast();
+            if (last != null) {
+                return last;
+            }
+        }
+        return null;
+    }
+
     void setOccupied(AbstractOccupied<?> occupied) {
         this.occupied = occupied;
+        vehicleManager.schedule(this);
     }
 
     @Override
@@ -86,9 +108,26 @@ class VehicleImpl implements Vehicle {
                 throw new AssertionError("It is not possible to be on an edge if the move queue is naturally empty");
             }
         }
-        final Deque<Region.Node> nodes = vehicleManager.getPathCalculator().getPath(startNode, node);
-        moveQueue.add(new PathImpl(nodes, ((BiConsumer<Vehicle, Long>) (v, t) ->
-            System.out.println("Vehicle " + v.getId() + " arrived at node " + node)).andThen(arrivalAction)));
+        Deque<Region.Node> nodes;
+        if (vehicleManager.isNextHopMovement()) {
+            nodes = new NextHopPath(vehicleManager.getPathCalculator(), startNode, node);
+        } else {
+            nodes = vehicleManager.getPathCalculator().getPath(startNode, node);
+            // the nodes are removed while moving, shared paths are consumed through a cursor instead
+            if (nodes instanceof ImmutablePath immutablePath) {
+                nodes = immutablePath.consume();
+            }
+        }
+        final LogSink logSink = vehicleManager.getLogSink();
+        if (logSink.isEnabled(LogLevel.DEBUG)) {
+            moveQueue.add(new PathImpl(nodes, ((BiConsumer<Vehicle, Long>) (v, t) ->
+                logSink.log(LogLevel.DEBUG, t, "Vehicle " + v.getId() + " arrived at node " + node)).andThen(arrivalAction)));
+        } else {
+            moveQueue.add(new PathImpl(nodes, arrivalAction));
+        }
+        if (occupied instanceof OccupiedNodeImpl<?>) {
+            vehicleManager.schedule(this);
+        }
     }
 
     @Override
@@ -121,6 +160,7 @@ class VehicleImpl implements Vehicle {
         occupied = (AbstractOccupied<?>) startingNode;
         moveQueue.clear();
         orders.clear();
+        plannedMove = null;
     }
 
     private void checkMoveToNode(Region.Node node) {
@@ -129,8 +169,50 @@ class VehicleImpl implements Vehicle {
         }
     }
 
+    /**
+     * Determines the component this vehicle moves to in its next call of {@link #move(long)} if it follows its current
+     * path, without changing the state of any component or path. Planning the moves of different vehicles may therefore
+     * happen on several threads at once, as long as the {@link PathCalculator} supports concurrent calls. The next
+     * call of {@link #move(long)} uses the planned move if the vehicle is still at the same position, follows the same
+     * path and its next node has not changed in the meantime, otherwise it determines its move again.
+     */
+    void planMove() {
+        plannedMove = null;
+        final @Nullable PathImpl path = moveQueue.peek();
+        if (path == null) {
+            return;
+        }
+        // the next hop is only looked up, it is determined by the move itself after the previous arrival actions
+        final @Nullable Region.Node next = path.nodes() instanceof NextHopPath nextHopPath
+            ? nextHopPath.lookAhead()
+            : path.nodes().peek();
+        if (next == null) {
+            // the vehicle reached the end of its path, its arrival action has to run sequentially
+            return;
+        }
+        if (occupied instanceof OccupiedNodeImpl<?> node) {
+            plannedMove = new PlannedMove(path, occupied, next, vehicleManager.getOccupiedEdge(node.getComponent(), next));
+        } else {
+            plannedMove = new PlannedMove(path, occupied, next, vehicleManager.getOccupiedNode(next));
+        }
+    }
+
+    /**
+     * Returns the component determined by {@link #planMove()} for the given move and forgets the planned move.
+     * @param path The path the vehicle follows.
+     * @param next The node the vehicle moves to next.
+     * @return The planned component or {@code null} if the move has not been planned or the plan is outdated.
+     */
+    private @Nullable AbstractOccupied<?> takePlannedMove(PathImpl path, Region.Node next) {
+        final @Nullable PlannedMove planned = plannedMove;
+        plannedMove = null;
+        if (planned != null && planned.path() == path && planned.from() == occupied && planned.next() == next) {
+            return planned.to();
+        }
+        return null;
+    }
+
     void move(long currentTick) {
-        final Region region = vehicleManager.getRegion();
         if (moveQueue.isEmpty()) {
             return;
         }
@@ -145,10 +227,12 @@ class VehicleImpl implements Vehicle {
             }
         } else {
             Region.Node next = path.nodes().peek();
+            final @Nullable AbstractOccupied<?> planned = takePlannedMove(path, next);
             if (occupied instanceof OccupiedNodeImpl) {
-                vehicleManager.getOccupied(region.getEdge(((OccupiedNodeImpl<?>) occupied).getComponent(), next)).addVehicle(this, currentTick);
+                (planned != null ? planned : vehicleManager.getOccupiedEdge(((OccupiedNodeImpl<?>) occupied).getComponent(), next))
+                    .addVehicle(this, currentTick);
             } else if (occupied instanceof OccupiedEdgeImpl) {
-                vehicleManager.getOccupied(next).addVehicle(this, currentTick);
+                (planned != null ? planned : vehicleManager.getOccupiedNode(next)).addVehicle(this, currentTick);
                 path.nodes().pop();
             } else {
                 throw new AssertionError("Component must be either node or component");
@@ -188,4 +272,14 @@ class VehicleImpl implements Vehicle {
     private record PathImpl(Deque<Region.Node> nodes, BiConsumer<? super Vehicle, Long> arrivalAction) implements Path {
 
     }
+
+    /**
+     * A move determined by {@link #planMove()}.
+     * @param path The path the vehicle followed when the move was planned.
+     * @param from The component the vehicle occupied when the move was planned.
+     * @param next The next node of the path when the move was planned.
+     * @param to The component the vehicle moves to.
+     */
+    private record PlannedMove(PathImpl path, AbstractOccupied<?> from, Region.Node next, AbstractOccupied<?> to) {
+    }
 }
@@ -1,11 +1,16 @@
 package projekt.delivery.routing;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.base.Location;
 import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBatch;
 import projekt.delivery.event.EventBus;
+import projekt.delivery.event.EventRetention;
+import projekt.delivery.log.LogSink;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Manages all Vehicles on a {@link Region}.
@@ -32,6 +37,79 @@ public interface VehicleManager {
      */
     PathCalculator getPathCalculator();
 
+    /**
+     * Returns whether the {@link Vehicle}s of this {@link VehicleManager} move using next hops.
+     *
+     * <p>
+     * In this mode {@link Vehicle#moveQueued(Region.Node)} does not store the full path. Instead, the vehicle asks
+     * {@link PathCalculator#getNextHop(Region.Node, Region.Node)} for the next node whenever it reaches a node.
+     * </p>
+     *
+     * @return {@code true} if the {@link Vehicle}s move using next hops, {@code false} if they store their paths.
+     */
+    default boolean isNextHopMovement() {
+        return false;
+    }
+
+    /**
+     * Returns whether the {@link Vehicle}s of this {@link VehicleManager} travel the {@link Region.Edge}s in the
+     * durations used for routing by its {@link PathCalculator}.
+     *
+     * <p>
+     * In this mode a {@link Vehicle} entering an {@link Region.Edge} leaves it after
+     * {@link PathCalculator#getDuration(Region.Edge)} ticks, evaluated when it enters the edge. Otherwise it leaves the
+     * edge after {@link Region.Edge#getDuration()} ticks. Changing the durations of a {@link DynamicPathCalculator}
+     * while simulating, e.g. to model congestion, therefore slows the vehicles down only in this mode.
+     * </p>
+     *
+     * @return {@code true} if the {@link Vehicle}s use the durations of the {@link PathCalculator}, {@code false} if
+     * they use the durations of the {@link Region.Edge}s.
+     */
+    default boolean isDynamicEdgeDurations() {
+        return false;
+    }
+
+    /**
+     * Returns the {@link LogSink} the {@link Vehicle}s and the {@link EventBus} of this {@link VehicleManager} write to.
+     * @return The used {@link LogSink}.
+     */
+    default LogSink getLogSink() {
+        return LogSink.noOp();
+    }
+
+    /**
+     * Returns the {@link EventRetention} of the log of the {@link EventBus} of this {@link VehicleManager}.
+     * @return The used {@link EventRetention}.
+     */
+    default EventRetention getEventRetention() {
+        return EventRetention.disabled();
+    }
+
+    /**
+     * Returns the {@link ForkJoinPool} on which this {@link VehicleManager} plans the moves of its {@link Vehicle}s
+     * in parallel before it executes them in the same order as without the pool.
+     *
+     * <p>
+     * The moves, the {@link Event}s and the arrival actions are executed sequentially on the thread calling
+     * {@link #tick(long)}, so a tick has the same results with and without the pool. Only the next node of every moving
+     * {@link Vehicle} and the component it moves to are determined in parallel, which requires a {@link PathCalculator}
+     * that supports concurrent calls.
+     * </p>
+     *
+     * <p>
+     * The pool is only used with {@link #isNextHopMovement() next-hop movement}, where determining the next node asks
+     * the {@link PathCalculator}. Otherwise the next nodes are already part of the stored paths and the pool is
+     * ignored, since handing out the remaining lookups costs more than it saves. The work is split by
+     * {@link Vehicle}, not by occupied component: a tick only plans the moves of the {@link Vehicle}s that may move, and
+     * executing the moves of one component on another thread would change the order of the {@link Event}s.
+     * </p>
+     *
+     * @return The used {@link ForkJoinPool} or {@code null} if the moves are planned sequentially.
+     */
+    default @Nullable ForkJoinPool getTickPool() {
+        return null;
+    }
+
     /**
      * Returns all spawned {@link Vehicle}s
      * @return All spawned {@link Vehicle}s
@@ -98,15 +176,53 @@ public interface VehicleManager {
     /**
      * Executes the current tick.
      * @param currentTick the tick to execute.
-     * @return A {@link List} containing all {@link Event}s that occurred during the tick.
+     * @return A {@link List} containing all {@link Event}s that occurred during the tick. The implementations of this
+     * package return an {@link EventBatch}.
      */
     List<Event> tick(long currentTick);
 
+    /**
+     * Returns the first tick at or after the given tick at which {@link #tick(long)} may change the state of this
+     * {@link VehicleManager} or produce {@link Event}s, provided that no {@link Vehicle} receives new instructions in
+     * the meantime. Ticking this {@link VehicleManager} before that tick has no effect.<p>
+     *
+     * The default implementation returns the given tick, i.e. every tick may have an effect.
+     *
+     * @param currentTick The next tick that will be executed.
+     * @return The first tick at or after {@code currentTick} that may have an effect or {@link Long#MAX_VALUE} if no
+     * tick will have an effect.
+     */
+    default long getNextEventTick(long currentTick) {
+        return currentTick;
+    }
+
     /**
      * Resets this {@link VehicleManager} to its start state.
      */
     void reset();
 
+    /**
+     * Creates a new {@link VehicleManager} with the same {@link Region}, movement mode and {@link Vehicle}s as this
+     * {@link VehicleManager}, in its start state. It uses a {@link PathCalculator#copy() copy} of the
+     * {@link PathCalculator}, so the copy does not share any mutable state with this {@link VehicleManager} and both
+     * can be simulated at the same time.
+     * @return The created copy of this {@link VehicleManager}.
+     */
+    default VehicleManager copy() {
+        final Builder builder = builder()
+            .region(getRegion())
+            .pathCalculator(getPathCalculator().copy())
+            .nextHopMovement(isNextHopMovement())
+            .dynamicEdgeDurations(isDynamicEdgeDurations())
+            .logSink(getLogSink())
+            .eventRetention(getEventRetention())
+            .tickPool(getTickPool());
+        getAllVehicles().stream()
+            .sorted()
+            .forEach(vehicle -> builder.addVehicle(vehicle.getStartingNode().getComponent().getLocation(), vehicle.getCapacity()));
+        return builder.build();
+    }
+
     /**
      * Represents an occupied {@link Region.Component} that can be occupied by multiple {@link Vehicle}s.<p>
      * It has a reference to the original {@link Region.Component} which can be accessed via the {@link #getComponent()} method.
@@ -203,6 +319,52 @@ public interface VehicleManager {
          */
         Builder pathCalculator(PathCalculator pathCalculator);
 
+        /**
+         * Sets whether the {@link Vehicle}s of the constructed {@link VehicleManager} move using next hops.
+         * Defaults to {@code false}.
+         * @param nextHopMovement Whether the {@link Vehicle}s move using next hops.
+         * @return The current {@link Builder}.
+         * @see VehicleManager#isNextHopMovement()
+         */
+        Builder nextHopMovement(boolean nextHopMovement);
+
+        /**
+         * Sets whether the {@link Vehicle}s of the constructed {@link VehicleManager} travel the {@link Region.Edge}s
+         * in the durations used for routing by its {@link PathCalculator}. Defaults to {@code false}.
+         * @param dynamicEdgeDurations Whether the {@link Vehicle}s use the durations of the {@link PathCalculator}.
+         * @return The current {@link Builder}.
+         * @see VehicleManager#isDynamicEdgeDurations()
+         */
+        Builder dynamicEdgeDurations(boolean dynamicEdgeDurations);
+
+        /**
+         * Sets the {@link LogSink} the constructed {@link VehicleManager} writes to. Defaults to
+         * {@link LogSink#noOp()}.
+         * @param logSink The new {@link LogSink}.
+         * @return The current {@link Builder}.
+         * @see VehicleManager#getLogSink()
+         */
+        Builder logSink(LogSink logSink);
+
+        /**
+         * Sets the {@link EventRetention} of the log of the {@link EventBus} of the constructed {@link VehicleManager}.
+         * Defaults to {@link EventRetention.disabled()}.
+         * @param eventRetention The new {@link EventRetention}.
+         * @return The current {@link Builder}.
+         * @see EventBus#getLog()
+         */
+        Builder eventRetention(EventRetention eventRetention);
+
+        /**
+         * Sets the {@link ForkJoinPool} on which the constructed {@link VehicleManager} plans the moves of its
+         * {@link Vehicle}s. Defaults to {@code null}, i.e. sequential planning. The pool is only used together with
+         * {@link #nextHopMovement(boolean) next-hop movement}.
+         * @param tickPool The new {@link ForkJoinPool} or {@code null} to plan sequentially.
+         * @return The current {@link Builder}.
+         * @see VehicleManager#getTickPool()
+         */
+        Builder tickPool(@Nullable ForkJoinPool tickPool);
+
         /**
          * Adds a new {@link Vehicle} to the constructed {@link VehicleManager}.
          * @param startingLocation The starting {@link Location} of the new {@link Vehicle}.
@@ -1,16 +1,25 @@
 package projekt.delivery.routing;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.base.Location;
+import projekt.delivery.event.EventRetention;
+import projekt.delivery.log.LogSink;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 class VehicleManagerBuilderImpl implements VehicleManager.Builder {
 
     private final List<VehicleBuilder> vehicles = new ArrayList<>();
     private Region region;
     private PathCalculator pathCalculator;
+    private boolean nextHopMovement;
+    private boolean dynamicEdgeDurations;
+    private LogSink logSink = LogSink.noOp();
+    private EventRetention eventRetention = EventRetention.disabled();
+    private @Nullable ForkJoinPool tickPool;
 
     @Override
     public VehicleManager.Builder region(Region region) {
@@ -24,6 +33,36 @@ class VehicleManagerBuilderImpl implements VehicleManager.Builder {
         return this;
     }
 
+    @Override
+    public VehicleManager.Builder nextHopMovement(boolean nextHopMovement) {
+        this.nextHopMovement = nextHopMovement;
+        return this;
+    }
+
+    @Override
+    public VehicleManager.Builder dynamicEdgeDurations(boolean dynamicEdgeDurations) {
+        this.dynamicEdgeDurations = dynamicEdgeDurations;
+        return this;
+    }
+
+    @Override
+    public VehicleManager.Builder logSink(LogSink logSink) {
+        this.logSink = logSink;
+        return this;
+    }
+
+    @Override
+    public VehicleManager.Builder eventRetention(EventRetention eventRetention) {
+        this.eventRetention = eventRetention;
+        return this;
+    }
+
+    @Override
+    public VehicleManager.Builder tickPool(@Nullable ForkJoinPool tickPool) {
+        this.tickPool = tickPool;
+        return this;
+    }
+
     @Override
     public VehicleManager.Builder addVehicle(
         Location startingLocation,
@@ -46,7 +85,11 @@ class VehicleManagerBuilderImpl implements VehicleManager.Builder {
     public VehicleManager build() {
         Objects.requireNonNull(region, "region");
         Objects.requireNonNull(pathCalculator, "pathCalculator");
-        VehicleManagerImpl vehicleManager = new VehicleManagerImpl(region, pathCalculator);
+        Objects.requireNonNull(logSink, "logSink");
+        Objects.requireNonNull(eventRetention, "eventRetention");
+        VehicleManagerImpl vehicleManager =
+            new VehicleManagerImpl(region, pathCalculator, nextHopMovement, dynamicEdgeDurations, logSink, eventRetention,
+                tickPool);
         for (VehicleBuilder vehicleBuilder : vehicles) {
             vehicleManager.addVehicle(vehicleBuilder.startingLocation, vehicleBuilder.capacity);
         }
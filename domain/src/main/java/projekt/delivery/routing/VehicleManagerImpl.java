@@ -4,29 +4,74 @@ import org.jetbrains.annotations.Nullable;
 import projekt.base.Location;
 import projekt.delivery.event.Event;
 import projekt.delivery.event.EventBus;
+import projekt.delivery.event.EventRetention;
 import projekt.delivery.event.SpawnEvent;
+import projekt.delivery.log.LogSink;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 class VehicleManagerImpl implements VehicleManager {
 
+    /**
+     * The least amount of moving vehicles for which the moves are planned on the tick pool.
+     */
+    static final int PARALLEL_PLANNING_THRESHOLD = 64;
+    private static final int MIN_PLANNING_CHUNK_SIZE = 16;
+
     final Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> occupiedNodes;
     final Map<Region.Edge, OccupiedEdgeImpl> occupiedEdges;
     private final Region region;
     private final PathCalculator pathCalculator;
+    private final boolean nextHopMovement;
+    private final boolean dynamicEdgeDurations;
+    private final LogSink logSink;
+    private final EventRetention eventRetention;
+    private final @Nullable ForkJoinPool tickPool;
     private final List<VehicleImpl> vehiclesToSpawn = new ArrayList<>();
     private final List<VehicleImpl> vehicles = new ArrayList<>();
     private final Collection<Vehicle> unmodifiableVehicles = Collections.unmodifiableCollection(vehicles);
-    private final EventBus eventBus = new EventBus();
+    private final EventBus eventBus;
+    private final Set<OccupiedNodeImpl<?>> activeNodes = new LinkedHashSet<>();
+    private final TimingWheel<Departure> departures = new TimingWheel<>();
+    private volatile @Nullable OccupiedIndex occupiedIndex;
 
     VehicleManagerImpl(
         Region region,
         PathCalculator pathCalculator
+    ) {
+        this(region, pathCalculator, false);
+    }
+
+    VehicleManagerImpl(
+        Region region,
+        PathCalculator pathCalculator,
+        boolean nextHopMovement
+    ) {
+        this(region, pathCalculator, nextHopMovement, false, LogSink.noOp(), EventRetention.disabled(), null);
+    }
+
+    VehicleManagerImpl(
+        Region region,
+        PathCalculator pathCalculator,
+        boolean nextHopMovement,
+        boolean dynamicEdgeDurations,
+        LogSink logSink,
+        EventRetention eventRetention,
+        @Nullable ForkJoinPool tickPool
     ) {
         this.region = region;
         this.pathCalculator = pathCalculator;
+        this.nextHopMovement = nextHopMovement;
+        this.dynamicEdgeDurations = dynamicEdgeDurations;
+        this.logSink = logSink;
+        this.eventRetention = eventRetention;
+        this.tickPool = tickPool;
+        this.eventBus = new EventBus(logSink, eventRetention);
+        pathCalculator.prepare(region);
         occupiedNodes = toOccupiedNodes(region.getNodes());
         occupiedEdges = toOccupiedEdges(region.getEdges());
 
@@ -54,6 +99,41 @@ class VehicleManagerImpl implements VehicleManager {
             .collect(Collectors.toUnmodifiableMap(Occupied::getComponent, Function.identity()));
     }
 
+    /**
+     * Returns the {@link OccupiedIndex} of the current occupied maps, rebuilding it if the maps have been replaced.
+     * @return The {@link OccupiedIndex} of the current occupied maps.
+     */
+    private OccupiedIndex getOccupiedIndex() {
+        @Nullable OccupiedIndex index = occupiedIndex;
+        if (index == null || index.nodes != occupiedNodes || index.edges != occupiedEdges) {
+            index = new OccupiedIndex(CompiledRegion.of(region), occupiedNodes, occupiedEdges);
+            occupiedIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the occupied node of the given {@link Region.Node} without hashing the node if possible.
+     * @param node The {@link Region.Node} to return the occupied node of.
+     * @return The occupied node of the given {@link Region.Node}.
+     */
+    AbstractOccupied<?> getOccupiedNode(Region.Node node) {
+        final @Nullable AbstractOccupied<?> result = getOccupiedIndex().getOccupiedNode(node);
+        return result != null ? result : getOccupied(node);
+    }
+
+    /**
+     * Returns the occupied edge connecting the two given {@link Region.Node}s without hashing the nodes or the edge
+     * if possible.
+     * @param from The node the edge starts at.
+     * @param to The node the edge ends at.
+     * @return The occupied edge connecting the two given {@link Region.Node}s.
+     */
+    AbstractOccupied<?> getOccupiedEdge(Region.Node from, Region.Node to) {
+        final @Nullable AbstractOccupied<?> result = getOccupiedIndex().getOccupiedEdge(from, to);
+        return result != null ? result : getOccupied(region.getEdge(from.getLocation(), to.getLocation()));
+    }
+
     private Set<AbstractOccupied<?>> getAllOccupied() {
         final Set<AbstractOccupied<?>> result = new HashSet<>();
         result.addAll(occupiedNodes.values());
@@ -78,6 +158,41 @@ class VehicleManagerImpl implements VehicleManager {
         return pathCalculator;
     }
 
+    @Override
+    public boolean isNextHopMovement() {
+        return nextHopMovement;
+    }
+
+    @Override
+    public boolean isDynamicEdgeDurations() {
+        return dynamicEdgeDurations;
+    }
+
+    /**
+     * Returns the amount of ticks a vehicle entering the given {@link Region.Edge} now needs to travel it.
+     * @param edge The {@link Region.Edge} to return the travel duration of.
+     * @return The travel duration of the given {@link Region.Edge}.
+     * @see #isDynamicEdgeDurations()
+     */
+    long getDuration(Region.Edge edge) {
+        return dynamicEdgeDurations ? pathCalculator.getDuration(edge) : edge.getDuration();
+    }
+
+    @Override
+    public LogSink getLogSink() {
+        return logSink;
+    }
+
+    @Override
+    public EventRetention getEventRetention() {
+        return eventRetention;
+    }
+
+    @Override
+    public @Nullable ForkJoinPool getTickPool() {
+        return tickPool;
+    }
+
     @Override
     public Collection<Vehicle> getVehicles() {
         return unmodifiableVehicles;
@@ -101,7 +216,7 @@ class VehicleManagerImpl implements VehicleManager {
     @Override
     public OccupiedRestaurant getOccupiedRestaurant(Region.Node node) {
         Objects.requireNonNull(node, "Node is null!");
-        final @Nullable OccupiedNodeImpl<? extends Region.Node> occupiedNode = occupiedNodes.get(node);
+        final @Nullable Object occupiedNode = getOccupiedIndex().getOccupiedNode(node, occupiedNodes);
         if (occupiedNode instanceof OccupiedRestaurant) {
             return (OccupiedRestaurant) occupiedNode;
         } else {
@@ -113,6 +228,10 @@ class VehicleManagerImpl implements VehicleManager {
     @SuppressWarnings("unchecked")
     public <C extends Region.Component<C>> AbstractOccupied<C> getOccupied(C component) {
         Objects.requireNonNull(component, "Component is null!");
+        final @Nullable AbstractOccupied<?> indexed = getOccupiedIndex().components.get(component);
+        if (indexed != null) {
+            return (AbstractOccupied<C>) indexed;
+        }
         if (component instanceof Region.Node) {
             final @Nullable AbstractOccupied<C> result = (AbstractOccupied<C>) occupiedNodes.get(component);
             if (result == null) {
@@ -140,7 +259,7 @@ class VehicleManagerImpl implements VehicleManager {
     @Override
     public OccupiedNeighborhood getOccupiedNeighborhood(Region.Node node) {
         Objects.requireNonNull(node, "Node is null!");
-        final @Nullable OccupiedNodeImpl<?> occupiedNode = occupiedNodes.get(node);
+        final @Nullable Object occupiedNode = getOccupiedIndex().getOccupiedNode(node, occupiedNodes);
         if (occupiedNode instanceof OccupiedNeighborhood) {
             return (OccupiedNeighborhood) occupiedNode;
         } else {
@@ -175,11 +294,113 @@ class VehicleManagerImpl implements VehicleManager {
         // For example, a node tick may move a vehicle onto an edge.
         // Ticking this edge afterwards does not move the vehicle further along the edge
         // compared to a vehicle already on the edge.
-        occupiedNodes.values().forEach(occupiedNode -> occupiedNode.tick(currentTick));
-        occupiedEdges.values().forEach(occupiedEdge -> occupiedEdge.tick(currentTick));
+        // Only the nodes holding vehicles with queued paths and the vehicles due to leave an edge are ticked,
+        // a vehicle moved onto an edge by a node is not due before the duration of the edge has passed.
+        final List<OccupiedNodeImpl<?>> nodes = List.copyOf(activeNodes);
+        activeNodes.clear();
+        if (isParallelPlanning()) {
+            final List<VehicleImpl> vehiclesOnNodes = new ArrayList<>();
+            for (OccupiedNodeImpl<?> node : nodes) {
+                vehiclesOnNodes.addAll(node.vehicles.keySet());
+            }
+            planMoves(vehiclesOnNodes);
+        }
+        for (OccupiedNodeImpl<?> node : nodes) {
+            node.tick(currentTick);
+            for (VehicleImpl vehicle : node.vehicles.keySet()) {
+                if (!vehicle.getPathsView().isEmpty()) {
+                    activeNodes.add(node);
+                    break;
+                }
+            }
+        }
+        final List<Departure> dueDepartures = departures.poll(currentTick);
+        if (isParallelPlanning()) {
+            planMoves(dueDepartures.stream()
+                .filter(departure -> departure.edge.vehicles.get(departure.vehicle) == departure.stats)
+                .map(Departure::vehicle)
+                .toList());
+        }
+        for (Departure departure : dueDepartures) {
+            // the vehicle may have left the edge in the meantime, e.g. because the vehicle manager has been reset
+            if (departure.edge.vehicles.get(departure.vehicle) != departure.stats) {
+                continue;
+            }
+            departure.vehicle.move(currentTick);
+            if (departure.edge.vehicles.get(departure.vehicle) == departure.stats) {
+                // the vehicle has no queued node to move to yet, so it is due again in the next tick
+                departures.add(departure, currentTick + 1);
+            }
+        }
         return eventBus.popEvents(currentTick);
     }
 
+    /**
+     * Returns whether the moves are planned on the tick pool before they are executed. Only the vehicles of the
+     * next-hop movement determine their next nodes with the {@link PathCalculator} while moving. Without it, planning
+     * a move only looks up the next component, which is cheaper than handing it to another thread.
+     * @return {@code true} if the moves are planned on the tick pool.
+     */
+    private boolean isParallelPlanning() {
+        return tickPool != null && nextHopMovement;
+    }
+
+    /**
+     * Plans the moves of the given vehicles on the tick pool, see {@link VehicleImpl#planMove()}. If there are too few
+     * vehicles to be worth splitting, nothing is planned and the vehicles determine their moves while moving.
+     * @param vehicles The vehicles that may move in the current tick.
+     */
+    private void planMoves(List<VehicleImpl> vehicles) {
+        final @Nullable ForkJoinPool pool = tickPool;
+        if (pool == null || vehicles.size() < PARALLEL_PLANNING_THRESHOLD) {
+            return;
+        }
+        // build the index before it is shared by the planning threads
+        getOccupiedIndex();
+        final int chunkSize = Math.max(MIN_PLANNING_CHUNK_SIZE,
+            (vehicles.size() + 4 * pool.getParallelism() - 1) / (4 * pool.getParallelism()));
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int start = 0; start < vehicles.size(); start += chunkSize) {
+            final List<VehicleImpl> chunk = vehicles.subList(start, Math.min(start + chunkSize, vehicles.size()));
+            tasks.add(pool.submit(() -> chunk.forEach(VehicleImpl::planMove)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    /**
+     * Registers the given {@link VehicleImpl} for ticking after it has been moved or its paths have been changed.
+     * A vehicle on a node is ticked with the node while it has queued paths, a vehicle on an edge is ticked when the
+     * duration of the edge has passed.
+     * @param vehicle The {@link VehicleImpl} to register.
+     */
+    void schedule(VehicleImpl vehicle) {
+        if (vehicle.getOccupied() instanceof OccupiedEdgeImpl edge) {
+            final AbstractOccupied.@Nullable VehicleStats stats = edge.vehicles.get(vehicle);
+            if (stats != null) {
+                departures.add(new Departure(vehicle, edge, stats), stats.arrived + getDuration(edge.getComponent()));
+            }
+        } else if (vehicle.getOccupied() instanceof OccupiedNodeImpl<?> node && !vehicle.getPathsView().isEmpty()) {
+            activeNodes.add(node);
+        }
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * Vehicles waiting at a node with queued paths act in the next tick, vehicles on an edge act when they arrive at
+     * its end.
+     */
+    @Override
+    public long getNextEventTick(long currentTick) {
+        if (!vehiclesToSpawn.isEmpty() || !activeNodes.isEmpty()) {
+            return currentTick;
+        }
+        final long next = departures.getNextDueTick();
+        return next == Long.MAX_VALUE ? next : Math.max(currentTick, next);
+    }
+
     public void reset() {
         for (AbstractOccupied<?> occupied : getAllOccupied()) {
             occupied.reset();
@@ -194,6 +415,9 @@ class VehicleManagerImpl implements VehicleManager {
             .toList());
 
         vehicles.clear();
+        activeNodes.clear();
+        departures.clear();
+        eventBus.clearLog();
     }
 
     @SuppressWarnings("UnusedReturnValue")
@@ -221,6 +445,94 @@ class VehicleManagerImpl implements VehicleManager {
         vehicles.add(vehicle);
         OccupiedRestaurantImpl warehouse = (OccupiedRestaurantImpl) vehicle.getOccupied();
         warehouse.vehicles.put(vehicle, new AbstractOccupied.VehicleStats(currentTick, null));
+        schedule(vehicle);
         getEventBus().queuePost(SpawnEvent.of(currentTick, vehicle, warehouse.getComponent()));
     }
+
+    /**
+     * A vehicle on an edge that is due to move to the next node.
+     * @param vehicle The vehicle on the edge.
+     * @param edge The occupied edge.
+     * @param stats The stats of the vehicle on the edge, which identify its stay on the edge.
+     */
+    private record Departure(VehicleImpl vehicle, OccupiedEdgeImpl edge, AbstractOccupied.VehicleStats stats) {
+    }
+
+    /**
+     * A dense, int-indexed view of the occupied maps of a {@link VehicleManagerImpl}.<p>
+     *
+     * Every node and every edge is identified by its ordinal in a {@link CompiledRegion}, so that looking up the
+     * occupied component of a node or of the edge between two nodes only requires identity lookups and array accesses
+     * instead of hashing the components, whose hash codes depend on their whole content. Components that are equal to
+     * but not the same instance as the components of the region are not indexed and have to be looked up in the maps.
+     */
+    private static final class OccupiedIndex {
+
+        private final Map<?, ?> nodes;
+        private final Map<?, ?> edges;
+        private final CompiledRegion graph;
+        private final IdentityHashMap<Region.Node, Integer> ids;
+        private final IdentityHashMap<Region.Component<?>, AbstractOccupied<?>> components;
+        private final @Nullable AbstractOccupied<?>[] nodesById;
+        private final @Nullable AbstractOccupied<?>[] edgesByArc;
+
+        private OccupiedIndex(CompiledRegion graph, Map<?, ?> nodes, Map<?, ?> edges) {
+            this.nodes = nodes;
+            this.edges = edges;
+            this.graph = graph;
+            this.ids = new IdentityHashMap<>(graph.getNodeCount());
+            this.components = new IdentityHashMap<>(graph.getNodeCount() + graph.getArcCount());
+            this.nodesById = new AbstractOccupied<?>[graph.getNodeCount()];
+            this.edgesByArc = new AbstractOccupied<?>[graph.getArcCount()];
+
+            for (int id = 0; id < nodesById.length; id++) {
+                final Region.Node node = graph.getNode(id);
+                ids.put(node, id);
+                if (nodes.get(node) instanceof AbstractOccupied<?> occupied) {
+                    nodesById[id] = occupied;
+                    components.put(node, occupied);
+                    if (occupied.getComponent() instanceof Region.Node component) {
+                        ids.putIfAbsent(component, id);
+                        components.putIfAbsent(component, occupied);
+                    }
+                }
+            }
+            for (int arc = 0; arc < edgesByArc.length; arc++) {
+                final Region.Edge edge = graph.getEdge(arc);
+                final @Nullable AbstractOccupied<?> occupied = components.get(edge);
+                if (occupied != null) {
+                    edgesByArc[arc] = occupied;
+                } else if (edges.get(edge) instanceof AbstractOccupied<?> found) {
+                    edgesByArc[arc] = found;
+                    components.put(edge, found);
+                    components.putIfAbsent(found.getComponent(), found);
+                }
+            }
+        }
+
+        private int getId(Region.Node node) {
+            final @Nullable Integer id = ids.get(node);
+            return id == null ? -1 : id;
+        }
+
+        private @Nullable AbstractOccupied<?> getOccupiedNode(Region.Node node) {
+            final int id = getId(node);
+            return id < 0 ? null : nodesById[id];
+        }
+
+        private @Nullable Object getOccupiedNode(Region.Node node, Map<Region.Node, ?> fallback) {
+            final @Nullable AbstractOccupied<?> result = getOccupiedNode(node);
+            return result != null ? result : fallback.get(node);
+        }
+
+        private @Nullable AbstractOccupied<?> getOccupiedEdge(Region.Node from, Region.Node to) {
+            final int fromId = getId(from);
+            final int toId = getId(to);
+            if (fromId < 0 || toId < 0) {
+                return null;
+            }
+            final int arc = graph.getArc(fromId, toId);
+            return arc < 0 ? null : edgesByArc[arc];
+        }
+    }
 }
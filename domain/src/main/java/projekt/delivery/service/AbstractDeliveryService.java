@@ -47,6 +47,17 @@ public abstract class AbstractDeliveryService implements DeliveryService {
         return tick(currentTick, newOrders);
     }
 
+    /**
+     * Returns whether there are {@link ConfirmedOrder}s that have been delivered to this {@link DeliveryService} but
+     * not yet been processed by a tick.
+     * @return {@code true} if there are unprocessed {@link ConfirmedOrder}s.
+     */
+    protected boolean hasUnprocessedOrders() {
+        synchronized (lock) {
+            return !unprocessedOrders.isEmpty();
+        }
+    }
+
     @Override
     public VehicleManager getVehicleManager() {
         return vehicleManager;
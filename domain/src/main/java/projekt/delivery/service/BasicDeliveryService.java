@@ -1,8 +1,10 @@
 package projekt.delivery.service;
 
+import projekt.base.Location;
 import projekt.delivery.event.Event;
 import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.routing.Region;
+import projekt.delivery.routing.Vehicle;
 import projekt.delivery.routing.VehicleManager;
 
 import java.util.*;
@@ -53,11 +55,7 @@ public class BasicDeliveryService extends AbstractDeliveryService {
                             it.remove();
 
                             //don't add the location of the order to the queue if the vehicle already visits the location
-                            if (vehicle.getPaths().stream()
-                                .map(path -> path.nodes().peekLast())
-                                .filter(Objects::nonNull)
-                                .map(Region.Node::getLocation)
-                                .toList().contains(order.getLocation())) {
+                            if (isQueuedDestination(vehicle, order.getLocation())) {
                                 continue;
                             }
 
@@ -80,6 +78,30 @@ public class BasicDeliveryService extends AbstractDeliveryService {
         return events;
     }
 
+    /**
+     * Checks whether one of the queued paths of the given vehicle ends at the given location.
+     */
+    private static boolean isQueuedDestination(Vehicle vehicle, Location location) {
+        for (Vehicle.Path path : vehicle.getPathsView()) {
+            final Region.Node last = path.nodes().peekLast();
+            if (last != null && last.getLocation().equals(location)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}<p>
+     *
+     * This service only acts on new orders and on the {@link Event}s of its {@link VehicleManager}, so nothing
+     * happens before the next tick of the {@link VehicleManager} that may have an effect.
+     */
+    @Override
+    public long getNextEventTick(long currentTick) {
+        return hasUnprocessedOrders() ? currentTick : vehicleManager.getNextEventTick(currentTick);
+    }
+
     @Override
     public List<ConfirmedOrder> getPendingOrders() {
         return pendingOrders;
@@ -31,7 +31,7 @@ public class BogoDeliveryService extends AbstractDeliveryService {
 
     @Override
     protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
-        List<Event> events = vehicleManager.tick(currentTick);
+        EventBatch events = EventBatch.of(vehicleManager.tick(currentTick));
         pendingOrders.addAll(newOrders);
 
         // this is probably not a good solution, but it could theoretically be the best solution
@@ -39,9 +39,7 @@ public class BogoDeliveryService extends AbstractDeliveryService {
         scheduleRandomMove(events, SpawnEvent.class);
         scheduleRandomMove(events, ArrivedAtNodeEvent.class);
 
-        events.stream()
-            .filter(ArrivedAtRestaurantEvent.class::isInstance)
-            .map(ArrivedAtRestaurantEvent.class::cast)
+        events.getEvents(ArrivedAtRestaurantEvent.class)
             .forEach(e -> {
                 final Vehicle vehicle = e.getVehicle();
                 if (!pendingOrders.isEmpty()) {
@@ -51,9 +49,7 @@ public class BogoDeliveryService extends AbstractDeliveryService {
                 moveToRandomNode(vehicle);
             });
 
-        events.stream()
-            .filter(ArrivedAtNeighborhoodEvent.class::isInstance)
-            .map(ArrivedAtNeighborhoodEvent.class::cast)
+        events.getEvents(ArrivedAtNeighborhoodEvent.class)
             .forEach(e -> {
                 final Vehicle vehicle = e.getVehicle();
                 final VehicleManager.OccupiedNeighborhood neighborhood = vehicleManager.getOccupiedNeighborhood(e.getNode());
@@ -67,13 +63,11 @@ public class BogoDeliveryService extends AbstractDeliveryService {
     }
 
     private void scheduleRandomMove(
-        List<Event> events,
+        EventBatch events,
         Class<? extends VehicleEvent> eventType
     ) {
-        events.stream()
-            .filter(eventType::isInstance)
+        events.getEvents(eventType).stream()
             .filter(e -> !skipInFirstStep.contains(e.getClass()))
-            .map(eventType::cast)
             .forEach(e -> moveToRandomNode(e.getVehicle()));
     }
 
@@ -85,6 +79,17 @@ public class BogoDeliveryService extends AbstractDeliveryService {
         vehicle.moveDirect(node);
     }
 
+    /**
+     * {@inheritDoc}<p>
+     *
+     * This service only acts on new orders and on the {@link Event}s of its {@link VehicleManager}, so nothing
+     * happens before the next tick of the {@link VehicleManager} that may have an effect.
+     */
+    @Override
+    public long getNextEventTick(long currentTick) {
+        return hasUnprocessedOrders() ? currentTick : vehicleManager.getNextEventTick(currentTick);
+    }
+
     @Override
     public List<ConfirmedOrder> getPendingOrders() {
         return pendingOrders;
@@ -30,6 +30,21 @@ public interface DeliveryService {
      */
     List<Event> tick(long currentTick);
 
+    /**
+     * Returns the first tick at or after the given tick at which {@link #tick(long)} may change the state of this
+     * {@link DeliveryService} or produce {@link Event}s, provided that no new {@link ConfirmedOrder}s are delivered
+     * in the meantime. Ticking this {@link DeliveryService} before that tick has no effect and may be skipped.<p>
+     *
+     * The default implementation returns the given tick, i.e. no tick may be skipped.
+     *
+     * @param currentTick The next tick that will be executed.
+     * @return The first tick at or after {@code currentTick} that may have an effect or {@link Long#MAX_VALUE} if no
+     * tick will have an effect.
+     */
+    default long getNextEventTick(long currentTick) {
+        return currentTick;
+    }
+
     /**
      * Returns the underlying {@link VehicleManager}.
      * @return The underlying {@link VehicleManager}.
@@ -3,6 +3,7 @@ package projekt.delivery.service;
 import projekt.base.TickInterval;
 import projekt.delivery.event.ArrivedAtRestaurantEvent;
 import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBatch;
 import projekt.delivery.event.SpawnEvent;
 import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.routing.PathCalculator;
@@ -153,11 +154,10 @@ public class OurDeliveryService extends AbstractDeliveryService {
      * @param events The events to handle.
      */
     private void handleEvents(List<Event> events) {
+        EventBatch batch = EventBatch.of(events);
 
         // Add vehicles to the responsible manager when they arrive at a restaurant
-        events.stream()
-            .filter(ArrivedAtRestaurantEvent.class::isInstance)
-            .map(ArrivedAtRestaurantEvent.class::cast)
+        batch.getEvents(ArrivedAtRestaurantEvent.class)
             .forEach(event -> {
                 RestaurantManager manager = managers.stream()
                     .filter(m -> m.getManaged().equals(event.getRestaurant().getComponent()))
@@ -167,9 +167,7 @@ public class OurDeliveryService extends AbstractDeliveryService {
             });
 
         // Add vehicles to the responsible manager when they are spawned
-        events.stream()
-            .filter(SpawnEvent.class::isInstance)
-            .map(SpawnEvent.class::cast)
+        batch.getEvents(SpawnEvent.class)
             .forEach(event -> {
                 RestaurantManager manager = managers.stream()
                     .filter(m -> m.getManaged().equals(event.getNode()))
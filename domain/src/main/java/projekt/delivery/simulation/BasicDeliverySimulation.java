@@ -1,7 +1,9 @@
 package projekt.delivery.simulation;
 
 import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBatch;
 import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.log.LogLevel;
 import projekt.delivery.rating.Rater;
 import projekt.delivery.rating.RatingCriteria;
 import projekt.delivery.service.DeliveryService;
@@ -60,14 +62,16 @@ public class BasicDeliverySimulation implements Simulation {
             long tickStartTime = System.currentTimeMillis();
 
             runCurrentTick();
+            if (simulationConfig.isSkippingIdleTicks()) {
+                skipIdleTicks();
+            }
 
             // Wait till next tick is due.
             long executionTime = System.currentTimeMillis() - tickStartTime;
             long millisTillNextTick = simulationConfig.getMillisecondsPerTick() - executionTime;
             if (millisTillNextTick < 0) {
-                System.out.println("\033[0;33m"); //make text yellow
-                System.out.println("WARNING: Can't keep up! Did the system time change, or is the server overloaded?");
-                System.out.println("\033[0m"); // reset text color
+                simulationConfig.getLogSink().log(LogLevel.WARNING, currentTick,
+                    "Can't keep up! Did the system time change, or is the server overloaded?");
             } else {
                 try {
                     //noinspection BusyWait
@@ -126,7 +130,7 @@ public class BasicDeliverySimulation implements Simulation {
     @Override
     public void runCurrentTick() {
         getDeliveryService().deliver(currentOrderGenerator.generateOrders(getCurrentTick()));
-        lastEvents = Collections.unmodifiableList(deliveryService.tick(getCurrentTick()));
+        lastEvents = EventBatch.of(deliveryService.tick(getCurrentTick()));
 
         for (SimulationListener listener : listeners) {
             listener.onTick(lastEvents, getCurrentTick());
@@ -135,6 +139,37 @@ public class BasicDeliverySimulation implements Simulation {
         currentTick++;
     }
 
+    /**
+     * Returns the first tick at or after the current tick in which anything can happen, based on the next tick
+     * with new orders and the next tick in which the {@link DeliveryService} may act.
+     * @return The next tick in which anything can happen or {@link Long#MAX_VALUE} if nothing will ever happen.
+     */
+    public long getNextEventTick() {
+        return Math.min(currentOrderGenerator.getNextOrderTick(currentTick), deliveryService.getNextEventTick(currentTick));
+    }
+
+    /**
+     * Advances the current tick to the next tick in which anything can happen without executing the ticks in between.
+     * The skipped ticks are reported to the listeners without any events.
+     */
+    private void skipIdleTicks() {
+        long nextEventTick = getNextEventTick();
+        if (simulationLength != -1) {
+            nextEventTick = Math.min(nextEventTick, simulationLength);
+        } else if (nextEventTick == Long.MAX_VALUE) {
+            // an endless simulation keeps ticking, so that it can be observed until it is terminated
+            return;
+        }
+
+        lastEvents = EventBatch.empty();
+        while (currentTick < nextEventTick && !terminationRequested) {
+            for (SimulationListener listener : listeners) {
+                listener.onTick(lastEvents, currentTick);
+            }
+            currentTick++;
+        }
+    }
+
     @Override
     public void addListener(SimulationListener listener) {
         listeners.add(listener);
@@ -175,6 +210,7 @@ public class BasicDeliverySimulation implements Simulation {
     }
 
     private void setupOrderGenerator() {
+        // a new generator allocates the order IDs of this simulation starting at 0 again
         currentOrderGenerator = orderGeneratorFactory.create();
     }
 }
@@ -1,5 +1,8 @@
 package projekt.delivery.simulation;
 
+import projekt.delivery.log.LogSink;
+
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -10,6 +13,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class SimulationConfig {
     private final AtomicInteger millisecondsPerTick;
     private volatile boolean paused = false;
+    private volatile boolean skippingIdleTicks = false;
+    private volatile LogSink logSink = LogSink.noOp();
 
     /**
      * Creates a new {@link Simulation} instance.<p>
@@ -53,4 +58,42 @@ public class SimulationConfig {
     public void setPaused(boolean paused) {
         this.paused = paused;
     }
+
+    /**
+     * Returns True if the simulation jumps over ticks in which nothing can happen.
+     * @return True if the simulation skips idle ticks.
+     * @see #setSkippingIdleTicks(boolean)
+     */
+    public boolean isSkippingIdleTicks() {
+        return skippingIdleTicks;
+    }
+
+    /**
+     * Changes whether the simulation jumps over ticks in which nothing can happen.<p>
+     *
+     * When enabled, the simulation asks the order generator and the delivery service for the next tick that may have
+     * an effect after every executed tick. The ticks in between are not executed and take no time, but are still
+     * reported to the listeners without any events, so that they observe the same results. It is meant for headless
+     * runs; by default, every tick is executed.
+     * @param skippingIdleTicks The new skipping status.
+     */
+    public void setSkippingIdleTicks(boolean skippingIdleTicks) {
+        this.skippingIdleTicks = skippingIdleTicks;
+    }
+
+    /**
+     * Returns the {@link LogSink} the simulation writes its warnings to.
+     * @return The used {@link LogSink}.
+     */
+    public LogSink getLogSink() {
+        return logSink;
+    }
+
+    /**
+     * Sets the {@link LogSink} the simulation writes its warnings to. By default, all messages are discarded.
+     * @param logSink The new {@link LogSink}.
+     */
+    public void setLogSink(LogSink logSink) {
+        this.logSink = Objects.requireNonNull(logSink, "logSink");
+    }
 }
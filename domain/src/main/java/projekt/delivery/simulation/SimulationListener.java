@@ -1,6 +1,7 @@
 package projekt.delivery.simulation;
 
 import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBatch;
 
 import java.util.List;
 
@@ -14,7 +15,8 @@ public interface SimulationListener {
 
     /**
      * Signals this {@link SimulationListener} that a tick has been executed by the observed {@link Simulation}.
-     * @param events All {@link Event}s that occurred during the tick.
+     * @param events All {@link Event}s that occurred during the tick. {@link EventBatch#of(List)} groups them by their
+     *               types, without copying them if they already are an {@link EventBatch}.
      * @param tick The executed tick.
      */
     void onTick(List<Event> events, long tick);
@@ -0,0 +1,59 @@
+package projekt.delivery.event;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventBatchUnitTests {
+
+    @Test
+    public void testGetEvents() {
+        Event event = Event.of(0);
+        ArrivedAtNodeEvent arrivedAtNode = ArrivedAtNodeEvent.of(0, null, null, null);
+        SpawnEvent spawn = SpawnEvent.of(0, null, null);
+        ArrivedAtNeighborhoodEvent firstArrival = ArrivedAtNeighborhoodEvent.of(0, null, null, null);
+        ArrivedAtNeighborhoodEvent secondArrival = ArrivedAtNeighborhoodEvent.of(0, null, null, null);
+        List<Event> events = List.of(firstArrival, event, arrivedAtNode, spawn, secondArrival);
+
+        EventBatch batch = EventBatch.of(new ArrayList<>(events));
+        Assertions.assertEquals(events, batch);
+        Assertions.assertEquals(events, batch.getEvents(Event.class));
+        Assertions.assertEquals(List.of(firstArrival, arrivedAtNode, spawn, secondArrival),
+            batch.getEvents(VehicleEvent.class));
+        // the events of a type include the events of its subtypes in the order of the batch
+        Assertions.assertEquals(List.of(firstArrival, arrivedAtNode, secondArrival),
+            batch.getEvents(ArrivedAtNodeEvent.class));
+        Assertions.assertEquals(List.of(firstArrival, secondArrival), batch.getEvents(ArrivedAtNeighborhoodEvent.class));
+        Assertions.assertEquals(List.of(spawn), batch.getEvents(SpawnEvent.class));
+        Assertions.assertEquals(List.of(), batch.getEvents(DeliverOrderEvent.class));
+    }
+
+    @Test
+    public void testOf() {
+        List<Event> events = new ArrayList<>(List.of(Event.of(1), Event.of(2)));
+        EventBatch batch = EventBatch.of(events);
+        Assertions.assertSame(batch, EventBatch.of(batch));
+        Assertions.assertSame(EventBatch.empty(), EventBatch.of(List.of()));
+
+        // the batch does not change with its source
+        events.clear();
+        Assertions.assertEquals(2, batch.size());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> batch.add(Event.of(3)));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+            () -> batch.getEvents(Event.class).remove(0));
+    }
+
+    @Test
+    public void testPopEvents() {
+        EventBus eventBus = new EventBus();
+        SpawnEvent spawn = SpawnEvent.of(0, null, null);
+        eventBus.queuePost(Event.of(0));
+        eventBus.queuePost(spawn);
+        EventBatch batch = eventBus.popEvents(0);
+        Assertions.assertEquals(2, batch.size());
+        Assertions.assertEquals(List.of(spawn), batch.getEvents(SpawnEvent.class));
+        Assertions.assertTrue(eventBus.popEvents(1).isEmpty());
+    }
+}
@@ -0,0 +1,202 @@
+package projekt.delivery.event;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import projekt.delivery.log.LogSink;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class EventBusUnitTests {
+
+    private static EventBus runTicks(EventRetention retention, int ticks) {
+        EventBus eventBus = new EventBus(LogSink.noOp(), retention);
+        for (long tick = 0; tick < ticks; tick++) {
+            eventBus.queuePost(Event.of(tick));
+            eventBus.queuePost(Event.of(tick));
+            Assertions.assertEquals(2, eventBus.popEvents(tick).size());
+        }
+        return eventBus;
+    }
+
+    private static List<String> describe(Map<Long, List<Event>> log) {
+        List<String> descriptions = new ArrayList<>();
+        log.forEach((tick, events) -> descriptions.add(tick + ": " + events));
+        return descriptions;
+    }
+
+    @Test
+    public void testUnbounded() {
+        Map<Long, List<Event>> log = runTicks(EventRetention.unbounded(), 10).getLog();
+        Assertions.assertEquals(10, log.size());
+        for (long tick = 0; tick < 10; tick++) {
+            // every tick keeps its own events
+            Assertions.assertEquals(2, log.get(tick).size());
+            Assertions.assertEquals(tick, log.get(tick).get(0).getTick());
+        }
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> log.remove(0L));
+    }
+
+    @Test
+    public void testDisabled() {
+        Assertions.assertTrue(runTicks(EventRetention.disabled(), 10).getLog().isEmpty());
+    }
+
+    @Test
+    public void testDefaultKeepsNoTicks() {
+        EventBus eventBus = new EventBus();
+        for (long tick = 0; tick < 10; tick++) {
+            eventBus.queuePost(Event.of(tick));
+            Assertions.assertEquals(1, eventBus.popEvents(tick).size());
+        }
+        Assertions.assertTrue(eventBus.getLog().isEmpty());
+    }
+
+    @Test
+    public void testLastTicks() {
+        EventBus eventBus = runTicks(EventRetention.lastTicks(3), 10);
+        Assertions.assertEquals(List.of(7L, 8L, 9L), new ArrayList<>(eventBus.getLog().keySet()));
+        Assertions.assertNull(eventBus.getLog().get(6L));
+
+        eventBus.clearLog();
+        Assertions.assertTrue(eventBus.getLog().isEmpty());
+    }
+
+    @Test
+    public void testSpillToDisk() throws IOException {
+        Path directory = Files.createTempDirectory("eventBusUnitTests");
+        try {
+            List<String> expected = describe(runTicks(EventRetention.unbounded(), 10).getLog());
+            EventBus eventBus = runTicks(EventRetention.spillToDisk(directory, 2, 3), 10);
+            Map<Long, List<Event>> log = eventBus.getLog();
+
+            Assertions.assertEquals(10, log.size());
+            Assertions.assertEquals(expected, describe(log));
+            // ticks that have been written to disk are read back on their own
+            Assertions.assertEquals(5L, log.get(5L).get(1).getTick());
+            Assertions.assertTrue(log.containsKey(0L));
+            Assertions.assertFalse(log.containsKey(10L));
+            Assertions.assertNull(log.get(10L));
+
+            eventBus.clearLog();
+            Assertions.assertTrue(log.isEmpty());
+            try (Stream<Path> files = Files.list(directory)) {
+                Assertions.assertEquals(0, files.count());
+            }
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testCloseDeletesSegments() throws IOException {
+        Path directory = Files.createTempDirectory("eventBusUnitTests");
+        try {
+            EventBus eventBus = runTicks(EventRetention.spillToDisk(directory, 2, 3), 10);
+            eventBus.queuePost(Event.of(10));
+            eventBus.close();
+            Assertions.assertTrue(eventBus.getLog().isEmpty());
+            try (Stream<Path> files = Files.list(directory)) {
+                Assertions.assertEquals(0, files.count());
+            }
+
+            // a closed bus has no queued events and starts a new log
+            Assertions.assertTrue(eventBus.popEvents(10).isEmpty());
+            for (long tick = 11; tick < 15; tick++) {
+                eventBus.queuePost(Event.of(tick));
+                eventBus.popEvents(tick);
+            }
+            Assertions.assertEquals(List.of(10L, 11L, 12L, 13L, 14L), new ArrayList<>(eventBus.getLog().keySet()));
+            eventBus.close();
+            try (Stream<Path> files = Files.list(directory)) {
+                Assertions.assertEquals(0, files.count());
+            }
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testInvalidRetention() {
+        Path directory = Path.of(".");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventRetention.lastTicks(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventRetention.spillToDisk(directory, 0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventRetention.spillToDisk(directory, 1, 0));
+    }
+
+    @Test
+    public void testConcurrentPosts() throws Exception {
+        EventBus eventBus = new EventBus();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                long first = thread * 10000L;
+                futures.add(executor.submit(() -> {
+                    for (long tick = first; tick < first + 10000; tick++) {
+                        eventBus.queuePost(Event.of(tick));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Event> events = eventBus.popEvents(0);
+        Assertions.assertEquals(40000, events.size());
+        Assertions.assertEquals(40000, events.stream().map(Event::getTick).collect(Collectors.toSet()).size());
+    }
+
+    @Test
+    public void testSegments() throws Exception {
+        EventBus eventBus = new EventBus();
+        eventBus.queuePost(Event.of(0));
+        List<EventBus.Segment> segments = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            segments.add(eventBus.reserveSegment());
+        }
+        eventBus.queuePost(Event.of(100));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // the segments are run in reverse order, but their events are popped in the order of their reservation
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                EventBus.Segment segment = segments.get(i);
+                long first = 1 + i * 10L;
+                futures.add(executor.submit(() -> segment.run(() -> {
+                    eventBus.queuePost(Event.of(first));
+                    // a nested segment keeps its position inside of the running segment
+                    EventBus.Segment nested = eventBus.reserveSegment();
+                    eventBus.queuePost(Event.of(first + 2));
+                    nested.run(() -> eventBus.queuePost(Event.of(first + 1)));
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Long> expected = new ArrayList<>(List.of(0L));
+        for (int i = 0; i < segments.size(); i++) {
+            expected.addAll(List.of(1 + i * 10L, 2 + i * 10L, 3 + i * 10L));
+        }
+        expected.add(100L);
+        Assertions.assertEquals(expected, eventBus.popEvents(0).stream().map(Event::getTick).toList());
+        Assertions.assertTrue(eventBus.popEvents(1).isEmpty());
+    }
+}
@@ -0,0 +1,139 @@
+package projekt.delivery.log;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import projekt.delivery.event.EventBus;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LogSinkUnitTests {
+
+    /**
+     * A {@link LogSink} that records every message it receives.
+     */
+    private static class RecordingLogSink implements LogSink {
+
+        private final List<String> messages = new ArrayList<>();
+
+        @Override
+        public boolean isEnabled(LogLevel level) {
+            return true;
+        }
+
+        @Override
+        public void log(LogLevel level, long tick, String message) {
+            messages.add(tick + " " + level + " " + message);
+        }
+    }
+
+    @Test
+    public void testNoOp() {
+        LogSink sink = LogSink.noOp();
+        for (LogLevel level : LogLevel.values()) {
+            Assertions.assertFalse(sink.isEnabled(level));
+            sink.log(level, 0, () -> {
+                throw new AssertionError("the message must not be created");
+            });
+        }
+        Assertions.assertSame(sink, sink.withMinimumLevel(LogLevel.DEBUG));
+    }
+
+    @Test
+    public void testLevelFilter() {
+        RecordingLogSink recording = new RecordingLogSink();
+        LogSink sink = recording.withMinimumLevel(LogLevel.INFO);
+
+        Assertions.assertFalse(sink.isEnabled(LogLevel.DEBUG));
+        Assertions.assertTrue(sink.isEnabled(LogLevel.INFO));
+        sink.log(LogLevel.DEBUG, 1, () -> {
+            throw new AssertionError("the message must not be created");
+        });
+        sink.log(LogLevel.DEBUG, 1, "debug");
+        sink.log(LogLevel.INFO, 2, "info");
+        sink.log(LogLevel.WARNING, 3, () -> "warning");
+
+        Assertions.assertEquals(List.of("2 INFO info", "3 WARNING warning"), recording.messages);
+    }
+
+    @Test
+    public void testEventBus() {
+        RecordingLogSink recording = new RecordingLogSink();
+        EventBus eventBus = new EventBus(recording.withMinimumLevel(LogLevel.DEBUG));
+        eventBus.popEvents(4);
+        Assertions.assertEquals(List.of("4 DEBUG Tick: 4 - []"), recording.messages);
+
+        eventBus = new EventBus(recording.withMinimumLevel(LogLevel.INFO));
+        eventBus.popEvents(5);
+        Assertions.assertEquals(1, recording.messages.size());
+    }
+
+    @Test
+    public void testAsyncFileLogSink() throws IOException {
+        Path file = Files.createTempFile("simulation", ".log");
+        try {
+            List<String> expected = new ArrayList<>();
+            AsyncFileLogSink sink = new AsyncFileLogSink(file, 1 << 16);
+            for (int i = 0; i < 10000; i++) {
+                LogLevel level = LogLevel.values()[i % LogLevel.values().length];
+                sink.log(level, i, "message " + i);
+                expected.add(i + " " + level + " message " + i);
+            }
+            sink.close();
+            Assertions.assertEquals(0, sink.getDroppedCount());
+            Assertions.assertEquals(expected, Files.readAllLines(file));
+
+            // messages after closing are dropped
+            Assertions.assertFalse(sink.isEnabled(LogLevel.WARNING));
+            sink.log(LogLevel.WARNING, 10000, "late");
+            Assertions.assertEquals(1, sink.getDroppedCount());
+            sink.close();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testAsyncFileLogSinkFailure() throws Exception {
+        IOException failure = new IOException("disk full");
+        AsyncFileLogSink sink = new AsyncFileLogSink(new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw failure;
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        }, "log-writer-test", 4);
+        sink.log(LogLevel.INFO, 0, "first");
+        for (int i = 0; i < 10000 && sink.isEnabled(LogLevel.INFO); i++) {
+            Thread.sleep(1);
+        }
+        Assertions.assertFalse(sink.isEnabled(LogLevel.INFO), "the sink should stop after a failed write");
+
+        // the sink stops accepting messages, but the failure is reported by every call of close
+        sink.log(LogLevel.INFO, 1, "second");
+        Assertions.assertEquals(1, sink.getDroppedCount());
+        Assertions.assertSame(failure, Assertions.assertThrows(IOException.class, sink::close));
+        Assertions.assertSame(failure, Assertions.assertThrows(IOException.class, sink::close));
+    }
+
+    @Test
+    public void testAsyncFileLogSinkInvalidCapacity() throws IOException {
+        Path file = Files.createTempFile("simulation", ".log");
+        try {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new AsyncFileLogSink(file, 0));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package projekt.delivery.rating;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+import projekt.base.TickInterval;
+import projekt.delivery.event.DeliverOrderEvent;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.OrderReceivedEvent;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.DijkstraPathCalculator;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.Vehicle;
+import projekt.delivery.routing.VehicleManager;
+
+import java.util.List;
+
+public class RaterUnitTests {
+
+    private static final Location RESTAURANT = new Location(0, 0);
+    private static final Location NEIGHBORHOOD = new Location(1, 0);
+
+    /**
+     * Receives and delivers two different orders with the same ID and returns the scores of the given {@link Rater}
+     * after receiving and after delivering them.
+     */
+    private static double[] rateOrdersWithSameID(Rater rater) {
+        VehicleManager vehicleManager = VehicleManager.builder()
+            .region(Region.builder()
+                .distanceCalculator(new ManhattanDistanceCalculator())
+                .addRestaurant("R", RESTAURANT, List.of("Pizza"))
+                .addNeighborhood("N", NEIGHBORHOOD)
+                .addEdge("RN", RESTAURANT, NEIGHBORHOOD)
+                .build())
+            .pathCalculator(new DijkstraPathCalculator())
+            .addVehicle(RESTAURANT, 10)
+            .build();
+        VehicleManager.OccupiedRestaurant restaurant = vehicleManager.getOccupiedRestaurants().iterator().next();
+        Region.Neighborhood neighborhood = vehicleManager.getOccupiedNeighborhoods().iterator().next().getComponent();
+        Vehicle vehicle = vehicleManager.getAllVehicles().iterator().next();
+
+        // IDs are not unique if orders come from different sources, e.g. a generator and the JVM-wide counter
+        ConfirmedOrder first = new ConfirmedOrder(0, NEIGHBORHOOD, restaurant, new TickInterval(0, 10), List.of("Pizza"), 1);
+        ConfirmedOrder second = new ConfirmedOrder(0, NEIGHBORHOOD, restaurant, new TickInterval(0, 10), List.of("Pizza"), 1);
+        first.setActualDeliveryTick(5);
+        second.setActualDeliveryTick(5);
+
+        rater.onTick(List.<Event>of(OrderReceivedEvent.of(0, first), OrderReceivedEvent.of(0, second)), 0);
+        double received = rater.getScore();
+        rater.onTick(List.<Event>of(DeliverOrderEvent.of(5, vehicle, neighborhood, first),
+            DeliverOrderEvent.of(5, vehicle, neighborhood, second)), 5);
+        return new double[]{received, rater.getScore()};
+    }
+
+    @Test
+    public void testAmountDeliveredRaterTracksOrdersWithSameID() {
+        double[] scores = rateOrdersWithSameID(AmountDeliveredRater.Factory.builder().build().create());
+        Assertions.assertEquals(0.0, scores[0], 1e-9);
+        Assertions.assertEquals(1.0, scores[1], 1e-9);
+    }
+
+    @Test
+    public void testInTimeRaterTracksOrdersWithSameID() {
+        double[] scores = rateOrdersWithSameID(InTimeRater.Factory.builder().build().create());
+        Assertions.assertEquals(0.0, scores[0], 1e-9);
+        Assertions.assertEquals(1.0, scores[1], 1e-9);
+    }
+}
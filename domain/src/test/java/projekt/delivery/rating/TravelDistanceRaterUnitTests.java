@@ -0,0 +1,62 @@
+package projekt.delivery.rating;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.TickInterval;
+import projekt.delivery.event.ArrivedAtNodeEvent;
+import projekt.delivery.event.DeliverOrderEvent;
+import projekt.delivery.event.Event;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.DijkstraPathCalculator;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.Vehicle;
+import projekt.delivery.routing.VehicleManager;
+
+import java.util.List;
+
+public class TravelDistanceRaterUnitTests {
+
+    private static final Location LOCATION_A = new Location(0, 0);
+    private static final Location LOCATION_B = new Location(2, 0);
+    private static final Location LOCATION_C = new Location(4, 0);
+
+    @Test
+    public void testWorstDistanceContainsEveryEdge() {
+        VehicleManager vehicleManager = VehicleManager.builder()
+            .region(Region.builder()
+                .distanceCalculator(new EuclideanDistanceCalculator())
+                .addRestaurant("A", LOCATION_A, List.of("Pizza"))
+                .addNode("B", LOCATION_B)
+                .addNeighborhood("C", LOCATION_C)
+                .addEdge("AB", LOCATION_A, LOCATION_B)
+                .addEdge("BC", LOCATION_B, LOCATION_C)
+                .build())
+            .pathCalculator(new DijkstraPathCalculator())
+            .addVehicle(LOCATION_A, 10)
+            .build();
+        Region region = vehicleManager.getRegion();
+        Region.Node nodeB = region.getNode(LOCATION_B);
+        Region.Neighborhood nodeC = (Region.Neighborhood) region.getNode(LOCATION_C);
+        Region.Edge edgeAB = region.getEdge(region.getNode(LOCATION_A), nodeB);
+        Region.Edge edgeBC = region.getEdge(nodeB, nodeC);
+        Vehicle vehicle = vehicleManager.getAllVehicles().iterator().next();
+        ConfirmedOrder order = new ConfirmedOrder(LOCATION_C, vehicleManager.getOccupiedRestaurants().iterator().next(),
+            new TickInterval(0, 10), List.of("Pizza"), 1);
+        order.setActualDeliveryTick(2);
+        Rater rater = TravelDistanceRater.Factory.builder()
+            .setVehicleManager(vehicleManager)
+            .setFactor(1)
+            .build()
+            .create();
+
+        rater.onTick(List.<Event>of(
+            ArrivedAtNodeEvent.of(1, vehicle, nodeB, edgeAB),
+            ArrivedAtNodeEvent.of(2, vehicle, nodeC, edgeBC),
+            DeliverOrderEvent.of(2, vehicle, nodeC, order)), 2);
+
+        // the worst distance is twice the length of the path to the neighborhood including its last edge
+        Assertions.assertEquals(0.5, rater.getScore(), 1e-9);
+    }
+}
@@ -0,0 +1,46 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import projekt.base.ChessboardDistanceCalculator;
+import projekt.base.DistanceCalculator;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.ManhattanDistanceCalculator;
+
+import java.util.Deque;
+
+public class AStarPathCalculatorUnitTests {
+
+    private static void assertSameDurations(Region region) {
+        PathCalculator expected = new CompiledDijkstraPathCalculator();
+        PathCalculator actual = new AStarPathCalculator();
+
+        for (Region.Node start : region.getNodes()) {
+            for (Region.Node end : region.getNodes()) {
+                Deque<Region.Node> path = actual.getPath(start, end);
+                Assertions.assertEquals(RoutingTestRegions.pathDuration(start, expected.getPath(start, end)),
+                    RoutingTestRegions.pathDuration(start, path));
+                Assertions.assertSame(start == end ? null : end, path.peekLast());
+            }
+        }
+    }
+
+    @Test
+    public void testSameDurationsAsDijkstra() {
+        for (DistanceCalculator distanceCalculator : new DistanceCalculator[]{
+            new EuclideanDistanceCalculator(), new ManhattanDistanceCalculator(), new ChessboardDistanceCalculator()
+        }) {
+            Region region = RoutingTestRegions.jitteredGrid(10, 3, distanceCalculator);
+            Assertions.assertTrue(new AStarPathCalculator().isAdmissible(region));
+            assertSameDurations(region);
+        }
+    }
+
+    @Test
+    public void testFallbackForUnknownDistanceCalculator() {
+        Region region = RoutingTestRegions.jitteredGrid(10, 3,
+            (a, b) -> 2 * new ManhattanDistanceCalculator().calculateDistance(a, b));
+        Assertions.assertFalse(new AStarPathCalculator().isAdmissible(region));
+        assertSameDurations(region);
+    }
+}
@@ -0,0 +1,101 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+
+import java.util.Deque;
+import java.util.Objects;
+
+public class AltPathCalculatorUnitTests {
+
+    private static Region region;
+
+    @BeforeAll
+    public static void initialize() {
+        // durations that are much larger than the distances make location based heuristics useless
+        region = RoutingTestRegions.jitteredGrid(12, 7,
+            (a, b) -> 5 * new ManhattanDistanceCalculator().calculateDistance(a, b));
+    }
+
+    @Test
+    public void testSameDurationsAsDijkstra() {
+        PathCalculator expected = new CompiledDijkstraPathCalculator();
+        for (int landmarkCount : new int[]{1, 4, AltPathCalculator.DEFAULT_LANDMARK_COUNT}) {
+            AltPathCalculator actual = new AltPathCalculator(landmarkCount);
+            for (Region.Node start : region.getNodes()) {
+                for (Region.Node end : region.getNodes()) {
+                    long duration = RoutingTestRegions.pathDuration(start, expected.getPath(start, end));
+                    Deque<Region.Node> path = actual.getPath(start, end);
+                    Assertions.assertEquals(duration, RoutingTestRegions.pathDuration(start, path));
+                    Assertions.assertSame(start == end ? null : end, path.peekLast());
+                    Assertions.assertEquals(duration, actual.getDuration(start, end));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLandmarksPruneSearch() {
+        AltPathCalculator calculator = new AltPathCalculator();
+        calculator.prepare(region);
+        Landmarks landmarks = calculator.getLandmarks(region);
+        Assertions.assertEquals(AltPathCalculator.DEFAULT_LANDMARK_COUNT, landmarks.getCount());
+        Assertions.assertEquals(8L * landmarks.getCount() * region.getNodes().size(),
+            landmarks.estimateMemory() - 4L * landmarks.getCount());
+
+        for (Region.Node start : region.getNodes()) {
+            for (Region.Node end : region.getNodes()) {
+                calculator.getPath(start, end);
+            }
+        }
+        long queries = calculator.getQueryCount();
+        Assertions.assertEquals((long) region.getNodes().size() * region.getNodes().size(), queries);
+        Assertions.assertTrue(calculator.getSettledNodeCount() < queries * region.getNodes().size() / 4,
+            "landmarks should prune most of the search space");
+    }
+
+    @Test
+    public void testCopySharesLandmarks() {
+        AltPathCalculator calculator = new AltPathCalculator(4);
+        Region.Node node = region.getNodes().iterator().next();
+        calculator.getPath(node, node);
+
+        AltPathCalculator copy = calculator.copy();
+        Assertions.assertSame(calculator.getLandmarks(region), copy.getLandmarks(region));
+        Assertions.assertEquals(0, copy.getQueryCount());
+        copy.getPath(node, node);
+        Assertions.assertEquals(1, calculator.getQueryCount());
+        Assertions.assertEquals(1, copy.getQueryCount());
+    }
+
+    @Test
+    public void testUnreachable() {
+        Region disconnected = Region.builder().distanceCalculator(new ManhattanDistanceCalculator())
+            .addNode("A", new Location(0, 0))
+            .addNode("B", new Location(0, 1))
+            .addNode("C", new Location(5, 5))
+            .addNode("D", new Location(5, 6))
+            .addEdge("AB", new Location(0, 0), new Location(0, 1))
+            .addEdge("CD", new Location(5, 5), new Location(5, 6))
+            .build();
+        Region.Node a = Objects.requireNonNull(disconnected.getNode(new Location(0, 0)));
+        Region.Node b = Objects.requireNonNull(disconnected.getNode(new Location(0, 1)));
+        Region.Node d = Objects.requireNonNull(disconnected.getNode(new Location(5, 6)));
+
+        // more landmarks than nodes, one landmark in every component is required for the estimates
+        AltPathCalculator calculator = new AltPathCalculator(10);
+        Assertions.assertEquals(4, calculator.getLandmarks(disconnected).getCount());
+        Assertions.assertEquals(1, calculator.getDuration(a, b));
+        Assertions.assertEquals(ShortestPathTree.UNREACHABLE, calculator.getDuration(a, d));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.getPath(a, d));
+    }
+
+    @Test
+    public void testInvalidLandmarkCount() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AltPathCalculator(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Landmarks.of(CompiledRegion.of(region), -1));
+    }
+}
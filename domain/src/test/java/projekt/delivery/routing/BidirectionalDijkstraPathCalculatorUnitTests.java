@@ -0,0 +1,50 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Random;
+
+public class BidirectionalDijkstraPathCalculatorUnitTests {
+
+    @Test
+    public void testSamePathsAsDijkstra() {
+        Random random = new Random(13);
+        Region.Builder builder = Region.builder().distanceCalculator(new EuclideanDistanceCalculator());
+        Location[] locations = new Location[60];
+        for (int i = 0; i < locations.length; i++) {
+            locations[i] = new Location(random.nextInt(100), i * 3);
+            builder.addNode("N" + i, locations[i]);
+        }
+        // a random tree, so that every shortest path is unique
+        for (int i = 1; i < locations.length; i++) {
+            builder.addEdge("E" + i, locations[random.nextInt(i)], locations[i]);
+        }
+        Region region = builder.build();
+
+        PathCalculator expected = new DijkstraPathCalculator();
+        PathCalculator actual = new BidirectionalDijkstraPathCalculator();
+        for (Region.Node start : region.getNodes()) {
+            for (Region.Node end : region.getNodes()) {
+                Deque<Region.Node> path = actual.getPath(start, end);
+                Assertions.assertEquals(new ArrayList<>(expected.getPath(start, end)), new ArrayList<>(path));
+            }
+        }
+    }
+
+    @Test
+    public void testNoPath() {
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addNode("A", new Location(0, 0))
+            .addNode("B", new Location(1, 0))
+            .build();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BidirectionalDijkstraPathCalculator()
+            .getPath(region.getNode(new Location(0, 0)), region.getNode(new Location(1, 0))));
+    }
+}
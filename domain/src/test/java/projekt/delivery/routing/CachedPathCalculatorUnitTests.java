@@ -0,0 +1,115 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CachedPathCalculatorUnitTests {
+
+    private static Region region;
+    private static Region.Node nodeA;
+    private static Region.Node nodeB;
+    private static Region.Node nodeC;
+    private static Region.Node nodeD;
+
+    @BeforeAll
+    public static void initialize() {
+        region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addNode("A", new Location(0, 0))
+            .addNode("B", new Location(1, 0))
+            .addNode("C", new Location(2, 0))
+            .addNode("D", new Location(3, 0))
+            .addEdge("AB", new Location(0, 0), new Location(1, 0))
+            .addEdge("BC", new Location(1, 0), new Location(2, 0))
+            .addEdge("CD", new Location(2, 0), new Location(3, 0))
+            .build();
+        nodeA = Objects.requireNonNull(region.getNode(new Location(0, 0)));
+        nodeB = Objects.requireNonNull(region.getNode(new Location(1, 0)));
+        nodeC = Objects.requireNonNull(region.getNode(new Location(2, 0)));
+        nodeD = Objects.requireNonNull(region.getNode(new Location(3, 0)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        CachedPathCalculator calculator = new CachedPathCalculator(new DijkstraPathCalculator(), 2);
+
+        calculator.getAllPathsTo(nodeA);
+        calculator.getAllPathsTo(nodeB);
+        // A is used more recently than B, so B has to be evicted
+        calculator.getAllPathsTo(nodeA);
+        calculator.getAllPathsTo(nodeC);
+        calculator.getAllPathsTo(nodeA);
+
+        CachedPathCalculator.Stats stats = calculator.getStats();
+        Assertions.assertEquals(2, stats.hits());
+        Assertions.assertEquals(3, stats.misses());
+        Assertions.assertEquals(1, stats.evictions());
+        Assertions.assertEquals(2, stats.entries());
+        Assertions.assertTrue(stats.memory() > 0);
+
+        calculator.getAllPathsTo(nodeB);
+        Assertions.assertEquals(4, calculator.getStats().misses());
+    }
+
+    @Test
+    public void testCopyingModeReturnsMutableCopies() {
+        CachedPathCalculator calculator = new CachedPathCalculator(new DijkstraPathCalculator());
+
+        Deque<Region.Node> path = calculator.getPath(nodeA, nodeD);
+        Assertions.assertEquals(List.of(nodeB, nodeC, nodeD), new ArrayList<>(path));
+        path.pop();
+        Assertions.assertEquals(List.of(nodeB, nodeC, nodeD), new ArrayList<>(calculator.getPath(nodeA, nodeD)));
+    }
+
+    @Test
+    public void testSharedModeReturnsImmutableViews() {
+        CachedPathCalculator calculator = new CachedPathCalculator(new DijkstraPathCalculator(), 16, CachedPathCalculator.Mode.SHARED);
+
+        Deque<Region.Node> path = calculator.getPath(nodeA, nodeD);
+        Assertions.assertEquals(List.of(nodeB, nodeC, nodeD), new ArrayList<>(path));
+        Assertions.assertSame(path, calculator.getPath(nodeA, nodeD));
+        Assertions.assertSame(nodeD, path.peekLast());
+        Assertions.assertThrows(UnsupportedOperationException.class, path::pop);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> calculator.getAllPathsTo(nodeD).remove(nodeA));
+        Assertions.assertTrue(calculator.getPath(nodeD, nodeD).isEmpty());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        CachedPathCalculator calculator = new CachedPathCalculator(new DijkstraPathCalculator(), 2, CachedPathCalculator.Mode.SHARED);
+        List<Region.Node> nodes = List.of(nodeA, nodeB, nodeC, nodeD);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int offset = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        Region.Node end = nodes.get((i + offset) % nodes.size());
+                        Assertions.assertEquals(Math.abs(nodes.indexOf(end) - nodes.indexOf(nodeA)), calculator.getPath(nodeA, end).size());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        CachedPathCalculator.Stats stats = calculator.getStats();
+        Assertions.assertEquals(2000, stats.hits() + stats.misses());
+        Assertions.assertTrue(stats.entries() <= 2);
+    }
+}
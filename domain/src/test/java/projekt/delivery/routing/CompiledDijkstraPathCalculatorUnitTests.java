@@ -0,0 +1,103 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+
+public class CompiledDijkstraPathCalculatorUnitTests {
+
+    private static Region grid;
+    private static Region tree;
+
+    @BeforeAll
+    public static void initialize() {
+        grid = RoutingTestRegions.jitteredGrid(12, 42, new EuclideanDistanceCalculator());
+
+        tree = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addNode("A", new Location(0, 0))
+            .addNode("B", new Location(2, 1))
+            .addNode("C", new Location(-3, 2))
+            .addNode("D", new Location(4, 4))
+            .addNode("E", new Location(1, -5))
+            .addNode("F", new Location(-2, -2))
+            .addEdge("AB", new Location(0, 0), new Location(2, 1))
+            .addEdge("AC", new Location(0, 0), new Location(-3, 2))
+            .addEdge("BD", new Location(2, 1), new Location(4, 4))
+            .addEdge("BE", new Location(2, 1), new Location(1, -5))
+            .addEdge("CF", new Location(-3, 2), new Location(-2, -2))
+            .build();
+    }
+
+    @Test
+    public void testSameDurationsAsDijkstra() {
+        PathCalculator expected = new DijkstraPathCalculator();
+        PathCalculator actual = new CompiledDijkstraPathCalculator();
+
+        for (Region.Node end : grid.getNodes()) {
+            Map<Region.Node, Deque<Region.Node>> expectedPaths = expected.getAllPathsTo(end);
+            Map<Region.Node, Deque<Region.Node>> actualPaths = actual.getAllPathsTo(end);
+
+            Assertions.assertEquals(expectedPaths.keySet(), actualPaths.keySet());
+            for (Region.Node start : grid.getNodes()) {
+                Deque<Region.Node> path = actualPaths.get(start);
+                Assertions.assertEquals(RoutingTestRegions.pathDuration(start, expectedPaths.get(start)), RoutingTestRegions.pathDuration(start, path));
+                if (start != end) {
+                    Assertions.assertSame(end, path.peekLast());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSamePathsAsDijkstra() {
+        PathCalculator expected = new DijkstraPathCalculator();
+        PathCalculator actual = new CompiledDijkstraPathCalculator();
+
+        for (Region.Node start : tree.getNodes()) {
+            for (Region.Node end : tree.getNodes()) {
+                Assertions.assertEquals(new ArrayList<>(expected.getPath(start, end)), new ArrayList<>(actual.getPath(start, end)));
+            }
+        }
+    }
+
+    @Test
+    public void testPathToItself() {
+        PathCalculator calculator = new CompiledDijkstraPathCalculator();
+        Region.Node node = tree.getNode(new Location(0, 0));
+
+        Assertions.assertTrue(calculator.getPath(node, node).isEmpty());
+    }
+
+    @Test
+    public void testCompiledRegion() {
+        CompiledRegion compiled = CompiledRegion.of(tree);
+
+        Assertions.assertEquals(tree.getNodes().size(), compiled.getNodeCount());
+        Assertions.assertEquals(2 * tree.getEdges().size(), compiled.getArcCount());
+
+        for (Region.Edge edge : tree.getEdges()) {
+            int a = compiled.getId(edge.getNodeA());
+            int b = compiled.getId(edge.getNodeB());
+            Assertions.assertSame(edge, compiled.getEdge(compiled.getArc(a, b)));
+            Assertions.assertSame(edge, compiled.getEdge(compiled.getArc(b, a)));
+            Assertions.assertEquals(edge.getDuration(), compiled.getDuration(compiled.getArc(a, b)));
+        }
+
+        Assertions.assertEquals(-1, compiled.getArc(compiled.getId(tree.getNode(new Location(0, 0))),
+            compiled.getId(tree.getNode(new Location(4, 4)))));
+        Region.Node unknown = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addNode("X", new Location(100, 100))
+            .build()
+            .getNode(new Location(100, 100));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> compiled.getId(Objects.requireNonNull(unknown)));
+    }
+}
@@ -0,0 +1,56 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.Deque;
+
+public class ContractionHierarchyPathCalculatorUnitTests {
+
+    private static Region region;
+    private static Region.Node disconnected;
+
+    @BeforeAll
+    public static void initialize() {
+        Region.Builder builder = RoutingTestRegions.jitteredGridBuilder(16, 11, new EuclideanDistanceCalculator());
+        builder.addNode("X", new Location(-20, -20));
+        region = builder.build();
+        disconnected = region.getNode(new Location(-20, -20));
+    }
+
+    @Test
+    public void testSameDurationsAsDijkstra() {
+        CompiledDijkstraPathCalculator expected = new CompiledDijkstraPathCalculator();
+        PathCalculator actual = new ContractionHierarchyPathCalculator();
+        actual.prepare(region);
+
+        for (Region.Node end : region.getNodes()) {
+            if (end == disconnected) {
+                continue;
+            }
+            ShortestPathTree tree = expected.getShortestPathTree(end);
+            for (Region.Node start : region.getNodes()) {
+                if (tree.getDuration(start) == ShortestPathTree.UNREACHABLE) {
+                    Assertions.assertThrows(IllegalArgumentException.class, () -> actual.getPath(start, end));
+                    continue;
+                }
+                Deque<Region.Node> path = actual.getPath(start, end);
+                Assertions.assertEquals(tree.getDuration(start), RoutingTestRegions.pathDuration(start, path));
+                Assertions.assertSame(start == end ? null : end, path.peekLast());
+            }
+        }
+    }
+
+    @Test
+    public void testPreprocessingStatistics() {
+        ContractionHierarchy hierarchy = new ContractionHierarchyPathCalculator().getHierarchy(region);
+
+        Assertions.assertSame(region, hierarchy.getGraph().getRegion());
+        Assertions.assertTrue(hierarchy.getPreprocessingTime() > 0);
+        Assertions.assertTrue(hierarchy.getShortcutCount() >= 0);
+        Assertions.assertTrue(hierarchy.estimateMemory() > 0);
+    }
+}
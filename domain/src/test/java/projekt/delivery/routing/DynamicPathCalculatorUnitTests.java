@@ -0,0 +1,86 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.ManhattanDistanceCalculator;
+
+import java.util.List;
+import java.util.Random;
+
+public class DynamicPathCalculatorUnitTests {
+
+    private static Region region;
+
+    @BeforeAll
+    public static void initialize() {
+        region = RoutingTestRegions.jitteredGrid(12, 8, new ManhattanDistanceCalculator());
+    }
+
+    private static void assertTreesCorrect(DynamicPathCalculator calculator, List<Region.Node> roots) {
+        for (Region.Node root : roots) {
+            ShortestPathTree tree = calculator.getShortestPathTree(root);
+            ShortestPathTree expected = CompiledDijkstraPathCalculator.execute(tree.getGraph(), tree.getRootId());
+            for (Region.Node node : region.getNodes()) {
+                long duration = expected.getDuration(node);
+                Assertions.assertEquals(duration, tree.getDuration(node));
+                Assertions.assertEquals(duration, calculator.getDuration(node, root));
+                if (duration != ShortestPathTree.UNREACHABLE) {
+                    // the path has to be a valid path with the expected duration
+                    long pathDuration = 0;
+                    Region.Node previous = node;
+                    for (Region.Node next : calculator.getPath(node, root)) {
+                        pathDuration += calculator.getDuration(previous.getEdge(next));
+                        previous = next;
+                    }
+                    Assertions.assertSame(root, previous);
+                    Assertions.assertEquals(duration, pathDuration);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRandomUpdates() {
+        Random random = new Random(2);
+        List<Region.Node> nodes = List.copyOf(region.getNodes());
+        List<Region.Edge> edges = List.copyOf(region.getEdges());
+        List<Region.Node> roots = List.of(nodes.get(0), nodes.get(17), nodes.get(80), nodes.get(143));
+        DynamicPathCalculator calculator = new DynamicPathCalculator();
+        roots.forEach(root -> calculator.getDurationsTo(root));
+
+        for (int i = 0; i < 300; i++) {
+            Region.Edge edge = edges.get(random.nextInt(edges.size()));
+            long duration = random.nextInt(4) == 0 ? edge.getDuration() * 10 : random.nextInt((int) edge.getDuration() * 3 + 1);
+            calculator.setDuration(edge, duration);
+            Assertions.assertEquals(duration, calculator.getDuration(edge));
+            if (i % 25 == 0) {
+                assertTreesCorrect(calculator, roots);
+            }
+        }
+        assertTreesCorrect(calculator, roots);
+        // every update repaired only a part of the trees
+        Assertions.assertTrue(calculator.getRepairedNodeCount() < 300L * roots.size() * nodes.size() / 4);
+
+        calculator.resetDurations(region);
+        for (Region.Edge edge : edges) {
+            Assertions.assertEquals(edge.getDuration(), calculator.getDuration(edge));
+        }
+        assertTreesCorrect(calculator, roots);
+    }
+
+    @Test
+    public void testReturnedTreesAreSnapshots() {
+        Region.Node root = region.getNodes().iterator().next();
+        DynamicPathCalculator calculator = new DynamicPathCalculator();
+        NodeDurations before = calculator.getDurationsTo(root);
+        Region.Edge edge = root.getAdjacentEdges().iterator().next();
+        Region.Node neighbour = edge.getNodeA().equals(root) ? edge.getNodeB() : edge.getNodeA();
+        long duration = before.getDuration(neighbour);
+
+        calculator.setDuration(edge, edge.getDuration() * 100);
+        Assertions.assertEquals(duration, before.getDuration(neighbour));
+        Assertions.assertTrue(calculator.getDuration(neighbour, root) >= duration);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.setDuration(edge, -1));
+    }
+}
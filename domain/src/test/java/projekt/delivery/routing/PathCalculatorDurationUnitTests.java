@@ -0,0 +1,91 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+
+import java.util.List;
+
+public class PathCalculatorDurationUnitTests {
+
+    private static Region region;
+
+    @BeforeAll
+    public static void initialize() {
+        region = RoutingTestRegions.jitteredGrid(8, 5, new ManhattanDistanceCalculator());
+    }
+
+    @Test
+    public void testDurationsMatchPaths() {
+        List<PathCalculator> calculators = List.of(
+            new DijkstraPathCalculator(),
+            new CompiledDijkstraPathCalculator(),
+            new PrecomputedPathCalculator(),
+            new AStarPathCalculator(),
+            new ContractionHierarchyPathCalculator(),
+            new BidirectionalDijkstraPathCalculator(),
+            new DynamicPathCalculator(),
+            new AltPathCalculator(),
+            new CachedPathCalculator(new DijkstraPathCalculator(), 8, CachedPathCalculator.Mode.SHARED)
+        );
+        PathCalculator reference = new DijkstraPathCalculator();
+
+        for (Region.Node end : region.getNodes()) {
+            NodeDurations expected = NodeDurations.of(end, reference.getAllPathsTo(end));
+            for (PathCalculator calculator : calculators) {
+                NodeDurations actual = calculator.getDurationsTo(end);
+                Assertions.assertSame(end, actual.getEnd());
+                Assertions.assertEquals(region.getNodes().size(), actual.size());
+                for (Region.Node start : region.getNodes()) {
+                    Assertions.assertEquals(expected.getDuration(start), actual.getDuration(start), calculator.getClass().getSimpleName());
+                    Assertions.assertEquals(expected.getDuration(start), calculator.getDuration(start, end), calculator.getClass().getSimpleName());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDurationMatrix() {
+        List<Region.Node> nodes = List.copyOf(region.getNodes());
+        List<Region.Node> sources = nodes.subList(0, 5);
+        List<Region.Node> targets = nodes.subList(3, nodes.size());
+        PathCalculator reference = new DijkstraPathCalculator();
+
+        for (PathCalculator calculator : List.of(reference, new CompiledDijkstraPathCalculator(), new PrecomputedPathCalculator(),
+            new PrecomputedPathCalculator(0))) {
+            for (DurationMatrix matrix : List.of(calculator.getDurationMatrix(sources, targets), calculator.getDurationMatrix(targets, sources))) {
+                for (Region.Node source : matrix.getSources()) {
+                    for (Region.Node target : matrix.getTargets()) {
+                        Assertions.assertEquals(reference.getDuration(source, target), matrix.getDuration(source, target),
+                            calculator.getClass().getSimpleName());
+                    }
+                }
+            }
+        }
+        DurationMatrix matrix = reference.getDurationMatrix(List.of(nodes.get(0), nodes.get(0)), targets);
+        Assertions.assertEquals(1, matrix.getSources().size());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> matrix.getSourceIndex(nodes.get(1)));
+    }
+
+    @Test
+    public void testUnreachableNodes() {
+        Region disconnected = Region.builder()
+            .distanceCalculator(new ManhattanDistanceCalculator())
+            .addNode("A", new Location(0, 0))
+            .addNode("B", new Location(1, 0))
+            .addNode("C", new Location(5, 5))
+            .addEdge("AB", new Location(0, 0), new Location(1, 0))
+            .build();
+        Region.Node nodeA = disconnected.getNode(new Location(0, 0));
+        Region.Node nodeC = disconnected.getNode(new Location(5, 5));
+
+        for (PathCalculator calculator : List.of(new CompiledDijkstraPathCalculator(), new AStarPathCalculator(),
+            new ContractionHierarchyPathCalculator(), new PrecomputedPathCalculator(), new BidirectionalDijkstraPathCalculator())) {
+            Assertions.assertEquals(ShortestPathTree.UNREACHABLE, calculator.getDuration(nodeA, nodeC));
+            Assertions.assertFalse(calculator.getDurationsTo(nodeC).isReachable(nodeA));
+            Assertions.assertTrue(calculator.getDurationsTo(nodeA).isReachable(nodeA));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Random;
+
+public class PrecomputedPathCalculatorUnitTests {
+
+    private static Region region;
+
+    @BeforeAll
+    public static void initialize() {
+        Random random = new Random(7);
+        Region.Builder builder = Region.builder().distanceCalculator(new EuclideanDistanceCalculator());
+        Location[] locations = new Location[40];
+        for (int i = 0; i < locations.length; i++) {
+            locations[i] = new Location(i * 2, random.nextInt(20));
+            builder.addNode("N" + i, locations[i]);
+        }
+        for (int i = 1; i < locations.length; i++) {
+            builder.addEdge("P" + i, locations[i - 1], locations[i]);
+            int other = random.nextInt(i);
+            if (other != i - 1) {
+                builder.addEdge("R" + i, locations[other], locations[i]);
+            }
+        }
+        // a disconnected node
+        builder.addNode("X", new Location(-10, -10));
+        region = builder.build();
+    }
+
+    @Test
+    public void testSamePathsAsCompiledDijkstra() {
+        PathCalculator expected = new CompiledDijkstraPathCalculator();
+        PrecomputedPathCalculator actual = new PrecomputedPathCalculator();
+        actual.prepare(region);
+
+        Assertions.assertTrue(actual.isPrecomputed(region));
+        for (Region.Node start : region.getNodes()) {
+            for (Region.Node end : region.getNodes()) {
+                if (start == end || (!start.getName().equals("X") && !end.getName().equals("X"))) {
+                    Assertions.assertEquals(new ArrayList<>(expected.getPath(start, end)), new ArrayList<>(actual.getPath(start, end)));
+                } else {
+                    Assertions.assertThrows(IllegalArgumentException.class, () -> actual.getPath(start, end));
+                }
+            }
+            Map<Region.Node, Deque<Region.Node>> expectedPaths = expected.getAllPathsTo(start);
+            Map<Region.Node, Deque<Region.Node>> actualPaths = actual.getAllPathsTo(start);
+            Assertions.assertEquals(expectedPaths.keySet(), actualPaths.keySet());
+            for (Region.Node node : expectedPaths.keySet()) {
+                Assertions.assertEquals(new ArrayList<>(expectedPaths.get(node)), new ArrayList<>(actualPaths.get(node)));
+            }
+        }
+    }
+
+    @Test
+    public void testFallbackAboveCeiling() {
+        PathCalculator expected = new CompiledDijkstraPathCalculator();
+        PrecomputedPathCalculator actual = new PrecomputedPathCalculator(10);
+        actual.prepare(region);
+
+        Assertions.assertFalse(actual.isPrecomputed(region));
+        Assertions.assertEquals(0, actual.estimateMemory());
+        for (Region.Node start : region.getNodes()) {
+            for (Region.Node end : region.getNodes()) {
+                if (!start.getName().equals("X") && !end.getName().equals("X")) {
+                    Assertions.assertEquals(new ArrayList<>(expected.getPath(start, end)), new ArrayList<>(actual.getPath(start, end)));
+                }
+            }
+        }
+    }
+
+    private static Region createRing(int size, int shortcut) {
+        Region.Builder builder = Region.builder().distanceCalculator(new EuclideanDistanceCalculator());
+        for (int i = 0; i < size; i++) {
+            builder.addNode("R" + i, new Location(1000 + i * 3, 1000 + (i % 4) * 5));
+        }
+        for (int i = 0; i < size; i++) {
+            builder.addEdge("E" + i, new Location(1000 + i * 3, 1000 + (i % 4) * 5),
+                new Location(1000 + (i + 1) % size * 3, 1000 + ((i + 1) % size % 4) * 5));
+        }
+        builder.addEdge("S", new Location(1000, 1000), new Location(1000 + shortcut * 3, 1000 + (shortcut % 4) * 5));
+        return builder.build();
+    }
+
+    @Test
+    public void testMappedTables() throws IOException {
+        Region written = createRing(30, 15);
+        Path file = Files.createTempFile("tables", ".routing");
+        try {
+            PrecomputedPathCalculator writer = new PrecomputedPathCalculator();
+            writer.writeTables(written, file);
+            Assertions.assertFalse(writer.isMapped(written));
+            Assertions.assertTrue(PrecomputedPathCalculator.mapTables(file));
+
+            // a region with the same structure uses the mapped tables, even if it is a different instance
+            Region identical = createRing(30, 15);
+            PrecomputedPathCalculator actual = new PrecomputedPathCalculator();
+            actual.prepare(identical);
+            Assertions.assertTrue(actual.isMapped(identical));
+            Assertions.assertEquals(0, actual.estimateMemory());
+            PathCalculator expected = new CompiledDijkstraPathCalculator(null);
+            for (Region.Node start : identical.getNodes()) {
+                for (Region.Node end : identical.getNodes()) {
+                    Assertions.assertEquals(new ArrayList<>(expected.getPath(start, end)), new ArrayList<>(actual.getPath(start, end)));
+                    Assertions.assertEquals(expected.getDuration(start, end), actual.getDuration(start, end));
+                    Assertions.assertSame(end, actual.getShortestPathTree(end).getRoot());
+                }
+            }
+
+            Region different = createRing(30, 16);
+            PrecomputedPathCalculator other = new PrecomputedPathCalculator();
+            Assertions.assertTrue(other.isPrecomputed(different));
+            Assertions.assertFalse(other.isMapped(different));
+
+            // a mapped file is never replaced
+            Assertions.assertThrows(IOException.class, () -> other.writeTables(different, file));
+            Assertions.assertTrue(PrecomputedPathCalculator.unmapTables(file));
+            Assertions.assertFalse(PrecomputedPathCalculator.unmapTables(file));
+        } finally {
+            PrecomputedPathCalculator.unmapTables(file);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testStaleTablesAreReplaced() throws IOException {
+        Path file = Files.createTempFile("tables", ".routing");
+        try {
+            new PrecomputedPathCalculator().writeTables(createRing(20, 5), file);
+            Assertions.assertTrue(PrecomputedPathCalculator.mapTables(file));
+
+            // the registered file is not mapped for a different structure, so it can be replaced
+            Region edited = createRing(20, 6);
+            PrecomputedPathCalculator writer = new PrecomputedPathCalculator();
+            Assertions.assertFalse(writer.isMapped(edited));
+            writer.writeTables(edited, file);
+            Assertions.assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+            Assertions.assertFalse(new PrecomputedPathCalculator().isMapped(createRing(20, 5)));
+
+            Assertions.assertTrue(PrecomputedPathCalculator.mapTables(file));
+            Assertions.assertTrue(new PrecomputedPathCalculator().isMapped(createRing(20, 6)));
+        } finally {
+            PrecomputedPathCalculator.unmapTables(file);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testUnreadableTablesAreComputed() throws IOException {
+        Path file = Files.createTempFile("tables", ".routing");
+        try {
+            new PrecomputedPathCalculator().writeTables(createRing(25, 3), file);
+            Assertions.assertTrue(PrecomputedPathCalculator.mapTables(file));
+            Files.delete(file);
+
+            PrecomputedPathCalculator calculator = new PrecomputedPathCalculator();
+            Region region = createRing(25, 3);
+            Assertions.assertTrue(calculator.isPrecomputed(region));
+            Assertions.assertFalse(calculator.isMapped(region));
+            Assertions.assertFalse(PrecomputedPathCalculator.unmapTables(file));
+        } finally {
+            PrecomputedPathCalculator.unmapTables(file);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testMalformedTables() throws IOException {
+        Path file = Files.createTempFile("tables", ".routing");
+        try {
+            Files.writeString(file, "START PROBLEM ARCHETYPE\nEND PROBLEM ARCHETYPE\n");
+            Assertions.assertFalse(PrecomputedPathCalculator.mapTables(file));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new PrecomputedPathCalculator(10).writeTables(region, file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testIllegalCeiling() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PrecomputedPathCalculator(-1));
+    }
+}
@@ -0,0 +1,86 @@
+package projekt.delivery.routing;
+
+import projekt.base.DistanceCalculator;
+import projekt.base.Location;
+
+import java.util.Deque;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Builds the random {@link Region}s shared by the {@link PathCalculator} tests.
+ */
+final class RoutingTestRegions {
+
+    private RoutingTestRegions() {
+    }
+
+    /**
+     * Returns a {@link Region.Builder} containing a connected grid of {@code size * size} nodes named
+     * {@code "N<x>,<y>"}, whose locations are jittered randomly.<p>
+     *
+     * Every row is connected by horizontal edges and the first column by vertical edges. Every other vertical edge is
+     * missing with a probability of 1/5 and diagonal edges are added with a probability of 1/3, so that the nodes are
+     * connected by paths of different shapes.
+     *
+     * @param size The amount of nodes per row and column.
+     * @param seed The seed of the random jitter and the random edges.
+     * @param distanceCalculator The {@link DistanceCalculator} determining the durations of the edges.
+     * @return A {@link Region.Builder} containing the grid, to which further nodes and edges can be added.
+     */
+    static Region.Builder jitteredGridBuilder(int size, long seed, DistanceCalculator distanceCalculator) {
+        Random random = new Random(seed);
+        Region.Builder builder = Region.builder().distanceCalculator(distanceCalculator);
+        Location[][] locations = new Location[size][size];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                locations[x][y] = new Location(x * 4 + random.nextInt(3), y * 4 + random.nextInt(3));
+                builder.addNode("N" + x + "," + y, locations[x][y]);
+            }
+        }
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                if (x + 1 < size) {
+                    builder.addEdge("H" + x + "," + y, locations[x][y], locations[x + 1][y]);
+                }
+                if (y + 1 < size && (x == 0 || random.nextInt(5) > 0)) {
+                    builder.addEdge("V" + x + "," + y, locations[x][y], locations[x][y + 1]);
+                }
+                if (x + 1 < size && y + 1 < size && random.nextInt(3) == 0) {
+                    builder.addEdge("D" + x + "," + y, locations[x][y], locations[x + 1][y + 1]);
+                }
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Returns a connected grid of {@code size * size} jittered nodes.
+     * @param size The amount of nodes per row and column.
+     * @param seed The seed of the random jitter and the random edges.
+     * @param distanceCalculator The {@link DistanceCalculator} determining the durations of the edges.
+     * @return The built grid.
+     * @see #jitteredGridBuilder(int, long, DistanceCalculator)
+     */
+    static Region jitteredGrid(int size, long seed, DistanceCalculator distanceCalculator) {
+        return jitteredGridBuilder(size, seed, distanceCalculator).build();
+    }
+
+    /**
+     * Returns the sum of the durations of the {@link Region.Edge}s along the given path.
+     * @param start The node the path starts at.
+     * @param path The nodes of the path, excluding start.
+     * @return The duration of the given path.
+     * @throws NullPointerException If two consecutive nodes of the path are not connected.
+     */
+    static long pathDuration(Region.Node start, Deque<Region.Node> path) {
+        long duration = 0;
+        Region.Node previous = start;
+        for (Region.Node node : path) {
+            duration += Objects.requireNonNull(start.getRegion().getEdge(previous, node), "path contains unconnected nodes")
+                .getDuration();
+            previous = node;
+        }
+        return duration;
+    }
+}
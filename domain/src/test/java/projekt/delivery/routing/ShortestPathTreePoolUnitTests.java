@@ -0,0 +1,127 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+
+import java.util.Objects;
+
+public class ShortestPathTreePoolUnitTests {
+
+    private static Region createGrid(int size, int removedEdge) {
+        Region.Builder builder = Region.builder().distanceCalculator(new ManhattanDistanceCalculator());
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                builder.addNode("N" + x + "," + y, new Location(x * 2, y * 3));
+            }
+        }
+        int edge = 0;
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                if (x + 1 < size && edge++ != removedEdge) {
+                    builder.addEdge("H" + x + "," + y, new Location(x * 2, y * 3), new Location(x * 2 + 2, y * 3));
+                }
+                if (y + 1 < size && edge++ != removedEdge) {
+                    builder.addEdge("V" + x + "," + y, new Location(x * 2, y * 3), new Location(x * 2, y * 3 + 3));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static Region.Node getNode(Region region, int x, int y) {
+        return Objects.requireNonNull(region.getNode(new Location(x * 2, y * 3)));
+    }
+
+    @Test
+    public void testIdenticalRegionsShareTrees() {
+        ShortestPathTreePool pool = new ShortestPathTreePool(ShortestPathTreePool.DEFAULT_CAPACITY);
+        Region first = createGrid(6, -1);
+        Region second = createGrid(6, -1);
+        Assertions.assertNotSame(first, second);
+
+        ShortestPathTree expected = new CompiledDijkstraPathCalculator(pool).getShortestPathTree(getNode(first, 2, 3));
+        ShortestPathTree actual = new CompiledDijkstraPathCalculator(pool).getShortestPathTree(getNode(second, 2, 3));
+        Assertions.assertEquals(new ShortestPathTreePool.Stats(1, 1, 0, 1, 1, pool.getStats().memory()), pool.getStats());
+
+        // the shared tree belongs to the region it was requested for
+        Assertions.assertSame(second, actual.getRoot().getRegion());
+        for (Region.Node node : second.getNodes()) {
+            Region.Node original = Objects.requireNonNull(first.getNode(node.getLocation()));
+            Assertions.assertEquals(expected.getDuration(original), actual.getDuration(node));
+            Assertions.assertEquals(expected.getPath(original).size(), actual.getPath(node).size());
+            Region.Node hop = actual.getNextHop(node);
+            Assertions.assertTrue(hop == null || hop.getRegion() == second);
+        }
+    }
+
+    @Test
+    public void testDifferentRegionsDoNotShareTrees() {
+        ShortestPathTreePool pool = new ShortestPathTreePool(ShortestPathTreePool.DEFAULT_CAPACITY);
+        Region first = createGrid(5, -1);
+        Region second = createGrid(5, 7);
+
+        long expected = new CompiledDijkstraPathCalculator(null).getDuration(getNode(second, 0, 0), getNode(second, 4, 4));
+        new CompiledDijkstraPathCalculator(pool).getDurationsTo(getNode(first, 4, 4));
+        Assertions.assertEquals(expected, new CompiledDijkstraPathCalculator(pool).getDuration(getNode(second, 0, 0), getNode(second, 4, 4)));
+
+        ShortestPathTreePool.Stats stats = pool.getStats();
+        Assertions.assertEquals(0, stats.hits());
+        Assertions.assertEquals(2, stats.misses());
+        Assertions.assertEquals(2, stats.regions());
+    }
+
+    @Test
+    public void testCapacity() {
+        Region region = createGrid(6, -1);
+        long treeMemory = 64L + 12L * region.getNodes().size();
+        long fingerprintMemory = RegionFingerprint.of(CompiledRegion.of(region)).estimateMemory();
+        ShortestPathTreePool pool = new ShortestPathTreePool(fingerprintMemory + 3 * treeMemory);
+        CompiledDijkstraPathCalculator calculator = new CompiledDijkstraPathCalculator(pool);
+        for (Region.Node node : region.getNodes()) {
+            calculator.getDurationsTo(node);
+        }
+
+        ShortestPathTreePool.Stats stats = pool.getStats();
+        Assertions.assertEquals(3, stats.entries());
+        Assertions.assertEquals(region.getNodes().size() - 3, stats.evictions());
+        Assertions.assertEquals(fingerprintMemory + 3 * treeMemory, stats.memory());
+
+        pool.clear();
+        Assertions.assertEquals(0, pool.getStats().entries());
+        Assertions.assertEquals(0, pool.getStats().regions());
+    }
+
+    @Test
+    public void testFingerprintsAreDroppedWithTheirTrees() {
+        Region first = createGrid(6, -1);
+        long treeMemory = 64L + 12L * first.getNodes().size();
+        long fingerprintMemory = RegionFingerprint.of(CompiledRegion.of(first)).estimateMemory();
+        ShortestPathTreePool pool = new ShortestPathTreePool(2 * (fingerprintMemory + treeMemory));
+
+        // every edited region has a different structure, only the regions of the two most recent trees are kept
+        for (int removedEdge = -1; removedEdge < 40; removedEdge++) {
+            Region region = createGrid(6, removedEdge);
+            new CompiledDijkstraPathCalculator(pool).getDurationsTo(getNode(region, 0, 0));
+            ShortestPathTreePool.Stats stats = pool.getStats();
+            Assertions.assertTrue(stats.memory() <= pool.getCapacity());
+            Assertions.assertTrue(stats.regions() <= 2);
+            Assertions.assertEquals(stats.entries(), stats.regions());
+        }
+
+        // a structure whose trees have been evicted is shared again once a tree of it is cached
+        ShortestPathTree expected = new CompiledDijkstraPathCalculator(pool).getShortestPathTree(getNode(first, 1, 1));
+        ShortestPathTree actual = new CompiledDijkstraPathCalculator(pool)
+            .getShortestPathTree(getNode(createGrid(6, -1), 1, 1));
+        Assertions.assertSame(expected.durations, actual.durations);
+        Assertions.assertEquals(1, pool.getStats().hits());
+    }
+
+    @Test
+    public void testDynamicPathCalculatorDoesNotUsePool() {
+        Assertions.assertNull(new DynamicPathCalculator().getPool());
+        Assertions.assertSame(ShortestPathTreePool.getShared(), new CompiledDijkstraPathCalculator().getPool());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ShortestPathTreePool(-1));
+    }
+}
@@ -0,0 +1,98 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class SpatialIndexUnitTests {
+
+    private static Region region;
+    private static SpatialIndex index;
+
+    @BeforeAll
+    public static void initialize() {
+        Random random = new Random(21);
+        Region.Builder builder = Region.builder().distanceCalculator(new ManhattanDistanceCalculator());
+        Set<Location> locations = new HashSet<>();
+        while (locations.size() < 300) {
+            Location location = new Location(random.nextInt(60) - 30, random.nextInt(60) - 30);
+            if (locations.add(location)) {
+                builder.addNode("N" + locations.size(), location);
+            }
+        }
+        region = builder.build();
+        index = SpatialIndex.of(region);
+    }
+
+    private static long distance(Region.Node node, Location location) {
+        long dx = node.getLocation().getX() - location.getX();
+        long dy = node.getLocation().getY() - location.getY();
+        return dx * dx + dy * dy;
+    }
+
+    private static List<Region.Node> sortedByDistance(Location location) {
+        return region.getNodes().stream()
+            .sorted(Comparator.<Region.Node>comparingLong(node -> distance(node, location)).thenComparing(node -> node))
+            .toList();
+    }
+
+    @Test
+    public void testNearestNodes() {
+        Random random = new Random(3);
+        Assertions.assertEquals(region.getNodes().size(), index.size());
+        for (int i = 0; i < 100; i++) {
+            Location location = new Location(random.nextInt(80) - 40, random.nextInt(80) - 40);
+            List<Region.Node> expected = sortedByDistance(location);
+            Assertions.assertSame(expected.get(0), index.getNearestNode(location));
+            Assertions.assertEquals(expected.subList(0, 7), index.getNearestNodes(location, 7));
+        }
+        Assertions.assertEquals(List.of(), index.getNearestNodes(new Location(0, 0), 0));
+        Assertions.assertEquals(region.getNodes().size(), index.getNearestNodes(new Location(0, 0), 1000).size());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.getNearestNodes(new Location(0, 0), -1));
+    }
+
+    @Test
+    public void testNodesWithin() {
+        Random random = new Random(4);
+        for (int i = 0; i < 50; i++) {
+            Location location = new Location(random.nextInt(80) - 40, random.nextInt(80) - 40);
+            double radius = random.nextDouble() * 15;
+            List<Region.Node> expected = sortedByDistance(location).stream()
+                .filter(node -> Math.sqrt(distance(node, location)) <= radius)
+                .toList();
+            Assertions.assertEquals(expected, index.getNodesWithin(location, radius));
+        }
+    }
+
+    @Test
+    public void testNodesInBox() {
+        Random random = new Random(5);
+        for (int i = 0; i < 50; i++) {
+            Location cornerA = new Location(random.nextInt(80) - 40, random.nextInt(80) - 40);
+            Location cornerB = new Location(random.nextInt(80) - 40, random.nextInt(80) - 40);
+            List<Region.Node> expected = region.getNodes().stream()
+                .filter(node -> node.getLocation().getX() >= Math.min(cornerA.getX(), cornerB.getX())
+                    && node.getLocation().getX() <= Math.max(cornerA.getX(), cornerB.getX())
+                    && node.getLocation().getY() >= Math.min(cornerA.getY(), cornerB.getY())
+                    && node.getLocation().getY() <= Math.max(cornerA.getY(), cornerB.getY()))
+                .sorted()
+                .toList();
+            Assertions.assertEquals(expected, index.getNodesInBox(cornerA, cornerB));
+        }
+    }
+
+    @Test
+    public void testEmptyRegion() {
+        SpatialIndex empty = SpatialIndex.of(Region.builder().distanceCalculator(new ManhattanDistanceCalculator()).build());
+        Assertions.assertNull(empty.getNearestNode(new Location(0, 0)));
+        Assertions.assertEquals(List.of(), empty.getNodesInBox(new Location(0, 0), new Location(5, 5)));
+    }
+}
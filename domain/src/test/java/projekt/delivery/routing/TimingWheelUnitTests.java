@@ -0,0 +1,57 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TimingWheelUnitTests {
+
+    @Test
+    public void testPoll() {
+        TimingWheel<String> wheel = new TimingWheel<>(4);
+        wheel.add("a", 1);
+        wheel.add("b", 2);
+        wheel.add("c", 6);
+        Assertions.assertEquals(3, wheel.size());
+        Assertions.assertEquals(1, wheel.getNextDueTick());
+
+        Assertions.assertEquals(List.of(), wheel.poll(0));
+        Assertions.assertEquals(List.of("a"), wheel.poll(1));
+        // "c" shares the bucket of "b" but is due one rotation later
+        Assertions.assertEquals(List.of("b"), wheel.poll(2));
+        Assertions.assertEquals(6, wheel.getNextDueTick());
+
+        // elements that are already due are released by the next poll
+        wheel.add("d", 1);
+        Assertions.assertEquals(List.of("d"), wheel.poll(3));
+        Assertions.assertEquals(List.of("c"), wheel.poll(6));
+        Assertions.assertEquals(0, wheel.size());
+        Assertions.assertEquals(Long.MAX_VALUE, wheel.getNextDueTick());
+    }
+
+    @Test
+    public void testSkippedTicks() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(8);
+        wheel.poll(0);
+        for (int i = 1; i <= 20; i++) {
+            wheel.add(i, i);
+        }
+        Assertions.assertEquals(List.of(1, 2, 3), wheel.poll(3));
+        Assertions.assertEquals(List.of(4, 5, 6, 7, 8), wheel.poll(8));
+        Assertions.assertEquals(12, wheel.size());
+        // more ticks than buckets have been skipped, all elements are due
+        Assertions.assertEquals(12, wheel.poll(100).size());
+
+        wheel.add(101, 101);
+        wheel.clear();
+        Assertions.assertEquals(0, wheel.size());
+        Assertions.assertEquals(List.of(), wheel.poll(101));
+    }
+
+    @Test
+    public void testInvalidSize() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(12));
+    }
+}
@@ -0,0 +1,523 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.VehicleEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class VehicleManagerImplUnitTests {
+
+    private static final Location LOCATION_A = new Location(0, 0);
+    private static final Location LOCATION_B = new Location(2, 0);
+    private static final Location LOCATION_C = new Location(4, 0);
+
+    private static VehicleManagerImpl createVehicleManager() {
+        return createVehicleManager(new DijkstraPathCalculator());
+    }
+
+    private static VehicleManagerImpl createVehicleManager(PathCalculator pathCalculator) {
+        return createVehicleManager(pathCalculator, false);
+    }
+
+    private static VehicleManagerImpl createVehicleManager(PathCalculator pathCalculator, boolean nextHopMovement) {
+        return createVehicleManager(pathCalculator, nextHopMovement, false);
+    }
+
+    private static VehicleManagerImpl createVehicleManager(PathCalculator pathCalculator, boolean nextHopMovement,
+                                                           boolean dynamicEdgeDurations) {
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("A", LOCATION_A, List.of("Pizza"))
+            .addNode("B", LOCATION_B)
+            .addNeighborhood("C", LOCATION_C)
+            .addEdge("AB", LOCATION_A, LOCATION_B)
+            .addEdge("BC", LOCATION_B, LOCATION_C)
+            .build();
+        return (VehicleManagerImpl) VehicleManager.builder()
+            .region(region)
+            .pathCalculator(pathCalculator)
+            .nextHopMovement(nextHopMovement)
+            .dynamicEdgeDurations(dynamicEdgeDurations)
+            .addVehicle(LOCATION_A, 10)
+            .build();
+    }
+
+    private static long driveToC(VehicleManagerImpl vehicleManager) {
+        vehicleManager.tick(0);
+        Vehicle vehicle = vehicleManager.getVehicles().iterator().next();
+        Region.Node nodeC = vehicleManager.getRegion().getNode(LOCATION_C);
+        long[] arrival = {-1};
+        vehicle.moveQueued(nodeC, (v, tick) -> arrival[0] = tick);
+        for (long tick = 1; tick < 20 && arrival[0] < 0; tick++) {
+            vehicleManager.tick(tick);
+        }
+        Assertions.assertSame(vehicleManager.getOccupiedNeighborhood(nodeC), vehicle.getOccupied());
+        return arrival[0];
+    }
+
+    @Test
+    public void testLookupsMatchMaps() {
+        VehicleManagerImpl vehicleManager = createVehicleManager();
+        Region region = vehicleManager.getRegion();
+        for (Region.Node node : region.getNodes()) {
+            Assertions.assertSame(vehicleManager.occupiedNodes.get(node), vehicleManager.getOccupied(node));
+            Assertions.assertSame(vehicleManager.occupiedNodes.get(node), vehicleManager.getOccupiedNode(node));
+        }
+        for (Region.Edge edge : region.getEdges()) {
+            Assertions.assertSame(vehicleManager.occupiedEdges.get(edge), vehicleManager.getOccupied(edge));
+            Assertions.assertSame(vehicleManager.occupiedEdges.get(edge), vehicleManager.getOccupiedEdge(edge.getNodeA(), edge.getNodeB()));
+            Assertions.assertSame(vehicleManager.occupiedEdges.get(edge), vehicleManager.getOccupiedEdge(edge.getNodeB(), edge.getNodeA()));
+        }
+        Assertions.assertThrows(NullPointerException.class, () -> vehicleManager.getOccupiedEdge(
+            region.getNode(LOCATION_A), region.getNode(LOCATION_C)));
+    }
+
+    @Test
+    public void testMovement() {
+        Assertions.assertEquals(7, driveToC(createVehicleManager()));
+    }
+
+    @Test
+    public void testDynamicEdgeDurations() {
+        for (boolean dynamicEdgeDurations : new boolean[] {false, true}) {
+            DynamicPathCalculator pathCalculator = new DynamicPathCalculator();
+            VehicleManagerImpl vehicleManager = createVehicleManager(pathCalculator, false, dynamicEdgeDurations);
+            Region.Edge edge = vehicleManager.getRegion().getEdge(LOCATION_A, LOCATION_B);
+            pathCalculator.setDuration(Objects.requireNonNull(edge), 10);
+
+            Assertions.assertEquals(dynamicEdgeDurations, vehicleManager.isDynamicEdgeDurations());
+            Assertions.assertEquals(dynamicEdgeDurations, vehicleManager.copy().isDynamicEdgeDurations());
+            Assertions.assertEquals(dynamicEdgeDurations ? 15 : 7, driveToC(vehicleManager));
+        }
+    }
+
+    @Test
+    public void testReplacedMaps() throws ReflectiveOperationException {
+        VehicleManagerImpl vehicleManager = createVehicleManager();
+        Region.Node nodeB = vehicleManager.getRegion().getNode(LOCATION_B);
+        vehicleManager.getOccupied(nodeB);
+
+        Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> occupiedNodes = new HashMap<>(vehicleManager.occupiedNodes);
+        OccupiedNodeImpl<Region.Node> replacement = new OccupiedNodeImpl<>(nodeB, vehicleManager);
+        occupiedNodes.put(nodeB, replacement);
+        var field = VehicleManagerImpl.class.getDeclaredField("occupiedNodes");
+        field.setAccessible(true);
+        field.set(vehicleManager, occupiedNodes);
+
+        Assertions.assertSame(replacement, vehicleManager.getOccupied(nodeB));
+        Assertions.assertSame(replacement, vehicleManager.getOccupiedNode(nodeB));
+        driveToC(vehicleManager);
+    }
+
+    @Test
+    public void testSharedPathsAreConsumedWithoutCopying() {
+        CachedPathCalculator pathCalculator = new CachedPathCalculator(new DijkstraPathCalculator(), 8, CachedPathCalculator.Mode.SHARED);
+        VehicleManagerImpl vehicleManager = createVehicleManager(pathCalculator);
+        Region region = vehicleManager.getRegion();
+        Region.Node nodeA = region.getNode(LOCATION_A);
+        Region.Node nodeC = region.getNode(LOCATION_C);
+        Deque<Region.Node> shared = pathCalculator.getPath(nodeA, nodeC);
+
+        vehicleManager.tick(0);
+        Vehicle vehicle = vehicleManager.getVehicles().iterator().next();
+        Collection<? extends Vehicle.Path> view = vehicle.getPathsView();
+        Assertions.assertNull(vehicle.getDestination());
+        vehicle.moveQueued(nodeC);
+        Assertions.assertSame(nodeC, vehicle.getDestination());
+        Assertions.assertEquals(1, view.size());
+        Assertions.assertThrows(UnsupportedOperationException.class, view::clear);
+
+        Deque<Region.Node> queued = view.iterator().next().nodes();
+        Assertions.assertTrue(queued instanceof ConsumablePath);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> queued.addFirst(nodeA));
+        for (long tick = 1; tick < 10; tick++) {
+            vehicleManager.tick(tick);
+        }
+        Assertions.assertSame(vehicleManager.getOccupied(nodeC), vehicle.getOccupied());
+        Assertions.assertTrue(view.isEmpty());
+        Assertions.assertTrue(queued.isEmpty());
+        Assertions.assertEquals(List.of(region.getNode(LOCATION_B), nodeC), List.copyOf(shared));
+        Assertions.assertSame(shared, pathCalculator.getPath(nodeA, nodeC));
+    }
+
+    @Test
+    public void testCalculatedPathsAreConsumedWithoutCopying() {
+        List<PathCalculator> pathCalculators = List.of(
+            new CompiledDijkstraPathCalculator(),
+            new PrecomputedPathCalculator(),
+            new AStarPathCalculator(),
+            new BidirectionalDijkstraPathCalculator(),
+            new ContractionHierarchyPathCalculator(),
+            new AltPathCalculator(),
+            new DynamicPathCalculator()
+        );
+        for (PathCalculator pathCalculator : pathCalculators) {
+            VehicleManagerImpl vehicleManager = createVehicleManager(pathCalculator);
+            Region region = vehicleManager.getRegion();
+            Region.Node nodeA = region.getNode(LOCATION_A);
+            Region.Node nodeC = region.getNode(LOCATION_C);
+            Deque<Region.Node> path = pathCalculator.getPath(nodeA, nodeC);
+            Assertions.assertTrue(path instanceof ImmutablePath, pathCalculator.getClass().getSimpleName());
+            Assertions.assertEquals(List.of(region.getNode(LOCATION_B), nodeC), List.copyOf(path));
+
+            vehicleManager.tick(0);
+            Vehicle vehicle = vehicleManager.getVehicles().iterator().next();
+            vehicle.moveQueued(nodeC);
+            Assertions.assertTrue(vehicle.getPathsView().iterator().next().nodes() instanceof ConsumablePath);
+            for (long tick = 1; tick < 10; tick++) {
+                vehicleManager.tick(tick);
+            }
+            Assertions.assertSame(vehicleManager.getOccupied(nodeC), vehicle.getOccupied());
+            Assertions.assertEquals(List.of(region.getNode(LOCATION_B), nodeC), List.copyOf(path));
+        }
+    }
+
+    @Test
+    public void testNextHopMovement() {
+        PathCalculator pathCalculator = new PrecomputedPathCalculator() {
+            @Override
+            public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+                throw new AssertionError("paths must not be materialized");
+            }
+        };
+        VehicleManagerImpl vehicleManager = createVehicleManager(pathCalculator, true);
+        Assertions.assertTrue(vehicleManager.isNextHopMovement());
+        Assertions.assertEquals(7, driveToC(vehicleManager));
+    }
+
+    @Test
+    public void testNextHopMovementFollowsChangedDurations() {
+        Location locationB = new Location(2, 2);
+        Location locationC = new Location(2, -2);
+        Location locationD = new Location(4, 0);
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("A", LOCATION_A, List.of("Pizza"))
+            .addNode("B", locationB)
+            .addNode("C", locationC)
+            .addNode("D", locationD)
+            .addEdge("AB", LOCATION_A, locationB)
+            .addEdge("AC", LOCATION_A, locationC)
+            .addEdge("BD", locationB, locationD)
+            .addEdge("CD", locationC, locationD)
+            .build();
+        DynamicPathCalculator pathCalculator = new DynamicPathCalculator();
+        VehicleManager vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(pathCalculator)
+            .nextHopMovement(true)
+            .addVehicle(LOCATION_A, 10)
+            .build();
+        vehicleManager.tick(0);
+        Vehicle vehicle = vehicleManager.getVehicles().iterator().next();
+        Region.Node nodeD = region.getNode(locationD);
+        vehicle.moveQueued(nodeD);
+        Assertions.assertSame(nodeD, vehicle.getDestination());
+
+        // both routes are equally long, make the one the vehicle starts with expensive once it is on its first edge
+        vehicleManager.tick(1);
+        Region.Edge firstEdge = (Region.Edge) vehicle.getOccupied().getComponent();
+        Region.Node firstNode = firstEdge.getNodeA().getLocation().equals(LOCATION_A) ? firstEdge.getNodeB() : firstEdge.getNodeA();
+        Region.Node otherNode = region.getNode(firstNode.getLocation().equals(locationB) ? locationC : locationB);
+        pathCalculator.setDuration(region.getEdge(firstNode.getLocation(), locationD), 100);
+
+        List<Region.Component<?>> visited = new ArrayList<>();
+        for (long tick = 2; tick < 30; tick++) {
+            vehicleManager.tick(tick);
+            if (visited.isEmpty() || visited.get(visited.size() - 1) != vehicle.getOccupied().getComponent()) {
+                visited.add(vehicle.getOccupied().getComponent());
+            }
+        }
+        // the vehicle finishes the edge it is on and turns back instead of taking the expensive edge
+        Assertions.assertEquals(List.of(firstEdge, firstNode, firstEdge, region.getNode(LOCATION_A),
+            region.getEdge(LOCATION_A, otherNode.getLocation()), otherNode, region.getEdge(otherNode.getLocation(), locationD), nodeD), visited);
+    }
+
+    private static VehicleManagerImpl createStarVehicleManager() {
+        // a restaurant in the center with edges of different durations to the other nodes
+        Region.Builder builder = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("R", LOCATION_A, List.of("Pizza"));
+        for (int i = 1; i <= 4; i++) {
+            Location location = new Location(i, i % 2 == 0 ? 3 * i : -i);
+            builder.addNeighborhood("N" + i, location).addEdge("RN" + i, LOCATION_A, location);
+        }
+        VehicleManager.Builder vehicleManager = VehicleManager.builder()
+            .region(builder.build())
+            .pathCalculator(new DijkstraPathCalculator());
+        for (int i = 0; i < 4; i++) {
+            vehicleManager.addVehicle(LOCATION_A, 10);
+        }
+        return (VehicleManagerImpl) vehicleManager.build();
+    }
+
+    private static List<String> driveAround(VehicleManagerImpl vehicleManager, boolean fullScan) {
+        List<String> observed = new ArrayList<>();
+        vehicleManager.tick(0);
+        List<Region.Node> neighborhoods = vehicleManager.getOccupiedNeighborhoods().stream()
+            .<Region.Node>map(VehicleManager.Occupied::getComponent)
+            .sorted(Comparator.comparing(Region.Node::getName))
+            .toList();
+        Region.Node restaurant = vehicleManager.getOccupiedRestaurants().get(0).getComponent();
+        List<Vehicle> vehicles = vehicleManager.getVehicles().stream().sorted().toList();
+        for (long tick = 1; tick < 60; tick++) {
+            if (tick % 7 == 1) {
+                Vehicle vehicle = vehicles.get((int) (tick / 7) % vehicles.size());
+                if (vehicle.getOccupied().getComponent() == restaurant && vehicle.getPathsView().isEmpty()) {
+                    long start = tick;
+                    vehicle.moveQueued(neighborhoods.get((int) (tick % neighborhoods.size())),
+                        (v, t) -> observed.add("vehicle " + v.getId() + " started at " + start + " arrived at " + t));
+                    vehicle.moveQueued(restaurant);
+                }
+            }
+            if (fullScan) {
+                // the behavior before the active nodes and the departures were tracked
+                for (VehicleManager.Occupied<?> occupied : vehicleManager.getOccupiedNodes()) {
+                    occupied.tick(tick);
+                }
+                for (VehicleManager.Occupied<?> occupied : vehicleManager.getOccupiedEdges()) {
+                    occupied.tick(tick);
+                }
+                vehicleManager.getEventBus().popEvents(tick);
+            } else {
+                vehicleManager.tick(tick);
+            }
+            for (Vehicle vehicle : vehicles) {
+                observed.add(tick + ": " + vehicle.getId() + " " + vehicle.getOccupied().getComponent());
+            }
+        }
+        return observed;
+    }
+
+    @Test
+    public void testActiveTickingMatchesFullScan() {
+        Assertions.assertEquals(driveAround(createStarVehicleManager(), true), driveAround(createStarVehicleManager(), false));
+    }
+
+    @Test
+    public void testNextEventTick() {
+        VehicleManagerImpl vehicleManager = createVehicleManager();
+        Assertions.assertEquals(0, vehicleManager.getNextEventTick(0));
+        vehicleManager.tick(0);
+        Assertions.assertEquals(Long.MAX_VALUE, vehicleManager.getNextEventTick(1));
+
+        Vehicle vehicle = vehicleManager.getVehicles().iterator().next();
+        vehicle.moveQueued(vehicleManager.getRegion().getNode(LOCATION_C));
+        Assertions.assertEquals(1, vehicleManager.getNextEventTick(1));
+        vehicleManager.tick(1);
+        // the edge AB takes two ticks, ticks in between can be skipped
+        Assertions.assertEquals(3, vehicleManager.getNextEventTick(2));
+        vehicleManager.tick(3);
+        Assertions.assertSame(vehicleManager.getRegion().getNode(LOCATION_B), vehicle.getOccupied().getComponent());
+
+        vehicleManager.reset();
+        Assertions.assertEquals(0, vehicleManager.getNextEventTick(0));
+    }
+
+    @Test
+    public void testCopy() {
+        VehicleManagerImpl vehicleManager = createStarVehicleManager();
+        vehicleManager.tick(0);
+        Vehicle vehicle = vehicleManager.getVehicles().iterator().next();
+        vehicle.moveQueued(vehicleManager.getOccupiedNeighborhoods().iterator().next().getComponent());
+        vehicleManager.tick(1);
+
+        VehicleManager copy = vehicleManager.copy();
+        Assertions.assertSame(vehicleManager.getRegion(), copy.getRegion());
+        Assertions.assertSame(vehicleManager.getPathCalculator(), copy.getPathCalculator());
+        Assertions.assertTrue(copy.getVehicles().isEmpty());
+        List<Vehicle> vehicles = copy.getAllVehicles().stream().sorted().toList();
+        Assertions.assertEquals(vehicleManager.getAllVehicles().size(), vehicles.size());
+        for (int i = 0; i < vehicles.size(); i++) {
+            Assertions.assertEquals(i, vehicles.get(i).getId());
+            Assertions.assertEquals(10.0, vehicles.get(i).getCapacity());
+            Assertions.assertSame(copy.getOccupiedRestaurants().iterator().next(), vehicles.get(i).getStartingNode());
+        }
+
+        // the copy starts in its start state and does not move the vehicles of the original
+        copy.tick(0);
+        Assertions.assertTrue(copy.getVehicles().stream().allMatch(v -> v.getPathsView().isEmpty()));
+        Assertions.assertFalse(vehicle.getOccupied().getComponent() instanceof Region.Restaurant);
+    }
+
+    @Test
+    public void testCopyUsesCopiedPathCalculator() {
+        DynamicPathCalculator dynamic = new DynamicPathCalculator();
+        CachedPathCalculator cached = new CachedPathCalculator(dynamic, 4, CachedPathCalculator.Mode.SHARED);
+        VehicleManagerImpl vehicleManager = createVehicleManager(cached);
+        Region.Edge edge = vehicleManager.getRegion().getEdges().iterator().next();
+        dynamic.setDuration(edge, 10);
+        Region.Node node = edge.getNodeA();
+        cached.getDurationsTo(node);
+
+        CachedPathCalculator copy = (CachedPathCalculator) vehicleManager.copy().getPathCalculator();
+        Assertions.assertNotSame(cached, copy);
+        Assertions.assertSame(CachedPathCalculator.Mode.SHARED, copy.getMode());
+        Assertions.assertEquals(new CachedPathCalculator.Stats(0, 0, 0, 0, 0), copy.getStats());
+
+        // the copy starts with the overridden duration, later overrides only affect their own calculator
+        DynamicPathCalculator dynamicCopy = (DynamicPathCalculator) copy.getDelegate();
+        Assertions.assertNotSame(dynamic, dynamicCopy);
+        Assertions.assertEquals(10, dynamicCopy.getDuration(edge));
+        dynamicCopy.setDuration(edge, 20);
+        Assertions.assertEquals(10, dynamic.getDuration(edge));
+    }
+
+    private static Region createGridRegion() {
+        Region.Builder builder = Region.builder().distanceCalculator(new EuclideanDistanceCalculator());
+        for (int x = 0; x < 12; x++) {
+            for (int y = 0; y < 12; y++) {
+                Location location = new Location(x, y);
+                if (x % 5 == 0 && y % 5 == 0) {
+                    builder.addRestaurant("R" + x + "," + y, location, List.of("Pizza"));
+                } else {
+                    builder.addNeighborhood("N" + x + "," + y, location);
+                }
+                if (x > 0) {
+                    builder.addEdge("H" + x + "," + y, new Location(x - 1, y), location);
+                }
+                if (y > 0) {
+                    builder.addEdge("V" + x + "," + y, new Location(x, y - 1), location);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static List<String> driveRandomly(Region region, boolean nextHopMovement, ForkJoinPool tickPool) {
+        return driveRandomly(region, nextHopMovement, tickPool, null);
+    }
+
+    /**
+     * Drives many vehicles to random nodes and returns a description of every event and every position. Arriving
+     * vehicles redirect other vehicles, so that some of the planned moves are outdated when they are executed. If a
+     * {@link DynamicPathCalculator} is given, arriving vehicles also change the duration of a random edge, which
+     * changes the next hops of the other vehicles.
+     */
+    private static List<String> driveRandomly(Region region, boolean nextHopMovement, ForkJoinPool tickPool,
+                                              DynamicPathCalculator dynamicPathCalculator) {
+        VehicleManager.Builder builder = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(dynamicPathCalculator != null ? dynamicPathCalculator : new DijkstraPathCalculator())
+            .nextHopMovement(nextHopMovement)
+            .tickPool(tickPool);
+        List<Region.Restaurant> restaurants = region.getNodes().stream()
+            .filter(Region.Restaurant.class::isInstance)
+            .map(Region.Restaurant.class::cast)
+            .sorted(Comparator.comparing(Region.Node::getName))
+            .toList();
+        for (int i = 0; i < 200; i++) {
+            builder.addVehicle(restaurants.get(i % restaurants.size()).getLocation(), 10);
+        }
+        VehicleManagerImpl vehicleManager = (VehicleManagerImpl) builder.build();
+        List<Region.Node> nodes = region.getNodes().stream().sorted(Comparator.comparing(Region.Node::getName)).toList();
+        List<Region.Edge> edges = region.getEdges().stream().sorted(Comparator.comparing(Region.Edge::getName)).toList();
+        Random random = new Random(42);
+        List<String> observed = new ArrayList<>();
+
+        vehicleManager.tick(0);
+        List<Vehicle> vehicles = vehicleManager.getVehicles().stream().sorted().toList();
+        for (long tick = 1; tick < 80; tick++) {
+            for (Vehicle vehicle : vehicles) {
+                if (vehicle.getPathsView().isEmpty() && random.nextInt(3) == 0) {
+                    Region.Node destination = randomOtherNode(nodes, random, vehicle);
+                    vehicle.moveQueued(destination, (v, t) -> {
+                        observed.add(t + ": " + v.getId() + " arrived at " + destination.getName());
+                        if (dynamicPathCalculator != null) {
+                            dynamicPathCalculator.setDuration(edges.get(random.nextInt(edges.size())), 1 + random.nextInt(20));
+                        }
+                        Vehicle other = vehicles.get((v.getId() + 1) % vehicles.size());
+                        if (random.nextBoolean() && other.getOccupied().getComponent() instanceof Region.Node) {
+                            other.moveDirect(randomOtherNode(nodes, random, other));
+                        }
+                    });
+                }
+            }
+            for (Event event : vehicleManager.tick(tick)) {
+                String vehicle = event instanceof VehicleEvent vehicleEvent ? " " + vehicleEvent.getVehicle().getId() : "";
+                observed.add(tick + ": " + event.getClass().getSimpleName() + vehicle);
+            }
+            for (Vehicle vehicle : vehicles) {
+                observed.add(tick + ": " + vehicle.getId() + " at " + vehicle.getOccupied().getComponent().getName());
+            }
+        }
+        return observed;
+    }
+
+    private static Region.Node randomOtherNode(List<Region.Node> nodes, Random random, Vehicle vehicle) {
+        Region.Node node;
+        do {
+            node = nodes.get(random.nextInt(nodes.size()));
+        } while (node.equals(vehicle.getOccupied().getComponent()));
+        return node;
+    }
+
+    @Test
+    public void testParallelPlanningMatchesSequential() {
+        Region region = createGridRegion();
+        ForkJoinPool tickPool = new ForkJoinPool(4);
+        try {
+            for (boolean nextHopMovement : new boolean[] {false, true}) {
+                List<String> expected = driveRandomly(region, nextHopMovement, null);
+                List<String> actual = driveRandomly(region, nextHopMovement, tickPool);
+                Assertions.assertEquals(expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    Assertions.assertEquals(expected.get(i), actual.get(i));
+                }
+            }
+        } finally {
+            tickPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelPlanningOnlyWithNextHopMovement() {
+        Region region = createGridRegion();
+        AtomicInteger submitted = new AtomicInteger();
+        ForkJoinPool tickPool = new ForkJoinPool(4) {
+            @Override
+            public ForkJoinTask<?> submit(Runnable task) {
+                submitted.incrementAndGet();
+                return super.submit(task);
+            }
+        };
+        try {
+            // the next nodes of the stored paths are known, planning them in parallel would only add overhead
+            driveRandomly(region, false, tickPool);
+            Assertions.assertEquals(0, submitted.get());
+            driveRandomly(region, true, tickPool);
+            Assertions.assertTrue(submitted.get() > 0);
+        } finally {
+            tickPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelPlanningMatchesSequentialWithChangingDurations() {
+        Region region = createGridRegion();
+        ForkJoinPool tickPool = new ForkJoinPool(4);
+        try {
+            // the next hops must be determined after the arrival actions of the previous vehicles have run
+            List<String> expected = driveRandomly(region, true, null, new DynamicPathCalculator());
+            List<String> actual = driveRandomly(region, true, tickPool, new DynamicPathCalculator());
+            Assertions.assertEquals(expected, actual);
+        } finally {
+            tickPool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.OrderReceivedEvent;
+import projekt.delivery.event.VehicleEvent;
+import projekt.delivery.generator.EmptyOrderGenerator;
+import projekt.delivery.generator.FridayOrderGenerator;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.rating.AmountDeliveredRater;
+import projekt.delivery.rating.InTimeRater;
+import projekt.delivery.rating.Rater;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.rating.TravelDistanceRater;
+import projekt.delivery.routing.CachedPathCalculator;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.DijkstraPathCalculator;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.BasicDeliveryService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+public class BasicDeliverySimulationUnitTests {
+
+    private static final long SIMULATION_LENGTH = 400;
+
+    private static VehicleManager createVehicleManager() {
+        Region.Builder builder = Region.builder().distanceCalculator(new ManhattanDistanceCalculator());
+        for (int x = 0; x < 5; x++) {
+            for (int y = 0; y < 5; y++) {
+                Location location = new Location(x * 3, y * 4);
+                if ((x == 0 && y == 0) || (x == 0 && y == 4) || (x == 4 && y == 2)) {
+                    builder.addRestaurant("R" + x + "," + y, location, List.of("Pizza", "Pasta"));
+                } else if ((x + y) % 3 == 0) {
+                    builder.addNeighborhood("H" + x + "," + y, location);
+                } else {
+                    builder.addNode("N" + x + "," + y, location);
+                }
+            }
+        }
+        for (int x = 0; x < 5; x++) {
+            for (int y = 0; y < 5; y++) {
+                if (x + 1 < 5) {
+                    builder.addEdge("E" + x + "," + y + "h", new Location(x * 3, y * 4), new Location(x * 3 + 3, y * 4));
+                }
+                // only the first column is connected vertically, so that all shortest paths are unique
+                if (x == 0 && y + 1 < 5) {
+                    builder.addEdge("E" + x + "," + y + "v", new Location(x * 3, y * 4), new Location(x * 3, y * 4 + 4));
+                }
+            }
+        }
+        return VehicleManager.builder()
+            .region(builder.build())
+            .pathCalculator(new CachedPathCalculator(new DijkstraPathCalculator()))
+            // one vehicle per restaurant, so that it is always clear which vehicle loads an order
+            .addVehicle(new Location(0, 0), 1)
+            .addVehicle(new Location(0, 16), 1)
+            .addVehicle(new Location(12, 8), 1)
+            .build();
+    }
+
+    /**
+     * Runs a simulation and returns a description of every tick observed by a listener together with the ratings.
+     */
+    private static List<String> simulate(boolean skippingIdleTicks, long[] executedTicks) {
+        VehicleManager vehicleManager = createVehicleManager();
+        OrderGenerator.Factory orderGeneratorFactory = FridayOrderGenerator.Factory.builder()
+            .setVehicleManager(vehicleManager)
+            .setOrderCount(15)
+            .setLastTick(150)
+            .setSeed(11)
+            .build();
+        Map<RatingCriteria, Rater.Factory> raterFactoryMap = Map.of(
+            RatingCriteria.IN_TIME, InTimeRater.Factory.builder().build(),
+            RatingCriteria.AMOUNT_DELIVERED, AmountDeliveredRater.Factory.builder().build(),
+            RatingCriteria.TRAVEL_DISTANCE, TravelDistanceRater.Factory.builder().setVehicleManager(vehicleManager).build()
+        );
+        BasicDeliveryService deliveryService = new BasicDeliveryService(vehicleManager) {
+            @Override
+            protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
+                executedTicks[0]++;
+                return super.tick(currentTick, newOrders);
+            }
+        };
+
+        SimulationConfig simulationConfig = new SimulationConfig(0);
+        simulationConfig.setSkippingIdleTicks(skippingIdleTicks);
+        BasicDeliverySimulation simulation = new BasicDeliverySimulation(simulationConfig, raterFactoryMap,
+            deliveryService, orderGeneratorFactory);
+        List<String> observed = new ArrayList<>();
+        simulation.addListener((events, tick) -> {
+            // the order of the events of a tick depends on the iteration order of the occupied components
+            List<String> descriptions = new ArrayList<>();
+            for (Event event : events) {
+                StringBuilder builder = new StringBuilder(event.getClass().getSimpleName()).append('@').append(event.getTick());
+                if (event instanceof VehicleEvent vehicleEvent) {
+                    builder.append('#').append(vehicleEvent.getVehicle().getId());
+                }
+                descriptions.add(builder.toString());
+            }
+            Collections.sort(descriptions);
+            observed.add(tick + ": " + descriptions);
+        });
+        simulation.runSimulation(SIMULATION_LENGTH);
+
+        for (RatingCriteria criteria : raterFactoryMap.keySet()) {
+            observed.add(criteria + "=" + simulation.getRatingForCriterion(criteria));
+        }
+        return observed;
+    }
+
+    @Test
+    public void testSkippingIdleTicksObservesSameResults() {
+        long[] executedTicks = new long[1];
+        List<String> expected = simulate(false, executedTicks);
+        Assertions.assertEquals(SIMULATION_LENGTH, executedTicks[0]);
+
+        executedTicks[0] = 0;
+        List<String> actual = simulate(true, executedTicks);
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertTrue(executedTicks[0] < SIMULATION_LENGTH * 3 / 4, "only " + executedTicks[0] + " ticks should be executed");
+    }
+
+    @Test
+    public void testNextOrderTick() {
+        Assertions.assertEquals(Long.MAX_VALUE, new EmptyOrderGenerator().getNextOrderTick(0));
+
+        OrderGenerator generator = FridayOrderGenerator.Factory.builder()
+            .setVehicleManager(createVehicleManager())
+            .setOrderCount(20)
+            .setLastTick(100)
+            .setSeed(3)
+            .build()
+            .create();
+        long next = generator.getNextOrderTick(0);
+        for (long tick = 0; tick <= 101; tick++) {
+            if (tick > next) {
+                next = generator.getNextOrderTick(tick);
+            }
+            Assertions.assertEquals(tick == next, !generator.generateOrders(tick).isEmpty());
+        }
+        Assertions.assertEquals(Long.MAX_VALUE, generator.getNextOrderTick(101));
+    }
+
+    @Test
+    public void testOrderIDsArePerSimulation() {
+        VehicleManager vehicleManager = createVehicleManager();
+        OrderGenerator.Factory orderGeneratorFactory = FridayOrderGenerator.Factory.builder()
+            .setVehicleManager(vehicleManager)
+            .setOrderCount(25)
+            .setLastTick(50)
+            .setSeed(5)
+            .build();
+        BasicDeliverySimulation simulation = new BasicDeliverySimulation(new SimulationConfig(0),
+            Map.of(RatingCriteria.AMOUNT_DELIVERED, AmountDeliveredRater.Factory.builder().build()),
+            new BasicDeliveryService(vehicleManager), orderGeneratorFactory);
+        List<Integer> orderIDs = new ArrayList<>();
+        simulation.addListener((events, tick) -> {
+            for (Event event : events) {
+                if (event instanceof OrderReceivedEvent orderReceivedEvent) {
+                    orderIDs.add(orderReceivedEvent.getOrder().getOrderID());
+                }
+            }
+        });
+
+        // every simulation receives the dense IDs 0 to 24, regardless of the orders created before
+        for (int i = 0; i < 2; i++) {
+            orderIDs.clear();
+            simulation.runSimulation(60);
+            Collections.sort(orderIDs);
+            Assertions.assertEquals(IntStream.range(0, 25).boxed().toList(), orderIDs);
+        }
+    }
+}
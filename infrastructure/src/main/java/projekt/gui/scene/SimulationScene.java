@@ -8,6 +8,7 @@ import projekt.delivery.archetype.ProblemArchetype;
 import projekt.delivery.event.ArrivedAtEdgeEvent;
 import projekt.delivery.event.ArrivedAtNodeEvent;
 import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBatch;
 import projekt.delivery.event.SpawnEvent;
 import projekt.delivery.routing.Region;
 import projekt.delivery.routing.VehicleManager;
@@ -64,21 +65,16 @@ public class SimulationScene extends Scene implements SimulationListener, Contro
 
     @Override
     public void onTick(List<Event> events, long tick) {
+        EventBatch batch = EventBatch.of(events);
         //Execute GUI updates on the javafx application thread
         Platform.runLater(() -> {
-            events.stream()
-                .filter(SpawnEvent.class::isInstance)
-                .map(SpawnEvent.class::cast)
+            batch.getEvents(SpawnEvent.class)
                 .forEach(spawnEvent -> mapPane.addVehicle(spawnEvent.getVehicle()));
 
-            events.stream()
-                .filter(ArrivedAtNodeEvent.class::isInstance)
-                .map(ArrivedAtNodeEvent.class::cast)
+            batch.getEvents(ArrivedAtNodeEvent.class)
                 .forEach(arrivedAtNodeEvent -> mapPane.redrawVehicle(arrivedAtNodeEvent.getVehicle()));
 
-            events.stream()
-                .filter(ArrivedAtEdgeEvent.class::isInstance)
-                .map(ArrivedAtEdgeEvent.class::cast)
+            batch.getEvents(ArrivedAtEdgeEvent.class)
                 .forEach(arrivedAtEdgeEvent -> mapPane.redrawVehicle(arrivedAtEdgeEvent.getVehicle()));
 
             vehicleInfoPane.refresh();
@@ -214,9 +214,18 @@ public class VehicleManagerCreationScene extends MenuScene<VehicleManagerCreatio
         Label label = new Label("Path Calculator:");
 
         DijkstraPathCalculator dijkstraPathCalculator = new DijkstraPathCalculator();
+        CompiledDijkstraPathCalculator compiledDijkstraPathCalculator = new CompiledDijkstraPathCalculator();
+        PrecomputedPathCalculator precomputedPathCalculator = new PrecomputedPathCalculator();
+        AStarPathCalculator aStarPathCalculator = new AStarPathCalculator();
+        ContractionHierarchyPathCalculator contractionHierarchyPathCalculator = new ContractionHierarchyPathCalculator();
+        BidirectionalDijkstraPathCalculator bidirectionalDijkstraPathCalculator = new BidirectionalDijkstraPathCalculator();
+        DynamicPathCalculator dynamicPathCalculator = new DynamicPathCalculator();
+        AltPathCalculator altPathCalculator = new AltPathCalculator();
 
         ChoiceBox<PathCalculator> choiceBox = new ChoiceBox<>();
-        choiceBox.getItems().setAll(dijkstraPathCalculator);
+        choiceBox.getItems().setAll(dijkstraPathCalculator, compiledDijkstraPathCalculator, precomputedPathCalculator,
+            aStarPathCalculator, contractionHierarchyPathCalculator, bidirectionalDijkstraPathCalculator, dynamicPathCalculator,
+            altPathCalculator);
         choiceBox.setConverter(new StringConverter<>() {
             @Override
             public String toString(PathCalculator pathCalculator) {
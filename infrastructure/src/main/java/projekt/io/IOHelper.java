@@ -1,6 +1,12 @@
 package projekt.io;
 
 import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.log.LogLevel;
+import projekt.delivery.log.LogSink;
+import projekt.delivery.routing.CachedPathCalculator;
+import projekt.delivery.routing.PathCalculator;
+import projekt.delivery.routing.PrecomputedPathCalculator;
+import projekt.delivery.routing.Region;
 
 import java.io.*;
 import java.nio.file.Path;
@@ -13,6 +19,38 @@ public class IOHelper {
 
     public static final File PROBLEMS_DIR = Path.of(System.getProperty("user.dir"), "projekt", "gui", "problems").toFile();
 
+    /**
+     * The suffix of the files containing the precomputed routing data of a {@link ProblemArchetype}. They are stored
+     * next to the problem file with the same name.
+     */
+    public static final String ROUTING_DATA_SUFFIX = ".routing";
+
+    private static final String PROBLEM_SUFFIX = ".txt";
+
+    /**
+     * The tick of the messages written to the {@link LogSink}, which are not written during a simulation.
+     */
+    private static final long NO_TICK = -1;
+
+    private static volatile LogSink logSink = LogSink.noOp();
+
+    /**
+     * Returns the {@link LogSink} failures to read or write routing data are written to.
+     * @return The used {@link LogSink}.
+     */
+    public static LogSink getLogSink() {
+        return logSink;
+    }
+
+    /**
+     * Sets the {@link LogSink} failures to read or write routing data are written to as warnings at tick -1. By
+     * default, all messages are discarded.
+     * @param logSink The new {@link LogSink}.
+     */
+    public static void setLogSink(LogSink logSink) {
+        IOHelper.logSink = Objects.requireNonNull(logSink, "logSink");
+    }
+
     /**
      * Copies the {@link ProblemArchetype} presets from the resource directory into the build directory.
      */
@@ -57,15 +95,26 @@ public class IOHelper {
             dir.mkdirs();
         }
 
-        return new HashSet<>(Arrays.asList(Objects.requireNonNull(dir.listFiles())));
+        return new HashSet<>(Arrays.asList(Objects.requireNonNull(dir.listFiles((ignored, name) -> name.endsWith(PROBLEM_SUFFIX)))));
     }
 
+    /**
+     * Reads the {@link ProblemArchetype}s stored in the given files.<p>
+     *
+     * The routing data next to each file is registered before the {@link ProblemArchetype} is read, so that its path
+     * calculator does not have to precompute it. Missing or outdated routing data is written afterwards. The routing
+     * data is only a cache, failing to read or write it does not prevent the problem from being read.
+     */
     private static List<ProblemArchetype> readProblemsInFiles(Set<File> files) {
         List<ProblemArchetype> problems = new ArrayList<>();
 
         for (File file : files) {
+            File routingData = getRoutingDataFile(file);
+            mapRoutingData(routingData);
             try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                problems.add(ProblemArchetypeIO.readProblemArchetype(reader));
+                ProblemArchetype problem = ProblemArchetypeIO.readProblemArchetype(reader);
+                writeRoutingData(problem, routingData);
+                problems.add(problem);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -74,12 +123,65 @@ public class IOHelper {
         return problems;
     }
 
+    /**
+     * Returns the file containing the routing data of the {@link ProblemArchetype} stored in the given file.
+     */
+    private static File getRoutingDataFile(File problemFile) {
+        String name = problemFile.getName();
+        if (name.endsWith(PROBLEM_SUFFIX)) {
+            name = name.substring(0, name.length() - PROBLEM_SUFFIX.length());
+        }
+        return new File(problemFile.getParentFile(), name + ROUTING_DATA_SUFFIX);
+    }
+
+    /**
+     * Registers the given routing data if it exists. Routing data that cannot be read is ignored like a missing file
+     * and reported to the {@link #getLogSink() LogSink}.
+     */
+    private static void mapRoutingData(File routingData) {
+        if (!routingData.isFile()) {
+            return;
+        }
+        try {
+            // malformed files are ignored and replaced when the problem has been read
+            PrecomputedPathCalculator.mapTables(routingData.toPath());
+        } catch (IOException e) {
+            logSink.log(LogLevel.WARNING, NO_TICK, () -> "Could not read routing data " + routingData + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the routing data of the given {@link ProblemArchetype} into the given file if its path calculator
+     * precomputes routing data that has not been mapped from a file. If the routing data cannot be written, e.g.
+     * because the directory is read-only or the file is mapped, the problem is used without it and the failure is
+     * reported to the {@link #getLogSink() LogSink}.
+     */
+    private static void writeRoutingData(ProblemArchetype problem, File routingData) {
+        PathCalculator pathCalculator = problem.vehicleManager().getPathCalculator();
+        while (pathCalculator instanceof CachedPathCalculator cachedPathCalculator) {
+            pathCalculator = cachedPathCalculator.getDelegate();
+        }
+        Region region = problem.vehicleManager().getRegion();
+        if (pathCalculator instanceof PrecomputedPathCalculator precomputedPathCalculator
+            && precomputedPathCalculator.isPrecomputed(region) && !precomputedPathCalculator.isMapped(region)) {
+            try {
+                precomputedPathCalculator.writeTables(region, routingData.toPath());
+            } catch (IOException | IllegalArgumentException e) {
+                logSink.log(LogLevel.WARNING, NO_TICK,
+                    () -> "Could not write routing data " + routingData + ": " + e.getMessage());
+            }
+        }
+    }
+
     /**
      * Writes the given {@link ProblemArchetype} into a text file in the build directory (build/run/projekt/gui/problems).<p>
      * <p>
      * The name of the file will be the name of the {@link ProblemArchetype}. The content of the file will be
      * produced by the {@link ProblemArchetypeIO#writeProblemArchetype(BufferedWriter, ProblemArchetype) method.
      * <p>
+     * If the path calculator of the {@link ProblemArchetype} precomputes routing data, it is written into a file with
+     * the same name and the suffix {@link #ROUTING_DATA_SUFFIX}.
+     * <p>
      *
      * @param problem The {@link ProblemArchetype} to write into the file.
      */
@@ -89,7 +191,7 @@ public class IOHelper {
             PROBLEMS_DIR.mkdirs();
         }
 
-        File file = Path.of(PROBLEMS_DIR.getPath(), problem.name() + ".txt").toFile();
+        File file = Path.of(PROBLEMS_DIR.getPath(), problem.name() + PROBLEM_SUFFIX).toFile();
 
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
             file.createNewFile();
@@ -97,5 +199,7 @@ public class IOHelper {
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+
+        writeRoutingData(problem, getRoutingDataFile(file));
     }
 }
@@ -14,7 +14,14 @@ public class VehicleManagerIO {
 
     private static final Map<String, Function<Object, ? extends PathCalculator>> DESERIALIZED_PATH_CALCULATOR = Map.of(
         CachedPathCalculator.class.getSimpleName(), pathCalculator -> new CachedPathCalculator((PathCalculator) pathCalculator),
-        DijkstraPathCalculator.class.getSimpleName(), ignored -> new DijkstraPathCalculator()
+        DijkstraPathCalculator.class.getSimpleName(), ignored -> new DijkstraPathCalculator(),
+        CompiledDijkstraPathCalculator.class.getSimpleName(), ignored -> new CompiledDijkstraPathCalculator(),
+        PrecomputedPathCalculator.class.getSimpleName(), ignored -> new PrecomputedPathCalculator(),
+        AStarPathCalculator.class.getSimpleName(), ignored -> new AStarPathCalculator(),
+        ContractionHierarchyPathCalculator.class.getSimpleName(), ignored -> new ContractionHierarchyPathCalculator(),
+        BidirectionalDijkstraPathCalculator.class.getSimpleName(), ignored -> new BidirectionalDijkstraPathCalculator(),
+        DynamicPathCalculator.class.getSimpleName(), ignored -> new DynamicPathCalculator(),
+        AltPathCalculator.class.getSimpleName(), ignored -> new AltPathCalculator()
     );
 
     public static VehicleManager readVehicleManager(BufferedReader reader, Region region) {
@@ -37,6 +44,8 @@ public class VehicleManagerIO {
                         Double.parseDouble(splitSerializedVehicle[2]));
                 } else if (line.startsWith("P ")) {
                     builder.pathCalculator(parsePathCalculator(line.substring(2)));
+                } else if (line.equals("N")) {
+                    builder.nextHopMovement(true);
                 } else {
                     throw new RuntimeException("Illegal line read: " + line);
                 }
@@ -59,6 +68,10 @@ public class VehicleManagerIO {
 
             writer.write("P %s\n".formatted(serializePathCalculator(vehicleManager.getPathCalculator())));
 
+            if (vehicleManager.isNextHopMovement()) {
+                writer.write("N\n");
+            }
+
             writer.write("END VEHICLE MANAGER\n");
         } catch (IOException e) {
             throw new RuntimeException(e);